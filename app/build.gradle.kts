@@ -1,3 +1,6 @@
+import java.nio.ByteBuffer
+import java.nio.ByteOrder
+
 plugins {
     alias(libs.plugins.android.application)
 }
@@ -40,6 +43,111 @@ android {
     buildFeatures {
         buildConfig = true
     }
+
+    androidResources {
+        // The program catalog snapshot is memory-mapped straight out of the APK, so it must be stored uncompressed
+        noCompress += "bin"
+    }
+
+    sourceSets {
+        // Test helpers used by both the JVM and the instrumented tests
+        getByName("test").java.srcDir("src/sharedTest/java")
+        getByName("androidTest").java.srcDir("src/sharedTest/java")
+    }
+
+    testOptions {
+        // Lets JVM benchmarks subclass DBManager without a real SQLite backend
+        unitTests.isReturnDefaultValues = true
+    }
+}
+
+// JMH benchmarks live in the JVM unit test source set and are skipped unless requested:
+// ./gradlew :app:testDebugUnitTest --tests "*JmhRunner" -Pjmh=true [-Pjmh.include=Schedule]
+// Results are written as JSON to app/build/reports/jmh/results.json for comparison between commits.
+tasks.withType<Test>().configureEach {
+    systemProperty("pathfinder.jmh", project.findProperty("jmh") ?: "false")
+    systemProperty("pathfinder.jmh.include", project.findProperty("jmh.include") ?: ".*Benchmark.*")
+    systemProperty("pathfinder.jmh.output", layout.buildDirectory.file("reports/jmh/results.json").get().asFile.path)
+    if (project.hasProperty("jmh")) outputs.upToDateWhen { false }
+}
+
+// Compiles src/main/catalog/programs.tsv into the binary snapshot read by ProgramSnapshot.
+// The layout is documented there; the snapshot version is the "# catalog-version: N" line of the source.
+abstract class CompileProgramCatalog : DefaultTask() {
+    @get:InputFile
+    abstract val source: RegularFileProperty
+
+    @get:OutputDirectory
+    abstract val outputDir: DirectoryProperty
+
+    @TaskAction
+    fun compile() {
+        val lines = source.get().asFile.readText(Charsets.UTF_8).lines()
+        val version = lines.firstNotNullOfOrNull { Regex("^#\\s*catalog-version:\\s*(\\d+)\\s*$").find(it) }
+            ?.groupValues?.get(1)?.toLong()
+            ?: throw GradleException("programs.tsv: missing '# catalog-version: N' line")
+        val rows = lines.withIndex()
+            .filter { (_, line) -> line.isNotBlank() && !line.startsWith("#") }
+            .map { (index, line) ->
+                val fields = line.split('\t')
+                require(fields.size == 6) { "programs.tsv line ${index + 1}: expected 6 tab-separated fields" }
+                fields
+            }
+        val n = rows.size
+        val strings = rows.map { fields ->
+            listOf(fields[0], fields[1], fields[5].replace(" | ", "\n")).map { it.toByteArray(Charsets.UTF_8) }
+        }
+        strings.flatten().forEach { require(it.size <= 0xFFFF) { "programs.tsv: field longer than 65535 bytes" } }
+
+        val header = 24
+        val offsetsStart = header + 3 * 8 * n
+        val stringsStart = offsetsStart + 4 * n
+        val total = stringsStart + strings.sumOf { row -> row.sumOf { 2 + it.size } }
+        val out = ByteBuffer.allocate(total).order(ByteOrder.LITTLE_ENDIAN)
+        out.putInt(0x50464354) // "PFCT"
+        out.putInt(1) // Format version
+        out.putLong(version)
+        out.putInt(n)
+        out.putInt(0) // Reserved; keeps the weight columns 8-byte aligned
+        for (column in 2..4) rows.forEach { out.putDouble(it[column].trim().toDouble()) }
+        var offset = stringsStart
+        strings.forEach { row ->
+            out.putInt(offset)
+            offset += row.sumOf { 2 + it.size }
+        }
+        strings.forEach { row ->
+            row.forEach { field ->
+                out.putShort(field.size.toShort())
+                out.put(field)
+            }
+        }
+
+        val target = outputDir.file("catalog/programs.bin").get().asFile
+        target.parentFile.mkdirs()
+        target.writeBytes(out.array())
+    }
+}
+
+val compileProgramCatalog = tasks.register<CompileProgramCatalog>("compileProgramCatalog") {
+    source.set(layout.projectDirectory.file("src/main/catalog/programs.tsv"))
+}
+
+androidComponents {
+    onVariants { variant ->
+        variant.sources.assets?.addGeneratedSourceDirectory(compileProgramCatalog, CompileProgramCatalog::outputDir)
+    }
+}
+
+// ProgramSnapshotAssetTest maps the generated snapshot and checks it against its source
+tasks.withType<Test>().configureEach {
+    val catalogBin = compileProgramCatalog.flatMap { it.outputDir.file("catalog/programs.bin") }
+    val catalogTsv = compileProgramCatalog.flatMap { it.source }
+    inputs.file(catalogBin)
+    inputs.file(catalogTsv)
+    jvmArgumentProviders.add(CommandLineArgumentProvider {
+        listOf("-Dpathfinder.catalog.bin=${catalogBin.get().asFile.path}",
+                "-Dpathfinder.catalog.tsv=${catalogTsv.get().asFile.path}")
+    })
 }
 
 dependencies {
@@ -48,14 +156,19 @@ dependencies {
     implementation(libs.activity)
     implementation(libs.constraintlayout)
     testImplementation(libs.junit)
+    testImplementation(libs.jmh.core)
+    testAnnotationProcessor(libs.jmh.generator.annprocess)
     androidTestImplementation(libs.ext.junit)
     androidTestImplementation(libs.espresso.core)
 
     implementation("com.airbnb.android:lottie:6.7.1")
     implementation("androidx.core:core-ktx:1.17.0")
+    implementation("androidx.recyclerview:recyclerview:1.4.0") // ViewHolder.getBindingAdapter (1.2+)
     implementation("com.google.android.gms:play-services-maps:18.2.0")
     implementation("com.google.android.gms:play-services-mlkit-text-recognition:19.0.1")
     implementation("com.google.android.gms:play-services-location:21.3.0")
     implementation("androidx.activity:activity:1.12.0")
     implementation("androidx.activity:activity-ktx:1.12.0")
+    implementation("androidx.work:work-runtime:2.10.5")
+    implementation("androidx.exifinterface:exifinterface:1.4.1")
 }
\ No newline at end of file
@@ -0,0 +1,95 @@
+package com.prototype.pathfinder.data;
+
+import android.content.Context;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that a cohort run replaces the previous one as a whole, even when it is written in
+ * several batches, and that a run which fails part-way leaves the previous results in place.
+ */
+@RunWith(AndroidJUnit4.class)
+public class CohortResultsSwapTest {
+    private static final String TEST_DB = "cohort_test.db";
+    private static final String[] PROGRAMS = {"BSIT", "BSCE", "BSBA"};
+
+    private Context context;
+    private DatabaseHelper helper;
+    private DBManager dbManager;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(TEST_DB);
+        helper = new DatabaseHelper(context, TEST_DB);
+        dbManager = new DBManager(helper);
+        dbManager.open();
+    }
+
+    @After
+    public void tearDown() {
+        dbManager.close();
+        helper.close();
+        context.deleteDatabase(TEST_DB);
+    }
+
+    @Test
+    public void newRunReplacesOldRun() {
+        save(cohort("OLD", 5), 2);
+        save(cohort("NEW", 3), 2);
+
+        SQLiteDatabase db = helper.getReadableDatabase();
+        assertEquals(6, DatabaseUtils.queryNumEntries(db, DatabaseHelper.CohortResults.TABLE_NAME));
+        assertEquals(0, DatabaseUtils.queryNumEntries(db, DatabaseHelper.CohortResults.TABLE_NAME,
+                DatabaseHelper.CohortResults.COL_TEST_ID + " LIKE 'OLD%'"));
+        assertEquals(0, DatabaseUtils.longForQuery(db, "SELECT COUNT(*) FROM sqlite_master WHERE name = ?",
+                new String[]{DatabaseHelper.CohortResults.STAGING_TABLE}));
+    }
+
+    @Test
+    public void failedRunKeepsOldResults() {
+        save(cohort("OLD", 5), 2);
+        CohortScores broken = cohort("NEW", 4);
+        int[] topIndex = {0, 1, 0, 1, 0, 1, 0, 7}; // Last student points past the catalog
+        try {
+            dbManager.saveCohortResults(broken, PROGRAMS, 2, new int[]{2, 2, 2, 2}, topIndex, new int[8], 2);
+            fail("Expected the bad catalog row to fail the run");
+        } catch (ArrayIndexOutOfBoundsException expected) {
+            // The second batch was never committed
+        }
+
+        SQLiteDatabase db = helper.getReadableDatabase();
+        assertEquals(10, DatabaseUtils.queryNumEntries(db, DatabaseHelper.CohortResults.TABLE_NAME,
+                DatabaseHelper.CohortResults.COL_TEST_ID + " LIKE 'OLD%'"));
+        assertEquals(10, DatabaseUtils.queryNumEntries(db, DatabaseHelper.CohortResults.TABLE_NAME));
+    }
+
+    /** Saves every student with programs 0 and 1 as their top two. */
+    private void save(CohortScores cohort, int batchSize) {
+        int n = cohort.size();
+        int[] counts = new int[n], topIndex = new int[n * 2], topScore = new int[n * 2];
+        for (int s = 0; s < n; s++) {
+            counts[s] = 2;
+            topIndex[s * 2 + 1] = 1;
+            topScore[s * 2] = 90;
+            topScore[s * 2 + 1] = 80;
+        }
+        dbManager.saveCohortResults(cohort, PROGRAMS, 2, counts, topIndex, topScore, batchSize);
+    }
+
+    private static CohortScores cohort(String prefix, int n) {
+        String[] ids = new String[n];
+        for (int i = 0; i < n; i++) ids[i] = prefix + i;
+        return new CohortScores(ids, new int[n], new int[n], new int[n]);
+    }
+}
@@ -0,0 +1,173 @@
+package com.prototype.pathfinder.data;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.prototype.pathfinder.utils.ScheduleTime;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Upgrades a populated v3 database through every registered migration step
+ * and checks that user data survives. Per-step and total migration times are logged
+ * under the "DatabaseMigrationTest" tag.
+ */
+@RunWith(AndroidJUnit4.class)
+public class DatabaseMigrationTest {
+    private static final String TAG = "DatabaseMigrationTest";
+    private static final String TEST_DB = "migration_test.db";
+    private static final int SCHEDULE_ROWS = 20000;
+    private static final int DUPLICATE_ROWS = 500; // Repeated COR scans, removed by the v7 -> v8 step
+    private static final long MAX_UPGRADE_MS = 10000;
+
+    private Context context;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(TEST_DB);
+    }
+
+    @After
+    public void tearDown() {
+        context.deleteDatabase(TEST_DB);
+    }
+
+    @Test
+    public void upgradeFromV3KeepsUsersAndSchedules() {
+        createV3Database();
+
+        long start = SystemClock.elapsedRealtime();
+        DatabaseHelper helper = new DatabaseHelper(context, TEST_DB);
+        SQLiteDatabase db = helper.getWritableDatabase();
+        long total = SystemClock.elapsedRealtime() - start;
+
+        List<DatabaseMigrations.StepTiming> steps = DatabaseMigrations.getLastRunTimings();
+        for (DatabaseMigrations.StepTiming step : steps) {
+            Log.i(TAG, "v" + step.fromVersion + " -> v" + step.toVersion + ": " + step.millis + " ms");
+        }
+        Log.i(TAG, "Upgrade of " + (SCHEDULE_ROWS + DUPLICATE_ROWS) + " schedule rows took " + total + " ms");
+
+        assertEquals(DatabaseHelper.DATABASE_VERSION, db.getVersion());
+        assertEquals(DatabaseHelper.DATABASE_VERSION - 3, steps.size());
+        assertEquals(2, DatabaseUtils.queryNumEntries(db, DatabaseHelper.Users.TABLE_NAME));
+        // Duplicates were dropped before the unique index was created
+        assertEquals(SCHEDULE_ROWS + 1, DatabaseUtils.queryNumEntries(db, DatabaseHelper.Schedules.TABLE_NAME));
+
+        // Parsed columns were backfilled from the free-text day/time
+        Cursor c = db.query(DatabaseHelper.Schedules.TABLE_NAME,
+                new String[]{DatabaseHelper.Schedules.COL_DAY_MASK, DatabaseHelper.Schedules.COL_START_MINUTE},
+                DatabaseHelper.Schedules._ID + "=1", null, null, null, null);
+        assertTrue(c.moveToFirst());
+        assertEquals(0b101, c.getInt(0)); // Mon/Wed
+        assertEquals(9 * 60, c.getInt(1)); // 9:00 AM
+        c.close();
+        // v12 -> v13: an unparseable time is stored past the end of the day, not as -1
+        assertEquals(ScheduleTime.UNKNOWN_MINUTE, DatabaseUtils.longForQuery(db,
+                "SELECT start_minute FROM schedules WHERE subject_code = 'SUBJTBA'", null));
+
+        // Walkway seed links the existing CAS Building (the only v3 location) to its entrance node
+        assertEquals(11, DatabaseUtils.queryNumEntries(db, DatabaseHelper.WalkNodes.TABLE_NAME));
+        assertEquals(1, DatabaseUtils.longForQuery(db,
+                "SELECT location_id FROM walk_nodes WHERE _id = 2", null));
+
+        // Assessment results table exists (empty) after the v8 -> v9 step
+        assertEquals(0, DatabaseUtils.queryNumEntries(db, DatabaseHelper.AssessmentResults.TABLE_NAME));
+
+        // v10 -> v11: careers were backfilled for the known programs
+        assertEquals("Software Engineer\nFull-Stack Developer\nCybersecurity Analyst",
+                DatabaseUtils.stringForQuery(db, "SELECT careers FROM programs WHERE _id = 1", null));
+
+        // v11 -> v12: onOpen re-seeded the programs table from the bundled snapshot once
+        ProgramSnapshot snapshot = helper.programSnapshot();
+        assertNotNull(snapshot);
+        assertEquals(snapshot.size(), DatabaseUtils.queryNumEntries(db, DatabaseHelper.Programs.TABLE_NAME));
+        assertEquals(snapshot.version(), DatabaseUtils.longForQuery(db,
+                "SELECT snapshot_version FROM catalog_version", null));
+        assertEquals(0, DatabaseUtils.longForQuery(db, "SELECT programs_diverged FROM catalog_version", null));
+
+        // v9 -> v10: any change to programs bumps the catalog version and clears the recommendation cache
+        long version = DatabaseUtils.longForQuery(db, "SELECT version FROM catalog_version", null);
+        db.execSQL("INSERT INTO recommendation_cache VALUES ('k', x'00', 0);");
+        db.execSQL("UPDATE programs SET description = 'Updated' WHERE _id = 1;");
+        assertEquals(version + 1, DatabaseUtils.longForQuery(db, "SELECT version FROM catalog_version", null));
+        assertEquals(0, DatabaseUtils.queryNumEntries(db, DatabaseHelper.CachedRecommendations.TABLE_NAME));
+        // ...and marks the table as diverged from the snapshot without forgetting which one it was seeded from
+        assertEquals(1, DatabaseUtils.longForQuery(db, "SELECT programs_diverged FROM catalog_version", null));
+        assertEquals(snapshot.version(), DatabaseUtils.longForQuery(db,
+                "SELECT snapshot_version FROM catalog_version", null));
+
+        assertTrue("Upgrade took " + total + " ms", total < MAX_UPGRADE_MS);
+        helper.close();
+
+        // Reopening keeps the edit, and the catalog is then read from the table
+        helper = new DatabaseHelper(context, TEST_DB);
+        DBManager dbManager = new DBManager(helper);
+        dbManager.open();
+        assertEquals("Updated", dbManager.getProgramCatalog().desc(0));
+        assertEquals(version + 1, dbManager.getCatalogVersion());
+        dbManager.close();
+        helper.close();
+    }
+
+    /** Builds a database with the exact v3 schema and seeds it with users and schedules. */
+    private void createV3Database() {
+        SQLiteDatabase db = SQLiteDatabase.openOrCreateDatabase(context.getDatabasePath(TEST_DB), null);
+        db.execSQL("CREATE TABLE users (_id INTEGER PRIMARY KEY AUTOINCREMENT, username TEXT UNIQUE NOT NULL, " +
+                "email TEXT UNIQUE NOT NULL, hashed_password TEXT NOT NULL);");
+        db.execSQL("CREATE TABLE test_scores (test_id TEXT PRIMARY KEY, quantitative INTEGER, verbal INTEGER, logical INTEGER);");
+        db.execSQL("CREATE TABLE programs (_id INTEGER PRIMARY KEY AUTOINCREMENT, name TEXT NOT NULL, description TEXT, " +
+                "req_quant_weight REAL, req_verbal_weight REAL, req_logical_weight REAL);");
+        db.execSQL("CREATE TABLE locations (_id INTEGER PRIMARY KEY AUTOINCREMENT, room_name TEXT NOT NULL, " +
+                "latitude REAL, longitude REAL, description TEXT);");
+        db.execSQL("CREATE TABLE schedules (_id INTEGER PRIMARY KEY AUTOINCREMENT, user_email TEXT, subject_code TEXT, " +
+                "room_name TEXT, day_of_week TEXT, time_slot TEXT);");
+
+        db.execSQL("INSERT INTO test_scores VALUES ('TEST001', 85, 70, 80);");
+        db.execSQL("INSERT INTO programs VALUES (1, 'BSIT', 'Tech-focused, high quant/logical.', 0.8, 0.4, 0.7);");
+        db.execSQL("INSERT INTO locations VALUES (null, 'CAS Building', 7.8655, 125.0518, 'College of Arts & Sciences');");
+        db.execSQL("INSERT INTO users VALUES (null, 'alice', 'alice@cmu.edu.ph', 'x');");
+        db.execSQL("INSERT INTO users VALUES (null, 'bob', 'bob@cmu.edu.ph', 'y');");
+
+        String[] days = {"Mon/Wed", "Tue/Thu", "Fri", "Sat"};
+        String[] times = {"9:00 AM", "10:30 AM", "1:00 PM", "3:30 PM"};
+        SQLiteStatement insert = db.compileStatement("INSERT INTO schedules " +
+                "(user_email, subject_code, room_name, day_of_week, time_slot) VALUES (?, ?, ?, ?, ?)");
+        db.beginTransaction();
+        try {
+            for (int n = 0; n < SCHEDULE_ROWS + DUPLICATE_ROWS; n++) {
+                int i = n % SCHEDULE_ROWS;
+                insert.bindString(1, i % 2 == 0 ? "alice@cmu.edu.ph" : "bob@cmu.edu.ph");
+                insert.bindString(2, "SUBJ" + i);
+                insert.bindString(3, "CAS Building");
+                insert.bindString(4, days[i % days.length]);
+                insert.bindString(5, times[i % times.length]);
+                insert.executeInsert();
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        insert.close();
+        db.execSQL("INSERT INTO schedules (user_email, subject_code, room_name, day_of_week, time_slot) " +
+                "VALUES ('alice@cmu.edu.ph', 'SUBJTBA', 'CAS Building', 'Mon', 'TBA');");
+
+        db.setVersion(3);
+        db.close();
+    }
+}
@@ -0,0 +1,131 @@
+package com.prototype.pathfinder.data;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.prototype.pathfinder.utils.ScoringEngine;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Measures time to the first recommendation for a 5000-program catalog, from a freshly opened
+ * database: loading the catalog from the programs table versus memory-mapping the compiled snapshot,
+ * then scoring it and materializing the winners. Both paths must recommend the same programs; times are
+ * only logged (under the "ProgramSnapshotColdStartTest" tag), since a single cold sample is too noisy to assert on.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ProgramSnapshotColdStartTest {
+    private static final String TAG = "ProgramSnapshotColdStartTest";
+    private static final String TEST_DB = "snapshot_test.db";
+    private static final int PROGRAMS = 5000;
+    private static final int K = 3;
+
+    private Context context;
+    private File snapshotFile;
+
+    @Before
+    public void setUp() throws IOException {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(TEST_DB);
+
+        // Newer than any bundled catalog, so reopening the database does not re-seed over these rows
+        byte[] encoded = ProgramSnapshotWriter.encode(syntheticCatalog(PROGRAMS, 42), Long.MAX_VALUE);
+        snapshotFile = new File(context.getCacheDir(), "programs_test.bin");
+        try (FileOutputStream out = new FileOutputStream(snapshotFile)) {
+            out.write(encoded);
+        }
+
+        // The programs table holds the same rows the snapshot does
+        DatabaseHelper helper = new DatabaseHelper(context, TEST_DB);
+        SQLiteDatabase db = helper.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            DatabaseHelper.seedPrograms(db, ProgramSnapshot.wrap(ByteBuffer.wrap(encoded)));
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        helper.close();
+    }
+
+    @After
+    public void tearDown() {
+        context.deleteDatabase(TEST_DB);
+        snapshotFile.delete();
+    }
+
+    @Test
+    public void mappedSnapshotMatchesSqliteToFirstRecommendation() throws IOException {
+        int[] sqliteIndex = new int[K], sqliteScore = new int[K];
+        int[] mappedIndex = new int[K], mappedScore = new int[K];
+
+        DatabaseHelper helper = new DatabaseHelper(context, TEST_DB);
+        DBManager dbManager = new DBManager(helper);
+        dbManager.open();
+
+        long start = SystemClock.elapsedRealtimeNanos();
+        ProgramCatalog fromTable = dbManager.queryProgramCatalog();
+        String sqliteTop = firstRecommendation(fromTable, sqliteIndex, sqliteScore);
+        long sqliteNanos = SystemClock.elapsedRealtimeNanos() - start;
+
+        start = SystemClock.elapsedRealtimeNanos();
+        ProgramSnapshot snapshot;
+        try (FileInputStream in = new FileInputStream(snapshotFile)) {
+            snapshot = ProgramSnapshot.map(in.getChannel(), 0, snapshotFile.length());
+        }
+        String mappedTop = firstRecommendation(snapshot.catalog(), mappedIndex, mappedScore);
+        long mappedNanos = SystemClock.elapsedRealtimeNanos() - start;
+
+        dbManager.close();
+        helper.close();
+
+        Log.i(TAG, "SQLite: " + sqliteNanos / 1000 + " us, mapped snapshot: " + mappedNanos / 1000 +
+                " us (" + PROGRAMS + " programs)");
+
+        assertEquals(PROGRAMS, snapshot.size());
+        assertEquals(sqliteTop, mappedTop);
+        assertArrayEquals(sqliteIndex, mappedIndex);
+        assertArrayEquals(sqliteScore, mappedScore);
+        assertEquals(fromTable.careers(17), snapshot.catalog().careers(17));
+    }
+
+    /** Scores the catalog for a fixed student and materializes the best program, as RecommendationEngine does. */
+    private static String firstRecommendation(ProgramCatalog catalog, int[] topIndex, int[] topScore) {
+        int count = new ScoringEngine(catalog).topK(0.85, 0.70, 0.80, 0.8, 0.6, 1.0, K, topIndex, topScore);
+        assertEquals(K, count);
+        DBManager.Program best = catalog.get(topIndex[0]);
+        return best.name + "|" + best.desc + "|" + best.careers;
+    }
+
+    private static ProgramCatalog syntheticCatalog(int n, long seed) {
+        Random random = new Random(seed);
+        String[] names = new String[n], descs = new String[n], careers = new String[n];
+        double[] q = new double[n], v = new double[n], l = new double[n];
+        for (int i = 0; i < n; i++) {
+            names[i] = "PROG" + i;
+            descs[i] = "Synthetic program " + i;
+            careers[i] = i % 3 == 0 ? null : "Career A" + i + "\nCareer B" + i;
+            q[i] = random.nextDouble();
+            v[i] = random.nextDouble();
+            l[i] = random.nextDouble();
+        }
+        return new ProgramCatalog(names, descs, q, v, l, careers);
+    }
+}
@@ -0,0 +1,91 @@
+package com.prototype.pathfinder.data;
+
+import android.content.Context;
+import android.database.DatabaseUtils;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.prototype.pathfinder.utils.RecommendationEngine;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that assessment runs are stored per user, that earlier runs are kept,
+ * and that the latest run comes back complete and in rank order.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ResultStoreTest {
+    private static final String TEST_DB = "results_test.db";
+
+    private Context context;
+    private DatabaseHelper helper;
+    private DBManager dbManager;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(TEST_DB);
+        helper = new DatabaseHelper(context, TEST_DB);
+        dbManager = new DBManager(helper);
+        dbManager.open();
+    }
+
+    @After
+    public void tearDown() {
+        dbManager.close();
+        helper.close();
+        context.deleteDatabase(TEST_DB);
+    }
+
+    @Test
+    public void latestRunIsReturnedPerUser() {
+        assertTrue(dbManager.saveResults("alice@cmu.edu.ph", 1000, Arrays.asList(rec("BSIT", 91), rec("BSCE", 80))));
+        assertTrue(dbManager.saveResults("alice@cmu.edu.ph", 2000, Arrays.asList(rec("BSBA", 88), rec("BSOA", 75), rec("BSIT", 70))));
+        assertTrue(dbManager.saveResults("bob@cmu.edu.ph", 3000, Arrays.asList(rec("BSEE", 95))));
+
+        List<RecommendationEngine.Recommendation> alice = dbManager.getLatestResults("alice@cmu.edu.ph");
+        assertEquals(3, alice.size());
+        assertEquals("BSBA", alice.get(0).program);
+        assertEquals(88, alice.get(0).matchPercent);
+        assertEquals("Why BSBA", alice.get(0).storyWhy);
+        assertEquals("Careers\nof BSBA", alice.get(0).storyCareers);
+        assertEquals("Hardest BSBA", alice.get(0).hardestLogical);
+        assertEquals(81, alice.get(0).radarValues[1]);
+        assertEquals("BSIT", alice.get(2).program);
+
+        assertEquals(1, dbManager.getLatestResults("bob@cmu.edu.ph").size());
+        assertTrue(dbManager.getLatestResults("carol@cmu.edu.ph").isEmpty());
+
+        // The earlier run is kept as history
+        assertEquals(6, DatabaseUtils.queryNumEntries(helper.getReadableDatabase(),
+                DatabaseHelper.AssessmentResults.TABLE_NAME));
+    }
+
+    @Test
+    public void duplicateRunIsRejected() {
+        RecommendationEngine.Recommendation first = rec("BSIT", 91);
+        assertTrue(dbManager.saveResults("alice@cmu.edu.ph", 1000, Arrays.asList(first)));
+        assertFalse(dbManager.saveResults("alice@cmu.edu.ph", 1000, Arrays.asList(rec("BSBA", 88))));
+        assertEquals("BSIT", dbManager.getLatestResults("alice@cmu.edu.ph").get(0).program);
+
+        // A recreated ResultsActivity reads the stored run back by its ID
+        List<RecommendationEngine.Recommendation> stored = dbManager.getResults("alice@cmu.edu.ph", 1000);
+        assertEquals(1, stored.size());
+        assertEquals(first.id, stored.get(0).id);
+        assertTrue(dbManager.getResults("alice@cmu.edu.ph", 2000).isEmpty());
+    }
+
+    private static RecommendationEngine.Recommendation rec(String program, int match) {
+        return new RecommendationEngine.Recommendation(program, match, "Why " + program, "History " + program,
+                "Careers\nof " + program, "Insight " + program, "Hardest " + program, 72, 81, 64);
+    }
+}
@@ -0,0 +1,108 @@
+package com.prototype.pathfinder.data;
+
+import android.content.Context;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.prototype.pathfinder.utils.ScheduleTime;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that reading a schedule page by page yields every (day, class) pair exactly once, in display order,
+ * whatever the page size, and that classes without a parseable time come after the timed ones of their day.
+ */
+@RunWith(AndroidJUnit4.class)
+public class SchedulePageTest {
+    private static final String TEST_DB = "page_test.db";
+    private static final String EMAIL = "alice@cmu.edu.ph";
+    private static final int ROWS = 1000;
+
+    private Context context;
+    private DatabaseHelper helper;
+    private DBManager dbManager;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(TEST_DB);
+        helper = new DatabaseHelper(context, TEST_DB);
+        dbManager = new DBManager(helper);
+        dbManager.open();
+
+        String[] days = {"Mon/Wed", "Tue/Thu", "Fri", "Sat", "TBA"};
+        String[] times = {"7:30 AM - 9:00 AM", "9:00 AM - 10:30 AM", "1:00 PM - 2:30 PM", "3:30 PM - 5:00 PM", "TBA"};
+        List<DBManager.ScheduleItem> items = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            items.add(new DBManager.ScheduleItem(-1, "SUBJ " + i, "ICS 201", days[i % days.length],
+                    times[(i / days.length) % times.length]));
+        }
+        dbManager.upsertSchedules(EMAIL, items);
+    }
+
+    @After
+    public void tearDown() {
+        dbManager.close();
+        helper.close();
+        context.deleteDatabase(TEST_DB);
+    }
+
+    @Test
+    public void pagesCoverScheduleInDisplayOrder() {
+        List<String> expected = displayOrder(dbManager.getUserSchedule(EMAIL));
+        for (int pageSize : new int[]{1, 7, 50, 5000}) {
+            assertEquals("page size " + pageSize, expected, readAllPages(pageSize));
+        }
+    }
+
+    @Test
+    public void untimedClassesComeLastInTheirDay() {
+        SchedulePage page = dbManager.getSchedulePage(EMAIL, SchedulePage.Key.FIRST, ROWS);
+        boolean untimedSeen = false;
+        for (int i = 0; i < page.items.size() && page.days[i] == 0; i++) {
+            boolean untimed = page.items.get(i).startMinute == ScheduleTime.UNKNOWN_MINUTE;
+            assertFalse("Timed class listed after an untimed one", untimedSeen && !untimed);
+            untimedSeen |= untimed;
+        }
+        assertTrue(untimedSeen);
+        assertNotEquals(ScheduleTime.UNKNOWN_MINUTE, dbManager.getNextClass(EMAIL, 0, 0).startMinute);
+    }
+
+    private List<String> readAllPages(int pageSize) {
+        List<String> rows = new ArrayList<>();
+        SchedulePage.Key key = SchedulePage.Key.FIRST;
+        while (key != null) {
+            SchedulePage page = dbManager.getSchedulePage(EMAIL, key, pageSize);
+            assertTrue(page.items.size() <= pageSize);
+            for (int i = 0; i < page.items.size(); i++) rows.add(page.days[i] + ":" + page.items.get(i).id);
+            key = page.next;
+        }
+        return rows;
+    }
+
+    /** Expected order: each day's classes by (start minute, ID), then the unrecognized days. */
+    private static List<String> displayOrder(List<DBManager.ScheduleItem> schedule) {
+        schedule = new ArrayList<>(schedule);
+        schedule.sort((a, b) -> a.startMinute != b.startMinute
+                ? Integer.compare(a.startMinute, b.startMinute) : Long.compare(a.id, b.id));
+        List<String> rows = new ArrayList<>();
+        for (int day = 0; day < ScheduleTime.DAYS_PER_WEEK; day++) {
+            for (DBManager.ScheduleItem item : schedule) {
+                if ((item.dayMask & ScheduleTime.dayBit(day)) != 0) rows.add(day + ":" + item.id);
+            }
+        }
+        for (DBManager.ScheduleItem item : schedule) {
+            if (item.dayMask == 0) rows.add(ScheduleTime.UNKNOWN_DAY + ":" + item.id);
+        }
+        return rows;
+    }
+}
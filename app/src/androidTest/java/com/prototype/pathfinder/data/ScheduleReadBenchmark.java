@@ -0,0 +1,110 @@
+package com.prototype.pathfinder.data;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Reads 100k schedule rows for one user and logs rows/sec under the "ScheduleReadBenchmark" tag:
+ * "before" is the previous reader (SELECT * and getColumnIndex for every column of every row),
+ * "after" is DBManager.getUserSchedule (constant SQL, columns read by position).
+ * Each variant is run a few times after a warm-up; the best run is reported.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ScheduleReadBenchmark {
+    private static final String TAG = "ScheduleReadBenchmark";
+    private static final String TEST_DB = "read_benchmark.db";
+    private static final String EMAIL = "alice@cmu.edu.ph";
+    private static final int ROWS = 100000;
+    private static final int RUNS = 3;
+
+    private Context context;
+    private DatabaseHelper helper;
+    private DBManager dbManager;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(TEST_DB);
+        helper = new DatabaseHelper(context, TEST_DB);
+        dbManager = new DBManager(helper);
+        dbManager.open();
+
+        String[] days = {"Mon/Wed", "Tue/Thu", "Fri", "Sat"};
+        String[] times = {"7:30 AM - 9:00 AM", "9:00 AM - 10:30 AM", "1:00 PM - 2:30 PM", "3:30 PM - 5:00 PM"};
+        List<DBManager.ScheduleItem> items = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            items.add(new DBManager.ScheduleItem(-1, "SUBJ " + i, "ICS 201", days[i % days.length], times[i % times.length]));
+        }
+        dbManager.upsertSchedules(EMAIL, items);
+    }
+
+    @After
+    public void tearDown() {
+        dbManager.close();
+        helper.close();
+        context.deleteDatabase(TEST_DB);
+    }
+
+    @Test
+    public void readUserSchedule() {
+        SQLiteDatabase db = helper.getReadableDatabase();
+        // Warm-up: page cache and statement caches
+        assertEquals(ROWS, readWithColumnLookups(db).size());
+        assertEquals(ROWS, dbManager.getUserSchedule(EMAIL).size());
+
+        long before = Long.MAX_VALUE, after = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long start = SystemClock.elapsedRealtimeNanos();
+            readWithColumnLookups(db);
+            before = Math.min(before, SystemClock.elapsedRealtimeNanos() - start);
+
+            start = SystemClock.elapsedRealtimeNanos();
+            dbManager.getUserSchedule(EMAIL);
+            after = Math.min(after, SystemClock.elapsedRealtimeNanos() - start);
+        }
+
+        Log.i(TAG, "before: " + rowsPerSecond(before) + " rows/s (" + before / 1_000_000 + " ms)");
+        Log.i(TAG, "after:  " + rowsPerSecond(after) + " rows/s (" + after / 1_000_000 + " ms)");
+    }
+
+    /** The reader DBManager used before column positions were fixed. */
+    private static List<DBManager.ScheduleItem> readWithColumnLookups(SQLiteDatabase db) {
+        Cursor cursor = db.query(DatabaseHelper.Schedules.TABLE_NAME, null,
+                DatabaseHelper.Schedules.COL_EMAIL + "=?", new String[]{EMAIL}, null, null,
+                DatabaseHelper.Schedules.COL_START_MINUTE + ", " + DatabaseHelper.Schedules._ID);
+        List<DBManager.ScheduleItem> list = new ArrayList<>();
+        while (cursor.moveToNext()) {
+            list.add(new DBManager.ScheduleItem(
+                    cursor.getLong(cursor.getColumnIndex(DatabaseHelper.Schedules._ID)),
+                    cursor.getString(cursor.getColumnIndex(DatabaseHelper.Schedules.COL_SUBJECT)),
+                    cursor.getString(cursor.getColumnIndex(DatabaseHelper.Schedules.COL_ROOM)),
+                    cursor.getString(cursor.getColumnIndex(DatabaseHelper.Schedules.COL_DAY)),
+                    cursor.getString(cursor.getColumnIndex(DatabaseHelper.Schedules.COL_TIME)),
+                    cursor.getInt(cursor.getColumnIndex(DatabaseHelper.Schedules.COL_DAY_MASK)),
+                    cursor.getInt(cursor.getColumnIndex(DatabaseHelper.Schedules.COL_START_MINUTE)),
+                    cursor.getInt(cursor.getColumnIndex(DatabaseHelper.Schedules.COL_END_MINUTE))));
+        }
+        cursor.close();
+        return list;
+    }
+
+    private static long rowsPerSecond(long nanos) {
+        return ROWS * 1_000_000_000L / Math.max(1, nanos);
+    }
+}
@@ -0,0 +1,109 @@
+package com.prototype.pathfinder.data;
+
+import android.content.Context;
+import android.database.DatabaseUtils;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that schedule upserts are idempotent and that a 10k-row batch is written well within a second.
+ * Timings are logged under the "ScheduleUpsertTest" tag.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ScheduleUpsertTest {
+    private static final String TAG = "ScheduleUpsertTest";
+    private static final String TEST_DB = "upsert_test.db";
+    private static final String EMAIL = "alice@cmu.edu.ph";
+    private static final int ROWS = 10000;
+    private static final long MAX_INSERT_MS = 1000;
+
+    private Context context;
+    private DatabaseHelper helper;
+    private DBManager dbManager;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        context.deleteDatabase(TEST_DB);
+        helper = new DatabaseHelper(context, TEST_DB);
+        dbManager = new DBManager(helper);
+        dbManager.open();
+    }
+
+    @After
+    public void tearDown() {
+        dbManager.close();
+        helper.close();
+        context.deleteDatabase(TEST_DB);
+    }
+
+    @Test
+    public void bulkUpsertIsFastAndIdempotent() {
+        List<DBManager.ScheduleItem> items = syntheticItems(ROWS);
+
+        long start = SystemClock.elapsedRealtime();
+        int inserted = dbManager.upsertSchedules(EMAIL, items);
+        long insertMs = SystemClock.elapsedRealtime() - start;
+
+        start = SystemClock.elapsedRealtime();
+        int reinserted = dbManager.upsertSchedules(EMAIL, items);
+        long reimportMs = SystemClock.elapsedRealtime() - start;
+
+        Log.i(TAG, "Upserted " + ROWS + " rows in " + insertMs + " ms, re-import took " + reimportMs + " ms");
+        assertEquals(ROWS, inserted);
+        assertEquals(0, reinserted);
+        assertEquals(ROWS, DatabaseUtils.queryNumEntries(helper.getReadableDatabase(), DatabaseHelper.Schedules.TABLE_NAME));
+        assertTrue("Insert took " + insertMs + " ms", insertMs < MAX_INSERT_MS);
+    }
+
+    @Test
+    public void reimportOnlyFillsUnknownRoom() {
+        dbManager.upsertSchedules(EMAIL, Collections.singletonList(
+                new DBManager.ScheduleItem(-1, "IT 101", DBManager.UNKNOWN_ROOM, "Mon/Wed", "9:00 AM - 10:30 AM")));
+        dbManager.upsertSchedules(EMAIL, Collections.singletonList(
+                new DBManager.ScheduleItem(-1, "IT 101", "ICS 201", "Mon/Wed", "9:00 AM - 10:30 AM")));
+        dbManager.upsertSchedules(EMAIL, Collections.singletonList(
+                new DBManager.ScheduleItem(-1, "IT 101", "CAS 104", "Mon/Wed", "9:00 AM - 10:30 AM")));
+
+        List<DBManager.ScheduleItem> schedule = dbManager.getUserSchedule(EMAIL);
+        assertEquals(1, schedule.size());
+        assertEquals("ICS 201", schedule.get(0).room);
+    }
+
+    @Test
+    public void editIntoExistingClassIsRejected() {
+        dbManager.upsertSchedules(EMAIL, syntheticItems(2));
+        List<DBManager.ScheduleItem> schedule = dbManager.getUserSchedule(EMAIL);
+        DBManager.ScheduleItem first = schedule.get(0), second = schedule.get(1);
+
+        // Moving a class onto a day/time it already occupies is a constraint violation, reported as false
+        dbManager.upsertSchedules(EMAIL, Collections.singletonList(
+                new DBManager.ScheduleItem(-1, first.subject, first.room, second.day, second.time)));
+        assertFalse(dbManager.updateScheduleDetails(first.id, first.room, second.day, second.time));
+        assertTrue(dbManager.updateScheduleDetails(first.id, "ICS 201", first.day, first.time));
+    }
+
+    private static List<DBManager.ScheduleItem> syntheticItems(int count) {
+        String[] days = {"Mon/Wed", "Tue/Thu", "Fri", "Sat"};
+        String[] times = {"7:30 AM - 9:00 AM", "9:00 AM - 10:30 AM", "1:00 PM - 2:30 PM", "3:30 PM - 5:00 PM"};
+        List<DBManager.ScheduleItem> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(new DBManager.ScheduleItem(-1, "SUBJ " + i, "ICS 201", days[i % days.length], times[i % times.length]));
+        }
+        return items;
+    }
+}
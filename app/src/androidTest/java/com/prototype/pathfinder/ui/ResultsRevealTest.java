@@ -0,0 +1,98 @@
+package com.prototype.pathfinder.ui;
+
+import android.content.Context;
+import android.content.Intent;
+import android.content.SharedPreferences;
+import android.os.Bundle;
+import android.os.SystemClock;
+import android.util.Log;
+import android.view.View;
+
+import androidx.test.core.app.ActivityScenario;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.prototype.pathfinder.R;
+import com.prototype.pathfinder.data.DatabaseHelper;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.*;
+
+/**
+ * Measures how long ResultsActivity takes to show results for a seeded test ID:
+ * with the reveal they appear shortly after the minimum reveal time, in fast mode right after scoring.
+ * Times are logged under the "ResultsRevealTest" tag.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ResultsRevealTest {
+    private static final String TAG = "ResultsRevealTest";
+    private static final String EMAIL = "reveal-test@cmu.edu.ph";
+    private static final long SLACK_MS = 1000; // Scoring plus layout on a slow emulator
+    private static final long TIMEOUT_MS = 10_000;
+
+    private Context context;
+    private String previousEmail;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        previousEmail = prefs().getString("user_email", null);
+        prefs().edit().putString("user_email", EMAIL).commit();
+    }
+
+    @After
+    public void tearDown() {
+        prefs().edit().putString("user_email", previousEmail).remove(ResultsActivity.PREF_FAST_RESULTS).commit();
+        DatabaseHelper.getInstance(context).getWritableDatabase().delete(DatabaseHelper.AssessmentResults.TABLE_NAME,
+                DatabaseHelper.AssessmentResults.COL_EMAIL + " = ?", new String[]{EMAIL});
+    }
+
+    @Test
+    public void resultsFollowMinimumReveal() {
+        prefs().edit().putBoolean(ResultsActivity.PREF_FAST_RESULTS, false).commit();
+        long minRevealMs = context.getResources().getInteger(R.integer.results_min_reveal_ms);
+        long ms = timeToResults();
+        Log.i(TAG, "With reveal: " + ms + " ms (minimum " + minRevealMs + " ms)");
+        assertTrue(ms >= minRevealMs);
+        assertTrue("Took " + ms + " ms", ms < minRevealMs + SLACK_MS);
+    }
+
+    @Test
+    public void fastModeSkipsReveal() {
+        prefs().edit().putBoolean(ResultsActivity.PREF_FAST_RESULTS, true).commit();
+        long ms = timeToResults();
+        Log.i(TAG, "Fast mode: " + ms + " ms");
+        assertTrue("Took " + ms + " ms", ms < SLACK_MS);
+    }
+
+    /** Launches ResultsActivity for TEST001 and waits until the results list is visible. */
+    private long timeToResults() {
+        Bundle survey = new Bundle();
+        survey.putInt("quant_interest", 4);
+        survey.putInt("verbal_interest", 3);
+        survey.putInt("logical_interest", 5);
+        Intent intent = new Intent(context, ResultsActivity.class)
+                .putExtra("test_id", "TEST001")
+                .putExtra("survey_scores", survey);
+
+        long start = SystemClock.elapsedRealtime();
+        try (ActivityScenario<ResultsActivity> scenario = ActivityScenario.launch(intent)) {
+            boolean[] shown = new boolean[1];
+            while (SystemClock.elapsedRealtime() - start < TIMEOUT_MS) {
+                scenario.onActivity(a -> shown[0] = a.findViewById(R.id.nestedResults).getVisibility() == View.VISIBLE);
+                if (shown[0]) return SystemClock.elapsedRealtime() - start;
+                SystemClock.sleep(20);
+            }
+        }
+        fail("Results were not shown within " + TIMEOUT_MS + " ms");
+        return -1;
+    }
+
+    private SharedPreferences prefs() {
+        return context.getSharedPreferences("user_prefs", Context.MODE_PRIVATE);
+    }
+}
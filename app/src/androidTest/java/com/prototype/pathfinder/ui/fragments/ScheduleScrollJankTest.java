@@ -0,0 +1,152 @@
+package com.prototype.pathfinder.ui.fragments;
+
+import android.app.Instrumentation;
+import android.content.Context;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.SystemClock;
+import android.util.Log;
+import android.view.FrameMetrics;
+import android.view.Window;
+
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.core.app.ActivityScenario;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.google.android.material.bottomnavigation.BottomNavigationView;
+import com.prototype.pathfinder.R;
+import com.prototype.pathfinder.data.DBManager;
+import com.prototype.pathfinder.data.DatabaseHelper;
+import com.prototype.pathfinder.ui.DashboardActivity;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Scrolls a 500-class schedule from top to bottom on the Schedule tab and measures jank with FrameMetrics:
+ * a frame is janky when it takes longer than one 60 Hz vsync (16.7 ms).
+ * Frame counts are logged under the "ScheduleScrollJankTest" tag.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ScheduleScrollJankTest {
+    private static final String TAG = "ScheduleScrollJankTest";
+    private static final String EMAIL = "jank-test@cmu.edu.ph";
+    private static final int CLASSES = 500;
+    private static final long FRAME_BUDGET_NS = 16_666_667L;
+    private static final double MAX_JANK_RATIO = 0.1;
+    private static final long TIMEOUT_MS = 60_000;
+
+    private Context context;
+    private DBManager dbManager;
+    private String previousEmail;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        dbManager = new DBManager(context);
+        dbManager.open();
+        deleteSchedule();
+
+        String[] days = {"Mon", "Tue", "Wed", "Thu", "Fri", "Sat"};
+        List<DBManager.ScheduleItem> items = new ArrayList<>(CLASSES);
+        for (int i = 0; i < CLASSES; i++) {
+            int minutes = 7 * 60 + (i / days.length) % 20 * 30;
+            String time = clock(minutes) + " - " + clock(minutes + 90);
+            items.add(new DBManager.ScheduleItem(-1, "SUBJ " + i, "ICS 201", days[i % days.length], time));
+        }
+        assertEquals(CLASSES, dbManager.upsertSchedules(EMAIL, items));
+
+        previousEmail = context.getSharedPreferences("user_prefs", Context.MODE_PRIVATE).getString("user_email", null);
+        context.getSharedPreferences("user_prefs", Context.MODE_PRIVATE).edit().putString("user_email", EMAIL).commit();
+    }
+
+    @After
+    public void tearDown() {
+        deleteSchedule();
+        dbManager.close();
+        context.getSharedPreferences("user_prefs", Context.MODE_PRIVATE).edit()
+                .putString("user_email", previousEmail).commit();
+    }
+
+    @Test
+    public void scrollingScheduleRarelyJanks() {
+        Instrumentation instrumentation = InstrumentationRegistry.getInstrumentation();
+        try (ActivityScenario<DashboardActivity> scenario = ActivityScenario.launch(DashboardActivity.class)) {
+            RecyclerView[] list = new RecyclerView[1];
+            Window[] window = new Window[1];
+            scenario.onActivity(activity -> {
+                ((BottomNavigationView) activity.findViewById(R.id.bottom_nav)).setSelectedItemId(R.id.nav_schedule);
+                window[0] = activity.getWindow();
+            });
+            instrumentation.waitForIdleSync();
+            scenario.onActivity(activity -> list[0] = activity.findViewById(R.id.rvSchedule));
+            waitUntil(() -> list[0].getAdapter() != null && list[0].getAdapter().getItemCount() > 0);
+
+            // Count frames on a background thread while the list is flung page by page
+            AtomicInteger frames = new AtomicInteger(), janky = new AtomicInteger();
+            HandlerThread metricsThread = new HandlerThread("frame-metrics");
+            metricsThread.start();
+            Window.OnFrameMetricsAvailableListener listener = (w, metrics, dropped) -> {
+                frames.incrementAndGet();
+                if (metrics.getMetric(FrameMetrics.TOTAL_DURATION) > FRAME_BUDGET_NS) janky.incrementAndGet();
+            };
+            instrumentation.runOnMainSync(() ->
+                    window[0].addOnFrameMetricsAvailableListener(listener, new Handler(metricsThread.getLooper())));
+
+            long deadline = SystemClock.elapsedRealtime() + TIMEOUT_MS;
+            int rows = CLASSES + 6; // one header per day
+            while ((list[0].canScrollVertically(1) || list[0].getAdapter().getItemCount() < rows)
+                    && SystemClock.elapsedRealtime() < deadline) {
+                instrumentation.runOnMainSync(() -> list[0].smoothScrollBy(0, list[0].getHeight()));
+                waitUntil(() -> list[0].getScrollState() == RecyclerView.SCROLL_STATE_IDLE);
+                instrumentation.waitForIdleSync();
+            }
+
+            instrumentation.runOnMainSync(() -> window[0].removeOnFrameMetricsAvailableListener(listener));
+            metricsThread.quitSafely();
+
+            // Every class row plus its day headers is in the list once the end is reached
+            assertFalse("Did not reach the end of the schedule", list[0].canScrollVertically(1));
+            assertEquals(rows, list[0].getAdapter().getItemCount());
+
+            double ratio = janky.get() / (double) Math.max(1, frames.get());
+            Log.i(TAG, "Scrolled " + CLASSES + " classes: " + frames.get() + " frames, " + janky.get() + " janky ("
+                    + Math.round(ratio * 100) + "%)");
+            assertTrue("Janky frame ratio " + ratio, ratio < MAX_JANK_RATIO);
+        }
+    }
+
+    private void deleteSchedule() {
+        DatabaseHelper.getInstance(context).getWritableDatabase().delete(DatabaseHelper.Schedules.TABLE_NAME,
+                DatabaseHelper.Schedules.COL_EMAIL + " = ?", new String[]{EMAIL});
+    }
+
+    private static String clock(int minutes) {
+        int hour = minutes / 60 % 12 == 0 ? 12 : minutes / 60 % 12;
+        return hour + ":" + String.format("%02d", minutes % 60) + (minutes < 12 * 60 ? " AM" : " PM");
+    }
+
+    private interface Condition {
+        boolean holds();
+    }
+
+    private static void waitUntil(Condition condition) {
+        long deadline = SystemClock.elapsedRealtime() + TIMEOUT_MS;
+        boolean[] holds = new boolean[1];
+        while (SystemClock.elapsedRealtime() < deadline) {
+            InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> holds[0] = condition.holds());
+            if (holds[0]) return;
+            SystemClock.sleep(50);
+        }
+        fail("Timed out waiting for the schedule list");
+    }
+}
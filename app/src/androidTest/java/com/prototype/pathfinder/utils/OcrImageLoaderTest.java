@@ -0,0 +1,140 @@
+package com.prototype.pathfinder.utils;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.net.Uri;
+import android.os.Debug;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.google.android.gms.tasks.Tasks;
+import com.google.mlkit.vision.common.InputImage;
+import com.google.mlkit.vision.text.Text;
+import com.google.mlkit.vision.text.TextRecognition;
+import com.google.mlkit.vision.text.TextRecognizer;
+import com.google.mlkit.vision.text.latin.TextRecognizerOptions;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Compares recognizing a 12 MP COR photo at full resolution (the old InputImage.fromFilePath path)
+ * with the sampled OcrImageLoader path. Time-to-text and native heap growth of both are logged
+ * under the "OcrImageLoaderTest" tag.
+ */
+@RunWith(AndroidJUnit4.class)
+public class OcrImageLoaderTest {
+    private static final String TAG = "OcrImageLoaderTest";
+    private static final int WIDTH = 4000, HEIGHT = 3000;
+    private static final String[] ROWS = {
+            "IT 101   Intro to Computing   3   MWF   7:30-9:00   ICS 201",
+            "MATH 21A   Calculus I   3   TTH   10:30-12:00   CAS 104",
+            "PE 102   Physical Fitness   2   F   1:00-3:00   GYM",
+    };
+
+    private Context context;
+    private File photo;
+    private TextRecognizer recognizer;
+
+    @Before
+    public void setUp() throws Exception {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        photo = new File(context.getCacheDir(), "cor_test.jpg");
+        writeSyntheticCor(photo);
+        recognizer = TextRecognition.getClient(TextRecognizerOptions.DEFAULT_OPTIONS);
+    }
+
+    @After
+    public void tearDown() {
+        recognizer.close();
+        photo.delete();
+    }
+
+    @Test
+    public void sampledDecodeMatchesFullResolution() throws Exception {
+        Uri uri = Uri.fromFile(photo);
+        // Warm the model so neither path pays for loading it
+        Tasks.await(recognizer.process(InputImage.fromBitmap(Bitmap.createBitmap(64, 64, Bitmap.Config.ARGB_8888), 0)));
+
+        long heapBefore = Debug.getNativeHeapAllocatedSize();
+        long start = SystemClock.elapsedRealtime();
+        Text full = Tasks.await(recognizer.process(InputImage.fromFilePath(context, uri)));
+        long fullMs = SystemClock.elapsedRealtime() - start;
+        long fullHeap = Debug.getNativeHeapAllocatedSize() - heapBefore;
+        Runtime.getRuntime().gc();
+
+        heapBefore = Debug.getNativeHeapAllocatedSize();
+        start = SystemClock.elapsedRealtime();
+        OcrImageLoader.Result decoded = OcrImageLoader.load(context, uri);
+        Text sampled = Tasks.await(recognizer.process(decoded.image));
+        long sampledMs = SystemClock.elapsedRealtime() - start;
+        long sampledHeap = Debug.getNativeHeapAllocatedSize() - heapBefore;
+
+        Log.i(TAG, "Full resolution: time-to-text " + fullMs + " ms, native heap +" + fullHeap / 1024 + " KB");
+        Log.i(TAG, "Sampled x" + decoded.sampleSize + ": time-to-text " + sampledMs + " ms, native heap +" +
+                sampledHeap / 1024 + " KB, bitmap " + decoded.bitmapBytes / 1024 + " KB");
+
+        assertEquals(2, decoded.sampleSize);
+        List<CorParser.Entry> fullEntries = CorParser.parse(tokens(full));
+        List<CorParser.Entry> sampledEntries = CorParser.parse(tokens(sampled));
+        assertEquals(fullEntries.size(), sampledEntries.size());
+        assertEquals(ROWS.length, sampledEntries.size());
+        assertEquals("7:30 AM - 9:00 AM", sampledEntries.get(0).time);
+    }
+
+    @Test
+    public void regionDecodeUsesFinerSample() throws Exception {
+        Uri uri = Uri.fromFile(photo);
+        OcrImageLoader.Result page = OcrImageLoader.load(context, uri);
+        OcrImageLoader.Result region = OcrImageLoader.load(context, uri, new Rect(0, 0, 2000, 1000));
+        assertEquals(2, page.sampleSize);
+        assertEquals(1, region.sampleSize);
+        assertEquals(new Rect(100, 200, 300, 400), page.toSourceRect(new Rect(50, 100, 150, 200)));
+    }
+
+    /** Draws a COR-like table onto a 12 MP white page and saves it as JPEG. */
+    private static void writeSyntheticCor(File file) throws Exception {
+        Bitmap bitmap = Bitmap.createBitmap(WIDTH, HEIGHT, Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(bitmap);
+        canvas.drawColor(Color.WHITE);
+        Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        paint.setColor(Color.BLACK);
+        paint.setTextSize(64);
+        canvas.drawText("CERTIFICATE OF REGISTRATION", 200, 300, paint);
+        canvas.drawText("SUBJECT   DESCRIPTION   UNITS   DAYS   TIME   ROOM", 200, 500, paint);
+        for (int i = 0; i < ROWS.length; i++) {
+            canvas.drawText(ROWS[i], 200, 650 + i * 150, paint);
+        }
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            bitmap.compress(Bitmap.CompressFormat.JPEG, 90, out);
+        }
+        bitmap.recycle();
+    }
+
+    private static List<CorParser.Token> tokens(Text text) {
+        List<CorParser.Token> tokens = new ArrayList<>();
+        for (Text.TextBlock block : text.getTextBlocks()) {
+            for (Text.Line line : block.getLines()) {
+                Rect box = line.getBoundingBox();
+                if (box != null) tokens.add(new CorParser.Token(line.getText(), box.left, box.top, box.right, box.bottom));
+            }
+        }
+        return tokens;
+    }
+}
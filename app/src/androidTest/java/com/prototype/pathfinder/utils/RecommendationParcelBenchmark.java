@@ -0,0 +1,124 @@
+package com.prototype.pathfinder.utils;
+
+import android.os.Parcel;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.Serializable;
+
+import static org.junit.Assert.*;
+
+/**
+ * Marshals and unmarshals one recommendation the three ways it has travelled between activities,
+ * logging ns per round trip and parcel size under the "RecommendationParcelBenchmark" tag:
+ * "serializable" is the old Java-serialized object, "full" the Parcelable with its story (unsaved result),
+ * "id" the Parcelable summary of a stored result.
+ */
+@RunWith(AndroidJUnit4.class)
+public class RecommendationParcelBenchmark {
+    private static final String TAG = "RecommendationParcelBenchmark";
+    private static final int WARMUP = 2000;
+    private static final int ITERATIONS = 20000;
+
+    private static final String WHY = "Your Logic (80) and Math (85) scores define you as an 'Analytical Architect'. " +
+            "This course demands exactly that brainpower.";
+    private static final String HISTORY = "Data shows students with your profile have a 92% graduation rate and often land in the Dean's List.";
+    private static final String CAREERS = "Software Engineer\nFull-Stack Developer\nCybersecurity Analyst";
+    private static final String INSIGHT = "Strong logical performance (15–18 correct).\n\n" +
+            "You handled complex pattern recognition and conditional logic exceptionally well.\n\n" +
+            "You were close on the legendary Q17 — most students miss it entirely.";
+    private static final String HARDEST = "Q17 – Circular Seating\nYou attempted it bravely. Only 8% succeed.";
+
+    @Test
+    public void marshalRecommendation() {
+        LegacyRecommendation legacy = new LegacyRecommendation();
+        RecommendationEngine.Recommendation full = new RecommendationEngine.Recommendation(
+                "BSIT", 91, WHY, HISTORY, CAREERS, INSIGHT, HARDEST, 85, 70, 80);
+        RecommendationEngine.Recommendation stored = new RecommendationEngine.Recommendation(
+                "BSIT", 91, WHY, HISTORY, CAREERS, INSIGHT, HARDEST, 85, 70, 80);
+        stored.id = 42;
+
+        int serializableBytes = sizeOf(legacy), fullBytes = sizeOf(full), idBytes = sizeOf(stored);
+        long serializableNs = time(legacy), fullNs = time(full), idNs = time(stored);
+
+        Log.i(TAG, "serializable: " + serializableNs + " ns, " + serializableBytes + " bytes");
+        Log.i(TAG, "full:         " + fullNs + " ns, " + fullBytes + " bytes");
+        Log.i(TAG, "id:           " + idNs + " ns, " + idBytes + " bytes");
+
+        // Round trips keep what each form promises
+        RecommendationEngine.Recommendation fullCopy = roundTrip(full);
+        assertTrue(fullCopy.hasStory());
+        assertEquals(INSIGHT, fullCopy.itemInsight);
+        RecommendationEngine.Recommendation idCopy = roundTrip(stored);
+        assertFalse(idCopy.hasStory());
+        assertEquals(42, idCopy.id);
+        assertEquals("BSIT", idCopy.program);
+        assertEquals(80, idCopy.radarValues[2]);
+
+        assertTrue(idBytes < fullBytes);
+        assertTrue(fullBytes < serializableBytes);
+    }
+
+    /** @return Average ns for one write + read of the object. */
+    private static long time(Object value) {
+        for (int i = 0; i < WARMUP; i++) roundTripAny(value);
+        long start = SystemClock.elapsedRealtimeNanos();
+        for (int i = 0; i < ITERATIONS; i++) roundTripAny(value);
+        return (SystemClock.elapsedRealtimeNanos() - start) / ITERATIONS;
+    }
+
+    private static Object roundTripAny(Object value) {
+        return value instanceof LegacyRecommendation ? roundTripSerializable((LegacyRecommendation) value)
+                : roundTrip((RecommendationEngine.Recommendation) value);
+    }
+
+    private static RecommendationEngine.Recommendation roundTrip(RecommendationEngine.Recommendation rec) {
+        Parcel parcel = Parcel.obtain();
+        try {
+            parcel.writeParcelable(rec, 0);
+            parcel.setDataPosition(0);
+            return parcel.readParcelable(RecommendationEngine.Recommendation.class.getClassLoader());
+        } finally {
+            parcel.recycle();
+        }
+    }
+
+    private static Serializable roundTripSerializable(LegacyRecommendation rec) {
+        Parcel parcel = Parcel.obtain();
+        try {
+            parcel.writeSerializable(rec);
+            parcel.setDataPosition(0);
+            return parcel.readSerializable();
+        } finally {
+            parcel.recycle();
+        }
+    }
+
+    private static int sizeOf(Object value) {
+        Parcel parcel = Parcel.obtain();
+        try {
+            if (value instanceof LegacyRecommendation) parcel.writeSerializable((LegacyRecommendation) value);
+            else parcel.writeParcelable((RecommendationEngine.Recommendation) value, 0);
+            return parcel.dataSize();
+        } finally {
+            parcel.recycle();
+        }
+    }
+
+    /** Field-for-field copy of Recommendation as it was when it implemented Serializable. */
+    private static class LegacyRecommendation implements Serializable {
+        String program = "BSIT";
+        int matchPercent = 91;
+        String storyWhy = WHY;
+        String storyHistory = HISTORY;
+        String storyCareers = CAREERS;
+        String itemInsight = INSIGHT;
+        String hardestLogical = HARDEST;
+        int[] radarValues = {85, 70, 80};
+    }
+}
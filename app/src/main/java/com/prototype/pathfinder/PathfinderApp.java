@@ -0,0 +1,82 @@
+package com.prototype.pathfinder;
+
+import android.app.Application;
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.StrictMode;
+
+import com.prototype.pathfinder.data.DBManager;
+import com.prototype.pathfinder.data.DataRepository;
+import com.prototype.pathfinder.utils.RecommendationEngine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * PathfinderApp
+ * <p>
+ * Application entry point.
+ * 1. In debug builds, enables StrictMode so any disk read/write on the main thread is logged,
+ *    along with leaked SQLite cursors and database objects.
+ * 2. Warms the SharedPreferences files on the I/O executor so screens read them from memory.
+ * 3. Moves results saved by older versions (the user_results SharedPreferences) into the results table, once.
+ */
+public class PathfinderApp extends Application {
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+
+        if (BuildConfig.DEBUG) {
+            StrictMode.setThreadPolicy(new StrictMode.ThreadPolicy.Builder()
+                    .detectDiskReads()
+                    .detectDiskWrites()
+                    .penaltyLog()
+                    .build());
+            StrictMode.setVmPolicy(new StrictMode.VmPolicy.Builder()
+                    .detectLeakedSqlLiteObjects()
+                    .detectLeakedClosableObjects()
+                    .penaltyLog()
+                    .build());
+        }
+
+        // Loading happens off the main thread; later getSharedPreferences() calls hit the in-memory copy
+        DataRepository.ioExecutor().execute(() -> {
+            getSharedPreferences("user_prefs", Context.MODE_PRIVATE).getAll();
+            importLegacyResults();
+        });
+    }
+
+    /**
+     * Stores the run kept in the user_results SharedPreferences as the logged-in user's oldest run
+     * (run ID 0), then deletes the keys. Runs on the I/O executor.
+     */
+    private void importLegacyResults() {
+        SharedPreferences legacy = getSharedPreferences("user_results", Context.MODE_PRIVATE);
+        int count = legacy.getInt("rec_count", 0);
+        if (count == 0) return;
+
+        String email = getSharedPreferences("user_prefs", Context.MODE_PRIVATE).getString("user_email", null);
+        if (email != null) {
+            List<RecommendationEngine.Recommendation> recs = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                recs.add(new RecommendationEngine.Recommendation(
+                        legacy.getString("rec_prog_" + i, ""), legacy.getInt("rec_pct_" + i, 0),
+                        legacy.getString("rec_why_" + i, ""), legacy.getString("rec_hist_" + i, ""),
+                        legacy.getString("rec_car_" + i, ""),
+                        legacy.getString("rec_insight_" + i, "Your unique strengths were analyzed in detail."),
+                        legacy.getString("rec_hardest_" + i, "Strong performance across the board."),
+                        legacy.getInt("rec_quant_" + i, 70), legacy.getInt("rec_verbal_" + i, 70),
+                        legacy.getInt("rec_logical_" + i, 70)));
+            }
+            DBManager dbManager = new DBManager(this);
+            dbManager.open();
+            try {
+                if (!dbManager.saveResults(email, 0, recs)) return; // Retried on the next start
+            } finally {
+                dbManager.close();
+            }
+        }
+        legacy.edit().clear().commit();
+    }
+}
@@ -0,0 +1,35 @@
+package com.prototype.pathfinder.data;
+
+/**
+ * CohortScores
+ * <p>
+ * Column-oriented snapshot of the TestScores table used for batch scoring.
+ * Row i of every array belongs to the same test ID.
+ */
+public class CohortScores {
+    public final String[] testIds;
+    public final int[] quant;
+    public final int[] verbal;
+    public final int[] logical;
+
+    /**
+     * Constructor
+     * @param testIds Test IDs (e.g., "TEST001").
+     * @param quant Raw quantitative scores (0 - 100).
+     * @param verbal Raw verbal scores (0 - 100).
+     * @param logical Raw logical scores (0 - 100).
+     */
+    public CohortScores(String[] testIds, int[] quant, int[] verbal, int[] logical) {
+        this.testIds = testIds;
+        this.quant = quant;
+        this.verbal = verbal;
+        this.logical = logical;
+    }
+
+    /**
+     * @return The number of students in the cohort.
+     */
+    public int size() {
+        return testIds.length;
+    }
+}
@@ -0,0 +1,288 @@
+package com.prototype.pathfinder.data;
+
+import android.content.Context;
+import android.content.Intent;
+import android.graphics.Rect;
+import android.net.Uri;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.Data;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.google.android.gms.tasks.Tasks;
+import com.google.mlkit.vision.text.Text;
+import com.google.mlkit.vision.text.TextRecognition;
+import com.google.mlkit.vision.text.TextRecognizer;
+import com.google.mlkit.vision.text.latin.TextRecognizerOptions;
+import com.prototype.pathfinder.utils.CorParser;
+import com.prototype.pathfinder.utils.OcrImageLoader;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * CorImportWorker
+ * <p>
+ * Background import of one or more COR pages into a user's schedule.
+ * Runs under WorkManager, so a queued or interrupted import resumes after the app process dies.
+ * Workflow:
+ * 1. Decodes and recognizes the pages, at most {@link #PAGE_CONCURRENCY} at a time, with one
+ *    TextRecognizer shared by the whole batch.
+ * 2. Parses every page with CorParser and merges the rows, dropping classes repeated across pages.
+ * 3. Upserts all rows in one transaction, so a half-finished import never shows up in the schedule
+ *    and re-importing the same COR adds nothing.
+ * 4. Publishes "done"/"total" page progress and the inserted row count for the schedule screen.
+ * 5. Once the import succeeds or finally fails, releases the persisted read grants of its pages
+ *    (retries keep them) and deletes its page list.
+ * <p>
+ * The page URIs are kept in a file under noBackupFilesDir/{@link #PAGES_DIR}; the work input only names
+ * that file, since WorkManager input Data is limited to 10 KB.
+ */
+public class CorImportWorker extends Worker {
+    private static final String TAG = "CorImportWorker";
+
+    /** Unique work name; new imports queue behind a running one. */
+    public static final String WORK_NAME = "cor_import";
+    public static final String KEY_EMAIL = "email";
+    public static final String KEY_PAGES = "pages"; // Page list file name in PAGES_DIR
+    static final String PAGES_DIR = "cor_imports";
+    public static final String KEY_DONE = "done";
+    public static final String KEY_TOTAL = "total";
+    public static final String KEY_INSERTED = "inserted";
+
+    // Each page in flight holds a ~16 MB bitmap plus recognizer buffers
+    private static final int PAGE_CONCURRENCY = 2;
+
+    public CorImportWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    /**
+     * Queues an import of the given pages for a user.
+     * The caller should already hold persistable read permission on every URI; the worker releases it.
+     *
+     * @return false if the page list could not be stored (nothing was queued).
+     */
+    public static boolean enqueue(Context context, String email, List<Uri> pages) {
+        StringBuilder list = new StringBuilder();
+        for (Uri page : pages) list.append(page).append('\n');
+        String name = UUID.randomUUID() + ".txt";
+        File dir = new File(context.getNoBackupFilesDir(), PAGES_DIR);
+        try {
+            if (!dir.isDirectory() && !dir.mkdirs()) throw new IOException("Cannot create " + dir);
+            try (OutputStream out = new FileOutputStream(new File(dir, name))) {
+                out.write(list.toString().getBytes(StandardCharsets.UTF_8));
+            }
+        } catch (IOException e) {
+            Log.e(TAG, "Could not store the COR page list", e);
+            return false;
+        }
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(CorImportWorker.class)
+                .setInputData(new Data.Builder()
+                        .putString(KEY_EMAIL, email)
+                        .putString(KEY_PAGES, name)
+                        .build())
+                .build();
+        WorkManager.getInstance(context).enqueueUniqueWork(WORK_NAME, ExistingWorkPolicy.APPEND_OR_REPLACE, request);
+        return true;
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        String email = getInputData().getString(KEY_EMAIL);
+        File pagesFile = pagesFile(getApplicationContext(), getInputData().getString(KEY_PAGES));
+        String[] uris = pagesFile == null ? null : readPages(pagesFile);
+        if (email == null || uris == null || uris.length == 0) {
+            if (uris != null) finish(pagesFile, uris);
+            return Result.failure();
+        }
+
+        long start = SystemClock.elapsedRealtime();
+        AtomicInteger done = new AtomicInteger();
+        setProgressAsync(progress(0, uris.length));
+
+        // 1. Recognize pages with bounded concurrency
+        TextRecognizer recognizer = TextRecognition.getClient(TextRecognizerOptions.DEFAULT_OPTIONS);
+        ExecutorService pages = Executors.newFixedThreadPool(Math.min(PAGE_CONCURRENCY, uris.length));
+        List<Future<List<CorParser.Entry>>> results = new ArrayList<>(uris.length);
+        try {
+            for (String uri : uris) {
+                results.add(pages.submit(() -> {
+                    List<CorParser.Entry> entries = recognizePage(recognizer, Uri.parse(uri));
+                    setProgressAsync(progress(done.incrementAndGet(), uris.length));
+                    return entries;
+                }));
+            }
+
+            // 2. Merge in page order, first occurrence wins
+            Map<String, CorParser.Entry> merged = new LinkedHashMap<>();
+            for (Future<List<CorParser.Entry>> result : results) {
+                for (CorParser.Entry entry : result.get()) {
+                    if (!merged.containsKey(entry.key())) merged.put(entry.key(), entry);
+                }
+                if (isStopped()) return Result.retry();
+            }
+
+            // 3. One transaction for the whole import
+            List<DBManager.ScheduleItem> items = new ArrayList<>(merged.size());
+            for (CorParser.Entry entry : merged.values()) {
+                items.add(new DBManager.ScheduleItem(-1, entry.subject, entry.room, entry.day, entry.time));
+            }
+            int inserted = 0;
+            if (!items.isEmpty()) {
+                DBManager dbManager = new DBManager(getApplicationContext());
+                dbManager.open();
+                try {
+                    inserted = dbManager.upsertSchedules(email, items);
+                } finally {
+                    dbManager.close();
+                }
+            }
+
+            Log.i(TAG, "Imported " + inserted + " classes from " + uris.length + " pages in " +
+                    (SystemClock.elapsedRealtime() - start) + " ms");
+            finish(pagesFile, uris);
+            // 4. Final counts for the schedule screen
+            return Result.success(new Data.Builder()
+                    .putInt(KEY_DONE, uris.length)
+                    .putInt(KEY_TOTAL, uris.length)
+                    .putInt(KEY_INSERTED, inserted)
+                    .build());
+        } catch (Exception e) {
+            Log.e(TAG, "COR import failed", e);
+            if (getRunAttemptCount() < 2) return Result.retry();
+            finish(pagesFile, uris);
+            return Result.failure();
+        } finally {
+            pages.shutdownNow();
+            recognizer.close();
+        }
+    }
+
+    /**
+     * Decodes and recognizes one page. A downsampled page that yields no classes is decoded again,
+     * limited to its text area (so at a finer scale), and recognized once more.
+     */
+    private List<CorParser.Entry> recognizePage(TextRecognizer recognizer, Uri uri) throws Exception {
+        Context context = getApplicationContext();
+        OcrImageLoader.Result decoded = OcrImageLoader.load(context, uri);
+        Text text = Tasks.await(recognizer.process(decoded.image));
+        List<CorParser.Entry> entries = CorParser.parse(tokens(text));
+
+        Rect textArea = decoded.sampleSize > 1 ? textBounds(text) : null;
+        if (entries.isEmpty() && textArea != null) {
+            OcrImageLoader.Result region = OcrImageLoader.load(context, uri, decoded.toSourceRect(textArea));
+            entries = CorParser.parse(tokens(Tasks.await(recognizer.process(region.image))));
+        }
+        Log.i(TAG, "Page " + uri.getLastPathSegment() + ": sample " + decoded.sampleSize + ", " +
+                entries.size() + " classes");
+        return entries;
+    }
+
+    /**
+     * Flattens recognized text into positioned line tokens for CorParser.
+     * Lines without a bounding box cannot be placed in a row and are skipped.
+     */
+    static List<CorParser.Token> tokens(Text text) {
+        List<CorParser.Token> tokens = new ArrayList<>();
+        for (Text.TextBlock block : text.getTextBlocks()) {
+            for (Text.Line line : block.getLines()) {
+                Rect box = line.getBoundingBox();
+                if (box == null) continue;
+                tokens.add(new CorParser.Token(line.getText(), box.left, box.top, box.right, box.bottom));
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * @return The union of all text block boxes, or null if nothing was recognized.
+     */
+    private static Rect textBounds(Text text) {
+        Rect bounds = null;
+        for (Text.TextBlock block : text.getTextBlocks()) {
+            Rect box = block.getBoundingBox();
+            if (box == null) continue;
+            if (bounds == null) bounds = new Rect(box); else bounds.union(box);
+        }
+        return bounds;
+    }
+
+    /**
+     * @return The page list file of an import, or null if the name is missing or not a plain file name.
+     */
+    private static File pagesFile(Context context, String name) {
+        if (name == null || name.contains(File.separator)) return null;
+        return new File(new File(context.getNoBackupFilesDir(), PAGES_DIR), name);
+    }
+
+    /**
+     * @return The page URIs in the list file, or null if it cannot be read.
+     */
+    private static String[] readPages(File file) {
+        try (InputStream in = new FileInputStream(file)) {
+            byte[] bytes = new byte[(int) file.length()];
+            int read = 0;
+            while (read < bytes.length) {
+                int n = in.read(bytes, read, bytes.length - read);
+                if (n < 0) break;
+                read += n;
+            }
+            String text = new String(bytes, 0, read, StandardCharsets.UTF_8).trim();
+            return text.isEmpty() ? new String[0] : text.split("\n");
+        } catch (IOException e) {
+            Log.e(TAG, "Could not read the COR page list " + file.getName(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Terminal success or failure: deletes the page list, then releases each page's persisted read grant
+     * unless another queued import still lists the same page.
+     */
+    private void finish(File pagesFile, String[] uris) {
+        if (!pagesFile.delete()) Log.w(TAG, "Could not delete " + pagesFile.getName());
+        List<String> stillQueued = new ArrayList<>();
+        File[] others = pagesFile.getParentFile() == null ? null : pagesFile.getParentFile().listFiles();
+        if (others != null) {
+            for (File other : others) {
+                String[] pages = readPages(other);
+                if (pages != null) for (String page : pages) stillQueued.add(page);
+            }
+        }
+        for (String uri : uris) {
+            if (stillQueued.contains(uri)) continue;
+            try {
+                getApplicationContext().getContentResolver().releasePersistableUriPermission(Uri.parse(uri),
+                        Intent.FLAG_GRANT_READ_URI_PERMISSION);
+            } catch (SecurityException e) {
+                // No persisted grant was taken for this page (see ScheduleFragment.importCOR)
+            }
+        }
+    }
+
+    private static Data progress(int done, int total) {
+        return new Data.Builder().putInt(KEY_DONE, done).putInt(KEY_TOTAL, total).build();
+    }
+}
@@ -1,18 +1,29 @@
 package com.prototype.pathfinder.data;
 
-import android.content.ContentValues;
 import android.content.Context;
 import android.database.Cursor;
+import android.database.sqlite.SQLiteConstraintException;
 import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteDoneException;
+import android.database.sqlite.SQLiteStatement;
+import com.prototype.pathfinder.data.DatabaseHelper.AssessmentResults;
+import com.prototype.pathfinder.data.DatabaseHelper.CachedRecommendations;
+import com.prototype.pathfinder.data.DatabaseHelper.CatalogVersion;
+import com.prototype.pathfinder.data.DatabaseHelper.CohortResults;
 import com.prototype.pathfinder.data.DatabaseHelper.Programs;
 import com.prototype.pathfinder.data.DatabaseHelper.TestScores;
 import com.prototype.pathfinder.data.DatabaseHelper.Users;
 import com.prototype.pathfinder.data.DatabaseHelper.Locations;
 import com.prototype.pathfinder.data.DatabaseHelper.Schedules;
+import com.prototype.pathfinder.data.DatabaseHelper.WalkEdges;
+import com.prototype.pathfinder.data.DatabaseHelper.WalkNodes;
+import com.prototype.pathfinder.utils.RecommendationEngine;
+import com.prototype.pathfinder.utils.ScheduleTime;
 
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
@@ -25,30 +36,155 @@ import java.util.HashMap;
  * user authentication, schedule management, and location retrieval.
  */
 public class DBManager {
+    /** Room placeholder used when a COR row has no room yet. */
+    public static final String UNKNOWN_ROOM = "TBA";
+
+    private final Context context;
     private DatabaseHelper dbHelper;
+    private DatabaseLeases.Lease lease;
     private SQLiteDatabase db;
+    private StatementCache statements;
+    private ProgramSnapshot snapshot;
+
+    // Hot SQL is written out once, so every call reuses the same compiled or connection-cached statement.
+    // Read queries list their columns explicitly; rows are read by position (see the *_IDX constants).
+    private static final String SQL_INSERT_USER = "INSERT INTO " + Users.TABLE_NAME + " (" +
+            Users.COLUMN_NAME_USERNAME + ", " + Users.COLUMN_NAME_EMAIL + ", " + Users.COLUMN_NAME_PASSWORD +
+            ") VALUES (?, ?, ?)";
+    private static final String SQL_COUNT_LOGIN = "SELECT COUNT(*) FROM " + Users.TABLE_NAME + " WHERE " +
+            Users.COLUMN_NAME_EMAIL + " = ? AND " + Users.COLUMN_NAME_PASSWORD + " = ?";
+    private static final String SQL_USERNAME = "SELECT " + Users.COLUMN_NAME_USERNAME + " FROM " +
+            Users.TABLE_NAME + " WHERE " + Users.COLUMN_NAME_EMAIL + " = ? LIMIT 1";
+
+    private static final String SQL_SCORES_BY_ID = "SELECT " + TestScores.COLUMN_NAME_QUANT + ", " +
+            TestScores.COLUMN_NAME_VERBAL + ", " + TestScores.COLUMN_NAME_LOGICAL + " FROM " +
+            TestScores.TABLE_NAME + " WHERE " + TestScores.COLUMN_NAME_TEST_ID + " = ?";
+
+    private static final String SQL_ALL_PROGRAMS = "SELECT " + Programs.COLUMN_NAME_NAME + ", " +
+            Programs.COLUMN_NAME_DESC + ", " + Programs.COLUMN_NAME_REQ_QUANT + ", " +
+            Programs.COLUMN_NAME_REQ_VERBAL + ", " + Programs.COLUMN_NAME_REQ_LOGICAL + ", " +
+            Programs.COLUMN_NAME_CAREERS + " FROM " + Programs.TABLE_NAME;
+
+    private static final String SCHEDULE_COLUMNS = Schedules._ID + ", " + Schedules.COL_SUBJECT + ", " +
+            Schedules.COL_ROOM + ", " + Schedules.COL_DAY + ", " + Schedules.COL_TIME + ", " +
+            Schedules.COL_DAY_MASK + ", " + Schedules.COL_START_MINUTE + ", " + Schedules.COL_END_MINUTE;
+    private static final int ID_IDX = 0, SUBJECT_IDX = 1, ROOM_IDX = 2, DAY_IDX = 3, TIME_IDX = 4,
+            DAY_MASK_IDX = 5, START_IDX = 6, END_IDX = 7;
+    private static final String SQL_USER_SCHEDULE = "SELECT " + SCHEDULE_COLUMNS + " FROM " + Schedules.TABLE_NAME +
+            " WHERE " + Schedules.COL_EMAIL + " = ? ORDER BY " + Schedules.COL_START_MINUTE + ", " + Schedules._ID;
+    private static final String SQL_CLASSES_ON_DAY = "SELECT " + SCHEDULE_COLUMNS + " FROM " + Schedules.TABLE_NAME +
+            " WHERE " + Schedules.COL_EMAIL + " = ? AND " + Schedules.COL_START_MINUTE + " BETWEEN ? AND ? AND (" +
+            Schedules.COL_DAY_MASK + " & ?) != 0 ORDER BY " + Schedules.COL_START_MINUTE + ", " + Schedules._ID;
+    private static final String SQL_NEXT_CLASS = "SELECT " + SCHEDULE_COLUMNS + " FROM " + Schedules.TABLE_NAME +
+            " WHERE " + Schedules.COL_EMAIL + " = ? AND " + Schedules.COL_START_MINUTE + " >= ? AND " +
+            Schedules.COL_START_MINUTE + " < " + ScheduleTime.UNKNOWN_MINUTE + " AND (" +
+            Schedules.COL_DAY_MASK + " & ?) != 0 ORDER BY " + Schedules.COL_START_MINUTE + ", " + Schedules._ID +
+            " LIMIT 1";
+    // Keyset pages of one day: rows after (start_minute, _id) of the previous page's last row
+    private static final String SQL_DAY_PAGE = "SELECT " + SCHEDULE_COLUMNS + " FROM " + Schedules.TABLE_NAME +
+            " WHERE " + Schedules.COL_EMAIL + " = ? AND (" + Schedules.COL_DAY_MASK + " & ?) != 0 AND (" +
+            Schedules.COL_START_MINUTE + " > ? OR (" + Schedules.COL_START_MINUTE + " = ? AND " +
+            Schedules._ID + " > ?)) ORDER BY " + Schedules.COL_START_MINUTE + ", " + Schedules._ID + " LIMIT ?";
+    private static final String SQL_UNKNOWN_DAY_PAGE = "SELECT " + SCHEDULE_COLUMNS + " FROM " + Schedules.TABLE_NAME +
+            " WHERE " + Schedules.COL_EMAIL + " = ? AND " + Schedules.COL_DAY_MASK + " = 0 AND (" +
+            Schedules.COL_START_MINUTE + " > ? OR (" + Schedules.COL_START_MINUTE + " = ? AND " +
+            Schedules._ID + " > ?)) ORDER BY " + Schedules.COL_START_MINUTE + ", " + Schedules._ID + " LIMIT ?";
+    private static final String SQL_UPSERT_SCHEDULE = "INSERT OR IGNORE INTO " + Schedules.TABLE_NAME + " (" +
+            Schedules.COL_EMAIL + ", " + Schedules.COL_SUBJECT + ", " + Schedules.COL_ROOM + ", " +
+            Schedules.COL_DAY + ", " + Schedules.COL_TIME + ", " + Schedules.COL_DAY_MASK + ", " +
+            Schedules.COL_START_MINUTE + ", " + Schedules.COL_END_MINUTE + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String SQL_FILL_UNKNOWN_ROOM = "UPDATE " + Schedules.TABLE_NAME + " SET " +
+            Schedules.COL_ROOM + " = ? WHERE " + Schedules.COL_EMAIL + " = ? AND " + Schedules.COL_SUBJECT +
+            " = ? AND " + Schedules.COL_DAY + " = ? AND " + Schedules.COL_TIME + " = ? AND (" +
+            Schedules.COL_ROOM + " IS NULL OR " + Schedules.COL_ROOM + " IN ('', '" + UNKNOWN_ROOM + "'))";
+    private static final String SQL_INSERT_RESULT = "INSERT INTO " + AssessmentResults.TABLE_NAME + " (" +
+            AssessmentResults.COL_EMAIL + ", " + AssessmentResults.COL_RUN_ID + ", " + AssessmentResults.COL_RANK + ", " +
+            AssessmentResults.COL_PROGRAM + ", " + AssessmentResults.COL_MATCH + ", " + AssessmentResults.COL_QUANT + ", " +
+            AssessmentResults.COL_VERBAL + ", " + AssessmentResults.COL_LOGICAL + ", " + AssessmentResults.COL_STORY +
+            ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String RESULT_COLUMNS = AssessmentResults._ID + ", " + AssessmentResults.COL_PROGRAM + ", " +
+            AssessmentResults.COL_MATCH + ", " + AssessmentResults.COL_QUANT + ", " + AssessmentResults.COL_VERBAL + ", " +
+            AssessmentResults.COL_LOGICAL + ", " + AssessmentResults.COL_STORY;
+    private static final int RESULT_ID_IDX = 0, PROGRAM_IDX = 1, MATCH_IDX = 2, QUANT_IDX = 3, VERBAL_IDX = 4,
+            LOGICAL_IDX = 5, STORY_IDX = 6;
+    // Newest run of one user: both the MAX and the rows come from idx_results_user_run
+    private static final String SQL_LATEST_RESULTS = "SELECT " + RESULT_COLUMNS + " FROM " + AssessmentResults.TABLE_NAME +
+            " WHERE " + AssessmentResults.COL_EMAIL + " = ? AND " + AssessmentResults.COL_RUN_ID + " = (SELECT MAX(" +
+            AssessmentResults.COL_RUN_ID + ") FROM " + AssessmentResults.TABLE_NAME + " WHERE " +
+            AssessmentResults.COL_EMAIL + " = ?) ORDER BY " + AssessmentResults.COL_RANK;
+    private static final String SQL_RUN_RESULTS = "SELECT " + RESULT_COLUMNS + " FROM " + AssessmentResults.TABLE_NAME +
+            " WHERE " + AssessmentResults.COL_EMAIL + " = ? AND " + AssessmentResults.COL_RUN_ID + " = ? ORDER BY " +
+            AssessmentResults.COL_RANK;
+    private static final String SQL_RESULT_BY_ID = "SELECT " + RESULT_COLUMNS + " FROM " + AssessmentResults.TABLE_NAME +
+            " WHERE " + AssessmentResults._ID + " = ?";
+    private static final String SQL_CATALOG_VERSION = "SELECT " + CatalogVersion.COL_VERSION + " FROM " +
+            CatalogVersion.TABLE_NAME;
+    // Version of the snapshot the programs table still matches, or -1 (never seeded, or edited since)
+    private static final String SQL_SNAPSHOT_VERSION = "SELECT CASE WHEN " + CatalogVersion.COL_DIVERGED +
+            " THEN -1 ELSE IFNULL(" + CatalogVersion.COL_SNAPSHOT_VERSION + ", -1) END FROM " + CatalogVersion.TABLE_NAME;
+    private static final String SQL_CACHED_RECOMMENDATIONS = "SELECT " + CachedRecommendations.COL_PAYLOAD + " FROM " +
+            CachedRecommendations.TABLE_NAME + " WHERE " + CachedRecommendations.COL_KEY + " = ?";
+    private static final String SQL_PUT_CACHED_RECOMMENDATIONS = "INSERT OR REPLACE INTO " +
+            CachedRecommendations.TABLE_NAME + " (" + CachedRecommendations.COL_KEY + ", " +
+            CachedRecommendations.COL_PAYLOAD + ", " + CachedRecommendations.COL_CREATED + ") VALUES (?, ?, ?)";
+    // A disk hit counts as a use, so trimming drops the least recently used rows
+    private static final String SQL_TOUCH_CACHED_RECOMMENDATIONS = "UPDATE " + CachedRecommendations.TABLE_NAME +
+            " SET " + CachedRecommendations.COL_CREATED + " = ? WHERE " + CachedRecommendations.COL_KEY + " = ?";
+    // Keeps only the MAX_CACHED_RECOMMENDATIONS most recently used rows
+    private static final String SQL_TRIM_CACHED_RECOMMENDATIONS = "DELETE FROM " + CachedRecommendations.TABLE_NAME +
+            " WHERE " + CachedRecommendations.COL_KEY + " NOT IN (SELECT " + CachedRecommendations.COL_KEY + " FROM " +
+            CachedRecommendations.TABLE_NAME + " ORDER BY " + CachedRecommendations.COL_CREATED + " DESC LIMIT ?)";
+    /** Upper bound on rows in the on-disk recommendation cache. */
+    static final int MAX_CACHED_RECOMMENDATIONS = 500;
+    private static final String SQL_UPDATE_SCHEDULE = "UPDATE " + Schedules.TABLE_NAME + " SET " +
+            Schedules.COL_ROOM + " = ?, " + Schedules.COL_DAY + " = ?, " + Schedules.COL_TIME + " = ?, " +
+            Schedules.COL_DAY_MASK + " = ?, " +
+            Schedules.COL_START_MINUTE + " = ?, " + Schedules.COL_END_MINUTE + " = ? WHERE " + Schedules._ID + " = ?";
+
+    private static final String SQL_ROOM_NAMES = "SELECT " + Locations.COL_NAME + " FROM " + Locations.TABLE_NAME;
 
     /**
      * Constructor
-     * @param context Application context required to initialize DatabaseHelper.
+     * @param context Context used to reach the shared DatabaseHelper.
      */
     public DBManager(Context context) {
-        dbHelper = new DatabaseHelper(context);
+        this.context = context;
     }
 
     /**
-     * Opens the database connection in write mode.
+     * Constructor for tests that work on their own database file instead of the shared one.
+     * @param helper The helper whose connection this manager uses.
+     */
+    DBManager(DatabaseHelper helper) {
+        this.context = null;
+        this.dbHelper = helper;
+    }
+
+    /**
+     * Attaches to the shared, application-scoped database connection.
+     * Only the first open() in the process touches the database file.
      * Must be called before performing queries.
      */
     public void open() {
+        if (db != null) return;
+        if (dbHelper == null) dbHelper = DatabaseHelper.getInstance(context);
+        lease = dbHelper.acquire(this);
         db = dbHelper.getWritableDatabase();
+        statements = new StatementCache(db);
+        snapshot = dbHelper.programSnapshot();
     }
 
     /**
-     * Closes the database connection to prevent leaks.
+     * Releases this manager's lease on the shared connection.
+     * The connection itself stays open; a manager collected without close() is logged as a leak.
      */
     public void close() {
-        if (db != null) db.close();
+        if (db == null) return;
+        statements.close();
+        statements = null;
+        dbHelper.release(lease);
+        lease = null;
+        db = null;
     }
 
     // --- User Methods ---
@@ -65,12 +201,13 @@ public class DBManager {
     public boolean registerUser(String username, String email, String password) {
         try {
             String hashedPw = hashPassword(password);
-            ContentValues values = new ContentValues();
-            values.put(Users.COLUMN_NAME_USERNAME, username);
-            values.put(Users.COLUMN_NAME_EMAIL, email);
-            values.put(Users.COLUMN_NAME_PASSWORD, hashedPw);
-            long id = db.insert(Users.TABLE_NAME, null, values);
-            return id > 0;
+            SQLiteStatement insert = statements.get(SQL_INSERT_USER);
+            synchronized (insert) {
+                insert.bindString(1, username);
+                insert.bindString(2, email);
+                insert.bindString(3, hashedPw);
+                return insert.executeInsert() > 0;
+            }
         } catch (Exception e) {
             return false;
         }
@@ -86,12 +223,12 @@ public class DBManager {
      */
     public boolean loginUser(String email, String password) {
         String hashedPw = hashPassword(password);
-        Cursor cursor = db.query(Users.TABLE_NAME, new String[]{Users._ID},
-                Users.COLUMN_NAME_EMAIL + "=? AND " + Users.COLUMN_NAME_PASSWORD + "=?",
-                new String[]{email, hashedPw}, null, null, null);
-        boolean valid = cursor.getCount() > 0;
-        cursor.close();
-        return valid;
+        SQLiteStatement count = statements.get(SQL_COUNT_LOGIN);
+        synchronized (count) {
+            count.bindString(1, email);
+            count.bindString(2, hashedPw);
+            return count.simpleQueryForLong() > 0;
+        }
     }
 
     /**
@@ -101,14 +238,15 @@ public class DBManager {
      * @return The username if found, otherwise returns "Student".
      */
     public String getUsername(String email) {
-        Cursor cursor = db.query(Users.TABLE_NAME, new String[]{Users.COLUMN_NAME_USERNAME},
-                Users.COLUMN_NAME_EMAIL + "=?", new String[]{email}, null, null, null);
-        if (cursor != null && cursor.moveToFirst()) {
-            String username = cursor.getString(0);
-            cursor.close();
-            return username;
+        SQLiteStatement query = statements.get(SQL_USERNAME);
+        synchronized (query) {
+            query.bindString(1, email);
+            try {
+                return query.simpleQueryForString();
+            } catch (SQLiteDoneException e) {
+                return "Student"; // No such user
+            }
         }
-        return "Student";
     }
 
     /**
@@ -117,7 +255,7 @@ public class DBManager {
      * @param password The plain text password.
      * @return The hexadecimal string representation of the hashed password.
      */
-    private String hashPassword(String password) {
+    static String hashPassword(String password) {
         try {
             MessageDigest md = MessageDigest.getInstance("SHA-256");
             byte[] hashedBytes = md.digest(password.getBytes());
@@ -139,18 +277,270 @@ public class DBManager {
      */
     public Map<String, Integer> getScoresById(String testId) {
         Map<String, Integer> scores = new HashMap<>();
-        Cursor cursor = db.query(TestScores.TABLE_NAME, null,
-                TestScores.COLUMN_NAME_TEST_ID + "=?",
-                new String[]{testId}, null, null, null);
+        Cursor cursor = db.rawQuery(SQL_SCORES_BY_ID, new String[]{testId});
         if (cursor.moveToFirst()) {
-            scores.put("quant", cursor.getInt(cursor.getColumnIndex(TestScores.COLUMN_NAME_QUANT)));
-            scores.put("verbal", cursor.getInt(cursor.getColumnIndex(TestScores.COLUMN_NAME_VERBAL)));
-            scores.put("logical", cursor.getInt(cursor.getColumnIndex(TestScores.COLUMN_NAME_LOGICAL)));
+            scores.put("quant", cursor.getInt(0));
+            scores.put("verbal", cursor.getInt(1));
+            scores.put("logical", cursor.getInt(2));
         }
         cursor.close();
         return scores;
     }
 
+    /**
+     * Retrieves every row of the TestScores table in a single cursor pass.
+     * Scores are copied into primitive columns for batch scoring.
+     *
+     * @return A CohortScores snapshot of the whole table.
+     */
+    public CohortScores getAllScores() {
+        Cursor cursor = db.query(TestScores.TABLE_NAME, null, null, null, null, null, null);
+        int n = cursor.getCount();
+        String[] ids = new String[n];
+        int[] quant = new int[n];
+        int[] verbal = new int[n];
+        int[] logical = new int[n];
+
+        int iId = cursor.getColumnIndex(TestScores.COLUMN_NAME_TEST_ID);
+        int iQuant = cursor.getColumnIndex(TestScores.COLUMN_NAME_QUANT);
+        int iVerbal = cursor.getColumnIndex(TestScores.COLUMN_NAME_VERBAL);
+        int iLogical = cursor.getColumnIndex(TestScores.COLUMN_NAME_LOGICAL);
+
+        int row = 0;
+        while (cursor.moveToNext() && row < n) {
+            ids[row] = cursor.getString(iId);
+            quant[row] = cursor.getInt(iQuant);
+            verbal[row] = cursor.getInt(iVerbal);
+            logical[row] = cursor.getInt(iLogical);
+            row++;
+        }
+        cursor.close();
+        return new CohortScores(ids, quant, verbal, logical);
+    }
+
+    // --- Cohort Results Methods ---
+
+    /**
+     * Replaces the contents of the CohortResults table with a new batch scoring run.
+     * Rows are written to a staging table through one compiled statement, committing every
+     * {@code batchSize} students so a large cohort does not hold a single huge transaction.
+     * One short final transaction then renames the staging table over the old one, so readers see
+     * either the previous run or the complete new one; a run that fails part-way leaves the old results.
+     *
+     * @param cohort The scored cohort (provides the test IDs).
+     * @param programNames Program names indexed by catalog row.
+     * @param k Number of results stored per student.
+     * @param counts Number of valid results per student.
+     * @param topIndex Catalog row of each result, laid out as [student * k + rank].
+     * @param topScore Match percent of each result, same layout as topIndex.
+     * @param batchSize Number of students committed per transaction.
+     */
+    public void saveCohortResults(CohortScores cohort, String[] programNames, int k,
+                                  int[] counts, int[] topIndex, int[] topScore, int batchSize) {
+        // Leftovers of an interrupted run are discarded
+        db.execSQL("DROP TABLE IF EXISTS " + CohortResults.STAGING_TABLE);
+        db.execSQL(DatabaseHelper.createCohortResults(CohortResults.STAGING_TABLE));
+        SQLiteStatement insert = db.compileStatement("INSERT INTO " + CohortResults.STAGING_TABLE + " (" +
+                CohortResults.COL_TEST_ID + ", " + CohortResults.COL_RANK + ", " +
+                CohortResults.COL_PROGRAM + ", " + CohortResults.COL_MATCH + ") VALUES (?, ?, ?, ?)");
+        try {
+            int n = cohort.size();
+            for (int start = 0; start < n; start += batchSize) {
+                int end = Math.min(n, start + batchSize);
+                db.beginTransaction();
+                try {
+                    for (int s = start; s < end; s++) {
+                        for (int r = 0; r < counts[s]; r++) {
+                            int slot = s * k + r;
+                            insert.bindString(1, cohort.testIds[s]);
+                            insert.bindLong(2, r + 1);
+                            insert.bindString(3, programNames[topIndex[slot]]);
+                            insert.bindLong(4, topScore[slot]);
+                            insert.executeInsert();
+                        }
+                    }
+                    db.setTransactionSuccessful();
+                } finally {
+                    db.endTransaction();
+                }
+            }
+        } finally {
+            insert.close();
+        }
+
+        db.beginTransaction();
+        try {
+            db.execSQL("DROP TABLE " + CohortResults.TABLE_NAME);
+            db.execSQL("ALTER TABLE " + CohortResults.STAGING_TABLE + " RENAME TO " + CohortResults.TABLE_NAME);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    // --- Assessment Results Methods ---
+
+    /**
+     * Stores one assessment run of a user; earlier runs are kept as history.
+     * All rows are written in one transaction through a compiled statement, and each
+     * recommendation's id is set to its new row ID (so it can be passed around by ID).
+     *
+     * @param email The user's email.
+     * @param runId Identifies the run (the time the survey finished, in epoch millis); newer runs have larger IDs.
+     * @param recs The recommendations of the run, best match first.
+     * @return true if every row was stored; false (nothing stored) if the run ID already exists.
+     */
+    public boolean saveResults(String email, long runId, List<RecommendationEngine.Recommendation> recs) {
+        SQLiteStatement insert = statements.get(SQL_INSERT_RESULT);
+        synchronized (insert) {
+            db.beginTransaction();
+            try {
+                for (int i = 0; i < recs.size(); i++) {
+                    RecommendationEngine.Recommendation r = recs.get(i);
+                    insert.bindString(1, email);
+                    insert.bindLong(2, runId);
+                    insert.bindLong(3, i + 1);
+                    insert.bindString(4, r.program);
+                    insert.bindLong(5, r.matchPercent);
+                    insert.bindLong(6, r.radarValues[0]);
+                    insert.bindLong(7, r.radarValues[1]);
+                    insert.bindLong(8, r.radarValues[2]);
+                    insert.bindBlob(9, StoryCodec.encode(r.storyWhy, r.storyHistory, r.storyCareers,
+                            r.itemInsight, r.hardestLogical));
+                    long id = insert.executeInsert();
+                    if (id == -1) return false;
+                    r.id = id;
+                }
+                db.setTransactionSuccessful();
+                return true;
+            } catch (SQLiteConstraintException e) {
+                // This run ID is already stored for the user
+                return false;
+            } finally {
+                db.endTransaction();
+            }
+        }
+    }
+
+    /**
+     * Retrieves the most recent assessment run of a user with a single indexed query.
+     *
+     * @param email The user's email.
+     * @return The run's recommendations, best match first (empty if the user has none).
+     */
+    public List<RecommendationEngine.Recommendation> getLatestResults(String email) {
+        return readResults(db.rawQuery(SQL_LATEST_RESULTS, new String[]{email, email}));
+    }
+
+    /**
+     * Retrieves one stored assessment run of a user.
+     *
+     * @param email The user's email.
+     * @param runId The run ID passed to saveResults.
+     * @return The run's recommendations, best match first (empty if it was not stored).
+     */
+    public List<RecommendationEngine.Recommendation> getResults(String email, long runId) {
+        return readResults(db.rawQuery(SQL_RUN_RESULTS, new String[]{email, String.valueOf(runId)}));
+    }
+
+    /**
+     * Retrieves one stored recommendation by its primary key.
+     *
+     * @param id The results row ID (Recommendation.id).
+     * @return The recommendation with its full story, or null if no such row exists.
+     */
+    public RecommendationEngine.Recommendation getResult(long id) {
+        List<RecommendationEngine.Recommendation> rows =
+                readResults(db.rawQuery(SQL_RESULT_BY_ID, new String[]{String.valueOf(id)}));
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    /**
+     * Maps result rows to Recommendations (columns by position in RESULT_COLUMNS) and closes the cursor.
+     */
+    private List<RecommendationEngine.Recommendation> readResults(Cursor cursor) {
+        List<RecommendationEngine.Recommendation> list = new ArrayList<>(cursor.getCount());
+        while (cursor.moveToNext()) {
+            String[] story = StoryCodec.decode(cursor.getBlob(STORY_IDX));
+            RecommendationEngine.Recommendation r = new RecommendationEngine.Recommendation(
+                    cursor.getString(PROGRAM_IDX),
+                    cursor.getInt(MATCH_IDX),
+                    story[StoryCodec.WHY], story[StoryCodec.HISTORY], story[StoryCodec.CAREERS],
+                    story[StoryCodec.INSIGHT], story[StoryCodec.HARDEST],
+                    cursor.getInt(QUANT_IDX), cursor.getInt(VERBAL_IDX), cursor.getInt(LOGICAL_IDX));
+            r.id = cursor.getLong(RESULT_ID_IDX);
+            list.add(r);
+        }
+        cursor.close();
+        return list;
+    }
+
+    // --- Recommendation Cache Methods ---
+
+    /**
+     * Reads the catalog version, which triggers on the Programs table bump on every insert, update or delete.
+     *
+     * @return The current catalog version.
+     */
+    public long getCatalogVersion() {
+        SQLiteStatement query = statements.get(SQL_CATALOG_VERSION);
+        synchronized (query) {
+            return query.simpleQueryForLong();
+        }
+    }
+
+    /**
+     * Looks up the on-disk tier of RecommendationCache.
+     * A hit refreshes the row's timestamp, so the tier is trimmed least recently used first.
+     *
+     * @param key A key from RecommendationCache.key.
+     * @return The stored payload, or null if the key is not cached.
+     */
+    public byte[] getCachedRecommendations(String key) {
+        byte[] payload;
+        Cursor cursor = db.rawQuery(SQL_CACHED_RECOMMENDATIONS, new String[]{key});
+        try {
+            payload = cursor.moveToFirst() ? cursor.getBlob(0) : null;
+        } finally {
+            cursor.close();
+        }
+        if (payload != null) {
+            SQLiteStatement touch = statements.get(SQL_TOUCH_CACHED_RECOMMENDATIONS);
+            synchronized (touch) {
+                touch.bindLong(1, System.currentTimeMillis());
+                touch.bindString(2, key);
+                touch.executeUpdateDelete();
+            }
+        }
+        return payload;
+    }
+
+    /**
+     * Stores a payload in the on-disk tier of RecommendationCache, replacing any row with the same key,
+     * and drops the least recently used rows beyond MAX_CACHED_RECOMMENDATIONS.
+     *
+     * @param key A key from RecommendationCache.key.
+     * @param payload The encoded recommendations.
+     */
+    public void putCachedRecommendations(String key, byte[] payload) {
+        SQLiteStatement insert = statements.get(SQL_PUT_CACHED_RECOMMENDATIONS);
+        SQLiteStatement trim = statements.get(SQL_TRIM_CACHED_RECOMMENDATIONS);
+        synchronized (insert) {
+            db.beginTransaction();
+            try {
+                insert.bindString(1, key);
+                insert.bindBlob(2, payload);
+                insert.bindLong(3, System.currentTimeMillis());
+                insert.executeInsert();
+                trim.bindLong(1, MAX_CACHED_RECOMMENDATIONS);
+                trim.executeUpdateDelete();
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+        }
+    }
+
     // --- Programs Methods ---
 
     /**
@@ -159,26 +549,78 @@ public class DBManager {
      * @return A List of Program objects containing name, description, and skill weights.
      */
     public List<Program> getAllPrograms() {
-        List<Program> programs = new ArrayList<>();
-        Cursor cursor = db.query(Programs.TABLE_NAME, null, null, null, null, null, null);
+        Cursor cursor = db.rawQuery(SQL_ALL_PROGRAMS, null);
+        List<Program> programs = new ArrayList<>(cursor.getCount());
         while (cursor.moveToNext()) {
-            Program p = new Program(
-                    cursor.getString(cursor.getColumnIndex(Programs.COLUMN_NAME_NAME)),
-                    cursor.getString(cursor.getColumnIndex(Programs.COLUMN_NAME_DESC)),
-                    cursor.getDouble(cursor.getColumnIndex(Programs.COLUMN_NAME_REQ_QUANT)),
-                    cursor.getDouble(cursor.getColumnIndex(Programs.COLUMN_NAME_REQ_VERBAL)),
-                    cursor.getDouble(cursor.getColumnIndex(Programs.COLUMN_NAME_REQ_LOGICAL))
-            );
-            programs.add(p);
+            // Columns in SQL_ALL_PROGRAMS order
+            programs.add(new Program(cursor.getString(0), cursor.getString(1),
+                    cursor.getDouble(2), cursor.getDouble(3), cursor.getDouble(4), cursor.getString(5)));
         }
         cursor.close();
         return programs;
     }
 
+    /**
+     * Retrieves all academic programs as primitive columns for batch scoring.
+     * While the programs table still holds exactly the bundled catalog, this is the memory-mapped
+     * ProgramSnapshot: nothing is queried or copied. Once the table was edited (or holds another catalog)
+     * the table is read instead (see queryProgramCatalog). Seeding happens in DatabaseHelper.onOpen.
+     *
+     * @return A ProgramCatalog holding the names, descriptions, skill weights and careers.
+     */
+    public ProgramCatalog getProgramCatalog() {
+        if (snapshot != null && snapshotVersion() == snapshot.version()) return snapshot.catalog();
+        return queryProgramCatalog();
+    }
+
+    private long snapshotVersion() {
+        SQLiteStatement query = statements.get(SQL_SNAPSHOT_VERSION);
+        synchronized (query) {
+            return query.simpleQueryForLong();
+        }
+    }
+
+    /**
+     * Reads all academic programs from the table into primitive columns.
+     * Column indices are resolved once and rows are copied straight into arrays,
+     * so no Program objects are created.
+     */
+    ProgramCatalog queryProgramCatalog() {
+        Cursor cursor = db.query(Programs.TABLE_NAME, null, null, null, null, null, null);
+        int n = cursor.getCount();
+        String[] names = new String[n];
+        String[] descs = new String[n];
+        double[] quant = new double[n];
+        double[] verbal = new double[n];
+        double[] logical = new double[n];
+        String[] careers = new String[n];
+
+        int iName = cursor.getColumnIndex(Programs.COLUMN_NAME_NAME);
+        int iDesc = cursor.getColumnIndex(Programs.COLUMN_NAME_DESC);
+        int iQuant = cursor.getColumnIndex(Programs.COLUMN_NAME_REQ_QUANT);
+        int iVerbal = cursor.getColumnIndex(Programs.COLUMN_NAME_REQ_VERBAL);
+        int iLogical = cursor.getColumnIndex(Programs.COLUMN_NAME_REQ_LOGICAL);
+        int iCareers = cursor.getColumnIndex(Programs.COLUMN_NAME_CAREERS);
+
+        int row = 0;
+        while (cursor.moveToNext() && row < n) {
+            names[row] = cursor.getString(iName);
+            descs[row] = cursor.getString(iDesc);
+            quant[row] = cursor.getDouble(iQuant);
+            verbal[row] = cursor.getDouble(iVerbal);
+            logical[row] = cursor.getDouble(iLogical);
+            careers[row] = cursor.getString(iCareers);
+            row++;
+        }
+        cursor.close();
+        return new ProgramCatalog(names, descs, quant, verbal, logical, careers);
+    }
+
     // --- Schedule Methods ---
 
     /**
      * Adds a new class schedule entry for a user.
+     * The day bitmask and start/end minutes are computed here, once, from the day and time strings.
      *
      * @param email The email of the user owning this schedule.
      * @param subject The subject code/name.
@@ -187,38 +629,184 @@ public class DBManager {
      * @param time The time slot string.
      */
     public void addSchedule(String email, String subject, String room, String day, String time) {
-        ContentValues values = new ContentValues();
-        values.put(Schedules.COL_EMAIL, email);
-        values.put(Schedules.COL_SUBJECT, subject);
-        values.put(Schedules.COL_ROOM, room);
-        values.put(Schedules.COL_DAY, day);
-        values.put(Schedules.COL_TIME, time);
-        db.insert(Schedules.TABLE_NAME, null, values);
+        // The class may already be scheduled (unique subject/day/time per user); then nothing is inserted
+        SQLiteStatement insert = statements.get(SQL_UPSERT_SCHEDULE);
+        synchronized (insert) {
+            bindScheduleInsert(insert, email, subject, room, day, time);
+            insert.executeInsert();
+        }
+    }
+
+    /**
+     * Idempotently adds several schedule entries for a user, in one transaction through compiled statements.
+     * A class already on the schedule (same subject, day and time) is left as is, so re-importing a COR
+     * is a no-op; the only change applied to it is filling in a room that was still unknown ("TBA" or empty).
+     * Only subject, room, day and time of each item are used; the parsed columns are computed here.
+     *
+     * @param email The email of the user owning these entries.
+     * @param items The entries to add.
+     * @return The number of new rows inserted.
+     */
+    public int upsertSchedules(String email, List<ScheduleItem> items) {
+        SQLiteStatement insert = statements.get(SQL_UPSERT_SCHEDULE);
+        SQLiteStatement fillRoom = statements.get(SQL_FILL_UNKNOWN_ROOM);
+        int inserted = 0;
+        synchronized (insert) {
+            synchronized (fillRoom) {
+                db.beginTransaction();
+                try {
+                    for (ScheduleItem item : items) {
+                        bindScheduleInsert(insert, email, item.subject, item.room, item.day, item.time);
+                        if (insert.executeInsert() != -1) {
+                            inserted++;
+                        } else if (item.room != null && !item.room.isEmpty() && !UNKNOWN_ROOM.equals(item.room)
+                                && item.subject != null && item.day != null && item.time != null) {
+                            // Existing class: only an unknown room is filled in
+                            fillRoom.bindString(1, item.room);
+                            fillRoom.bindString(2, email);
+                            fillRoom.bindString(3, item.subject);
+                            fillRoom.bindString(4, item.day);
+                            fillRoom.bindString(5, item.time);
+                            fillRoom.executeUpdateDelete();
+                        }
+                    }
+                    db.setTransactionSuccessful();
+                } finally {
+                    db.endTransaction();
+                }
+            }
+        }
+        return inserted;
+    }
+
+    /**
+     * Binds one row of SQL_UPSERT_SCHEDULE, computing the parsed day/time columns from the free text.
+     */
+    private static void bindScheduleInsert(SQLiteStatement insert, String email, String subject,
+                                           String room, String day, String time) {
+        insert.bindString(1, email);
+        bindOrNull(insert, 2, subject);
+        bindOrNull(insert, 3, room);
+        bindOrNull(insert, 4, day);
+        bindOrNull(insert, 5, time);
+        insert.bindLong(6, ScheduleTime.dayMask(day));
+        insert.bindLong(7, ScheduleTime.startMinute(time));
+        insert.bindLong(8, ScheduleTime.endMinute(time));
+    }
+
+    private static void bindOrNull(SQLiteStatement statement, int index, String value) {
+        if (value == null) statement.bindNull(index); else statement.bindString(index, value);
     }
 
     /**
      * Retrieves the list of schedule items for a specific user.
      * Includes the database row ID for potential updates/deletions.
+     * Rows come back ordered by start time via the (user_email, start_minute) index.
      *
      * @param email The user's email.
      * @return A List of ScheduleItem objects.
      */
     public List<ScheduleItem> getUserSchedule(String email) {
-        List<ScheduleItem> list = new ArrayList<>();
-        // We select all columns (null), which includes _ID
-        Cursor cursor = db.query(Schedules.TABLE_NAME, null,
-                Schedules.COL_EMAIL + "=?", new String[]{email}, null, null, null);
+        // SCHEDULE_COLUMNS includes _ID
+        return readScheduleItems(db.rawQuery(SQL_USER_SCHEDULE, new String[]{email}));
+    }
 
-        while (cursor.moveToNext()) {
-            // Retrieve the unique ID for the row
-            long id = cursor.getLong(cursor.getColumnIndex(Schedules._ID));
+    /**
+     * Reads the next page of a user's schedule in display order (see SchedulePage).
+     * Each day is read through the (user_email, start_minute) index from where the previous page stopped;
+     * a page continues into the following days until it holds {@code limit} rows.
+     *
+     * @param email The user's email.
+     * @param from Where to start: SchedulePage.Key.FIRST or the previous page's next key.
+     * @param limit Maximum number of rows in the page.
+     * @return The page; its next key is null once the whole schedule has been read.
+     */
+    public SchedulePage getSchedulePage(String email, SchedulePage.Key from, int limit) {
+        List<ScheduleItem> items = new ArrayList<>(limit);
+        int[] days = new int[limit];
+        int day = from.day, afterStart = from.afterStart;
+        long afterId = from.afterId;
+
+        while (day <= ScheduleTime.UNKNOWN_DAY && items.size() < limit) {
+            int wanted = limit - items.size();
+            String start = String.valueOf(afterStart), id = String.valueOf(afterId), max = String.valueOf(wanted);
+            List<ScheduleItem> rows = day < ScheduleTime.UNKNOWN_DAY
+                    ? readScheduleItems(db.rawQuery(SQL_DAY_PAGE, new String[]{email,
+                            String.valueOf(ScheduleTime.dayBit(day)), start, start, id, max}))
+                    : readScheduleItems(db.rawQuery(SQL_UNKNOWN_DAY_PAGE, new String[]{email, start, start, id, max}));
+            for (ScheduleItem row : rows) {
+                days[items.size()] = day;
+                items.add(row);
+            }
+
+            if (rows.size() < wanted) {
+                // Day finished; the next one starts from its first row
+                day++;
+                afterStart = Integer.MIN_VALUE;
+                afterId = 0;
+            } else {
+                ScheduleItem last = rows.get(rows.size() - 1);
+                afterStart = last.startMinute;
+                afterId = last.id;
+            }
+        }
+
+        SchedulePage.Key next = new SchedulePage.Key(day, afterStart, afterId);
+        return new SchedulePage(items, Arrays.copyOf(days, items.size()), next.isPastEnd() ? null : next);
+    }
+
+    /**
+     * Retrieves a user's classes on one day that start within a time window.
+     * Served by the (user_email, start_minute) index; the day is matched against the bitmask.
+     *
+     * @param email The user's email.
+     * @param day Day index (Mon = 0 ... Sun = 6).
+     * @param fromMinute Earliest start minute (inclusive).
+     * @param toMinute Latest start minute (inclusive).
+     * @return Matching ScheduleItems ordered by start time.
+     */
+    public List<ScheduleItem> getClassesOnDay(String email, int day, int fromMinute, int toMinute) {
+        return readScheduleItems(db.rawQuery(SQL_CLASSES_ON_DAY, new String[]{email,
+                String.valueOf(fromMinute), String.valueOf(toMinute), String.valueOf(ScheduleTime.dayBit(day))}));
+    }
 
+    /**
+     * Finds the user's next class at or after a given moment, looking ahead up to one week.
+     * The last pass (offset 7) is today again from midnight, so a class that meets only today,
+     * earlier than now, is found as next week's.
+     *
+     * @param email The user's email.
+     * @param day Current day index (Mon = 0 ... Sun = 6).
+     * @param minute Current minute since midnight.
+     * @return The next ScheduleItem, or null if the user has no timed classes.
+     */
+    public ScheduleItem getNextClass(String email, int day, int minute) {
+        for (int offset = 0; offset <= ScheduleTime.DAYS_PER_WEEK; offset++) {
+            int d = (day + offset) % ScheduleTime.DAYS_PER_WEEK;
+            int from = offset == 0 ? minute : 0;
+            List<ScheduleItem> next = readScheduleItems(db.rawQuery(SQL_NEXT_CLASS,
+                    new String[]{email, String.valueOf(from), String.valueOf(ScheduleTime.dayBit(d))}));
+            if (!next.isEmpty()) return next.get(0);
+        }
+        return null;
+    }
+
+    /**
+     * Reads every row of a SCHEDULE_COLUMNS cursor into ScheduleItems and closes the cursor.
+     * Columns are read by their fixed position in SCHEDULE_COLUMNS; nothing is looked up per row.
+     */
+    private List<ScheduleItem> readScheduleItems(Cursor cursor) {
+        List<ScheduleItem> list = new ArrayList<>(cursor.getCount());
+        while (cursor.moveToNext()) {
             list.add(new ScheduleItem(
-                    id,
-                    cursor.getString(cursor.getColumnIndex(Schedules.COL_SUBJECT)),
-                    cursor.getString(cursor.getColumnIndex(Schedules.COL_ROOM)),
-                    cursor.getString(cursor.getColumnIndex(Schedules.COL_DAY)),
-                    cursor.getString(cursor.getColumnIndex(Schedules.COL_TIME))
+                    cursor.getLong(ID_IDX),
+                    cursor.getString(SUBJECT_IDX),
+                    cursor.getString(ROOM_IDX),
+                    cursor.getString(DAY_IDX),
+                    cursor.getString(TIME_IDX),
+                    cursor.getInt(DAY_MASK_IDX),
+                    cursor.getInt(START_IDX),
+                    cursor.getInt(END_IDX)
             ));
         }
         cursor.close();
@@ -227,22 +815,33 @@ public class DBManager {
 
     /**
      * Updates the details (Room, Day, Time) of a specific schedule entry.
+     * Recomputes the parsed day/time columns so indexed lookups stay correct.
      *
      * @param id The database primary key ID of the schedule row.
      * @param newRoom The new room name.
      * @param newDay The new day of the week.
      * @param newTime The new time slot.
-     * @return true if the update affected at least one row, false otherwise.
+     * @return true if the update affected at least one row, false otherwise
+     *         (including when the same subject is already scheduled at the new day and time).
      */
     public boolean updateScheduleDetails(long id, String newRoom, String newDay, String newTime) {
-        ContentValues values = new ContentValues();
-        values.put(Schedules.COL_ROOM, newRoom);
-        values.put(Schedules.COL_DAY, newDay);
-        values.put(Schedules.COL_TIME, newTime);
-
-        // Update where _ID equals the provided id
-        int rows = db.update(Schedules.TABLE_NAME, values, Schedules._ID + "=?", new String[]{String.valueOf(id)});
-        return rows > 0;
+        SQLiteStatement update = statements.get(SQL_UPDATE_SCHEDULE);
+        synchronized (update) {
+            bindOrNull(update, 1, newRoom);
+            bindOrNull(update, 2, newDay);
+            bindOrNull(update, 3, newTime);
+            update.bindLong(4, ScheduleTime.dayMask(newDay));
+            update.bindLong(5, ScheduleTime.startMinute(newTime));
+            update.bindLong(6, ScheduleTime.endMinute(newTime));
+            // Update where _ID equals the provided id
+            update.bindLong(7, id);
+            try {
+                return update.executeUpdateDelete() > 0;
+            } catch (SQLiteConstraintException e) {
+                // The same subject is already scheduled on that day and time
+                return false;
+            }
+        }
     }
 
     // --- Location Methods ---
@@ -255,7 +854,7 @@ public class DBManager {
      */
     public List<String> getAllRoomNames() {
         List<String> list = new ArrayList<>();
-        Cursor cursor = db.query(Locations.TABLE_NAME, new String[]{Locations.COL_NAME}, null, null, null, null, null);
+        Cursor cursor = db.rawQuery(SQL_ROOM_NAMES, null);
         while(cursor.moveToNext()){
             list.add(cursor.getString(0));
         }
@@ -263,25 +862,81 @@ public class DBManager {
         return list;
     }
 
+    /**
+     * Retrieves every campus location in a single cursor pass.
+     * Prefer {@link LocationIndex#get(DBManager)}, which caches this result for the process.
+     *
+     * @return All rows of the Locations table, in insertion order.
+     */
+    public List<LocationItem> getAllLocations() {
+        Cursor cursor = db.query(Locations.TABLE_NAME,
+                new String[]{Locations._ID, Locations.COL_NAME, Locations.COL_LAT, Locations.COL_LNG, Locations.COL_DESC},
+                null, null, null, null, Locations._ID);
+        List<LocationItem> list = new ArrayList<>(cursor.getCount());
+        while (cursor.moveToNext()) {
+            list.add(new LocationItem(cursor.getLong(0), cursor.getString(1),
+                    cursor.getDouble(2), cursor.getDouble(3), cursor.getString(4)));
+        }
+        cursor.close();
+        return list;
+    }
+
     /**
      * Retrieves detailed location data (Lat, Lng, Description) for a specific room name.
+     * Served from the in-memory LocationIndex; only the first lookup in the process queries the table.
      *
      * @param roomName The name of the room/building to query.
      * @return A LocationItem object if found, or null if not found.
      */
     public LocationItem getLocation(String roomName) {
-        Cursor cursor = db.query(Locations.TABLE_NAME, null, Locations.COL_NAME + "=?", new String[]{roomName}, null, null, null);
-        LocationItem loc = null;
-        if (cursor.moveToFirst()) {
-            loc = new LocationItem(
-                    cursor.getString(cursor.getColumnIndex(Locations.COL_NAME)),
-                    cursor.getDouble(cursor.getColumnIndex(Locations.COL_LAT)),
-                    cursor.getDouble(cursor.getColumnIndex(Locations.COL_LNG)),
-                    cursor.getString(cursor.getColumnIndex(Locations.COL_DESC))
-            );
+        return LocationIndex.get(this).find(roomName);
+    }
+
+    // --- Walkway Methods ---
+
+    /**
+     * Loads the whole walkway network (one cursor pass per table) into a routable graph.
+     *
+     * @return The walkway graph; empty if no walkways are stored.
+     */
+    public WalkwayGraph getWalkwayGraph() {
+        Cursor nodes = db.query(WalkNodes.TABLE_NAME,
+                new String[]{WalkNodes._ID, WalkNodes.COL_LAT, WalkNodes.COL_LNG, WalkNodes.COL_LOCATION_ID},
+                null, null, null, null, null);
+        int n = nodes.getCount();
+        long[] ids = new long[n];
+        double[] lat = new double[n];
+        double[] lng = new double[n];
+        long[] locationIds = new long[n];
+        int row = 0;
+        while (nodes.moveToNext() && row < n) {
+            ids[row] = nodes.getLong(0);
+            lat[row] = nodes.getDouble(1);
+            lng[row] = nodes.getDouble(2);
+            locationIds[row] = nodes.isNull(3) ? -1 : nodes.getLong(3);
+            row++;
         }
-        cursor.close();
-        return loc;
+        nodes.close();
+
+        Cursor edges = db.query(WalkEdges.TABLE_NAME,
+                new String[]{WalkEdges.COL_FROM, WalkEdges.COL_TO, WalkEdges.COL_COST, WalkEdges.COL_ONE_WAY},
+                null, null, null, null, null);
+        int m = edges.getCount();
+        long[] from = new long[m];
+        long[] to = new long[m];
+        float[] cost = new float[m];
+        boolean[] oneWay = new boolean[m];
+        row = 0;
+        while (edges.moveToNext() && row < m) {
+            from[row] = edges.getLong(0);
+            to[row] = edges.getLong(1);
+            cost[row] = edges.getFloat(2);
+            oneWay[row] = edges.getInt(3) != 0;
+            row++;
+        }
+        edges.close();
+
+        return new WalkwayGraph(ids, lat, lng, locationIds, from, to, cost, oneWay);
     }
 
     // --- Data Classes ---
@@ -292,21 +947,31 @@ public class DBManager {
     public static class Program {
         public String name, desc;
         public double reqQuant, reqVerbal, reqLogical;
+        public String careers; // Newline-separated, null if the program has none on record
         public Program(String n, String d, double q, double v, double l) {
-            name = n; desc = d; reqQuant = q; reqVerbal = v; reqLogical = l;
+            this(n, d, q, v, l, null);
+        }
+        public Program(String n, String d, double q, double v, double l, String c) {
+            name = n; desc = d; reqQuant = q; reqVerbal = v; reqLogical = l; careers = c;
         }
     }
 
     /**
      * POJO class representing a Schedule Entry.
-     * Includes the database ID for identification.
+     * Includes the database ID for identification and the parsed day/time columns.
      */
     public static class ScheduleItem {
         public long id;
         public String subject, room, day, time;
-        public ScheduleItem(long id, String s, String r, String d, String t) {
+        public int dayMask, startMinute, endMinute;
+        public ScheduleItem(long id, String s, String r, String d, String t, int mask, int start, int end) {
             this.id = id;
             subject = s; room = r; day = d; time = t;
+            dayMask = mask; startMinute = start; endMinute = end;
+        }
+        public ScheduleItem(long id, String s, String r, String d, String t) {
+            this(id, s, r, d, t, ScheduleTime.dayMask(d),
+                    ScheduleTime.startMinute(t), ScheduleTime.endMinute(t));
         }
     }
 
@@ -314,10 +979,15 @@ public class DBManager {
      * POJO class representing a Geographic Location on campus.
      */
     public static class LocationItem {
+        public long id;
         public String name, desc;
         public double lat, lng;
-        public LocationItem(String n, double la, double lo, String d) {
+        public LocationItem(long id, String n, double la, double lo, String d) {
+            this.id = id;
             name = n; lat = la; lng = lo; desc = d;
         }
+        public LocationItem(String n, double la, double lo, String d) {
+            this(-1, n, la, lo, d);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,364 @@
+package com.prototype.pathfinder.data;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.prototype.pathfinder.utils.CampusRouter;
+import com.prototype.pathfinder.utils.RecommendationCache;
+import com.prototype.pathfinder.utils.RecommendationEngine;
+import com.prototype.pathfinder.utils.RouteCache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * DataRepository
+ * <p>
+ * Asynchronous facade over DBManager so screens never touch the database on the main thread.
+ * Workflow:
+ * 1. Every call is queued on a small, bounded I/O executor shared by the whole app.
+ * 2. The underlying DBManager is opened lazily on that executor (opening is disk I/O too).
+ * 3. Results are posted back to the main thread through a Callback.
+ * 4. After close(), pending results are dropped so callbacks never reach a destroyed screen.
+ */
+public class DataRepository {
+    private static final String TAG = "DataRepository";
+    private static final int IO_THREADS = 2;
+
+    private static final ExecutorService IO_EXECUTOR = createIoExecutor();
+    private static final Handler MAIN_HANDLER = new Handler(Looper.getMainLooper());
+
+    // Walkway router shared by the whole process (landmark tables are costly to rebuild)
+    private static volatile CampusRouter router;
+
+    private final DBManager dbManager;
+    // Tasks hold the read lock while using the database; close() takes the write lock
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private boolean opened = false;
+    private volatile boolean closed = false;
+
+    /**
+     * Result listener invoked on the main thread.
+     * @param <T> Result type.
+     */
+    public interface Callback<T> {
+        void onResult(T result);
+    }
+
+    /**
+     * Constructor
+     * @param context Any context; only the application context is retained.
+     */
+    public DataRepository(Context context) {
+        dbManager = new DBManager(context.getApplicationContext());
+    }
+
+    /**
+     * @return The shared bounded executor used for database and other disk work.
+     */
+    public static ExecutorService ioExecutor() {
+        return IO_EXECUTOR;
+    }
+
+    /**
+     * Stops delivering results and closes the database once queued work has finished.
+     * Call from onDestroy of the owning screen.
+     */
+    public void close() {
+        closed = true;
+        IO_EXECUTOR.execute(() -> {
+            lock.writeLock().lock();
+            try {
+                if (opened) dbManager.close();
+                opened = false;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    // --- User Methods ---
+
+    public Future<Boolean> loginUser(String email, String password, Callback<Boolean> callback) {
+        return submit(() -> dbManager.loginUser(email, password), callback);
+    }
+
+    public Future<Boolean> registerUser(String username, String email, String password, Callback<Boolean> callback) {
+        return submit(() -> dbManager.registerUser(username, email, password), callback);
+    }
+
+    public Future<String> getUsername(String email, Callback<String> callback) {
+        return submit(() -> dbManager.getUsername(email), callback);
+    }
+
+    // --- TestScores / Recommendation Methods ---
+
+    public Future<Map<String, Integer>> getScoresById(String testId, Callback<Map<String, Integer>> callback) {
+        return submit(() -> dbManager.getScoresById(testId), callback);
+    }
+
+    public Future<List<RecommendationEngine.Recommendation>> computeRecommendations(
+            String testId, Map<String, Integer> surveyScores,
+            Callback<List<RecommendationEngine.Recommendation>> callback) {
+        return submit(() -> new RecommendationEngine(dbManager, RecommendationCache.shared())
+                .computeRecommendations(testId, surveyScores), callback);
+    }
+
+    /**
+     * Computes recommendations and stores them as run runId in the user's history, in one background task,
+     * so every delivered recommendation already has its result ID (see DBManager.saveResults).
+     * If that run is already stored (the activity was recreated), the stored run is delivered instead.
+     * If storing fails the recommendations are still delivered, with id 0.
+     */
+    public Future<List<RecommendationEngine.Recommendation>> computeAndSaveResults(
+            String email, long runId, String testId, Map<String, Integer> surveyScores,
+            Callback<List<RecommendationEngine.Recommendation>> callback) {
+        return submit(() -> {
+            List<RecommendationEngine.Recommendation> saved = dbManager.getResults(email, runId);
+            if (!saved.isEmpty()) return saved;
+            List<RecommendationEngine.Recommendation> recs = new RecommendationEngine(dbManager,
+                    RecommendationCache.shared()).computeRecommendations(testId, surveyScores);
+            if (!recs.isEmpty() && !dbManager.saveResults(email, runId, recs)) {
+                for (RecommendationEngine.Recommendation r : recs) r.id = 0;
+            }
+            return recs;
+        }, callback);
+    }
+
+    /**
+     * Reads one stored recommendation with its story (see DBManager.getResult).
+     */
+    public Future<RecommendationEngine.Recommendation> getResult(long id,
+                                                                 Callback<RecommendationEngine.Recommendation> callback) {
+        return submit(() -> dbManager.getResult(id), callback);
+    }
+
+    /**
+     * Reads the user's most recent assessment run (see DBManager.getLatestResults).
+     */
+    public Future<List<RecommendationEngine.Recommendation>> getLatestResults(
+            String email, Callback<List<RecommendationEngine.Recommendation>> callback) {
+        return submit(() -> dbManager.getLatestResults(email), callback);
+    }
+
+    // --- Schedule Methods ---
+
+    /**
+     * Reads the next page of a user's schedule in display order (see DBManager.getSchedulePage).
+     */
+    public Future<SchedulePage> getSchedulePage(String email, SchedulePage.Key from, int limit,
+                                                Callback<SchedulePage> callback) {
+        return submit(() -> dbManager.getSchedulePage(email, from, limit), callback);
+    }
+
+    /**
+     * Idempotently adds several schedule entries for a user in one transaction (see DBManager.upsertSchedules).
+     * Only subject, room, day and time of each item are used.
+     */
+    public Future<Integer> upsertSchedules(String email, List<DBManager.ScheduleItem> items, Callback<Integer> callback) {
+        return submit(() -> dbManager.upsertSchedules(email, items), callback);
+    }
+
+    public Future<Boolean> updateScheduleDetails(long id, String newRoom, String newDay, String newTime,
+                                                 Callback<Boolean> callback) {
+        return submit(() -> dbManager.updateScheduleDetails(id, newRoom, newDay, newTime), callback);
+    }
+
+    // --- Location Methods ---
+
+    public Future<List<String>> getAllRoomNames(Callback<List<String>> callback) {
+        return submit(dbManager::getAllRoomNames, callback);
+    }
+
+    /**
+     * Loads every campus location (name, coordinates, description).
+     * Served from the process-wide LocationIndex; only the first call queries the table.
+     */
+    public Future<List<DBManager.LocationItem>> getAllLocations(Callback<List<DBManager.LocationItem>> callback) {
+        return submit(() -> LocationIndex.get(dbManager).all(), callback);
+    }
+
+    /**
+     * Loads the location snapshot with its spatial grid already built (for the map).
+     */
+    public Future<LocationIndex> getLocationIndex(Callback<LocationIndex> callback) {
+        return submit(() -> {
+            LocationIndex index = LocationIndex.get(dbManager);
+            index.grid();
+            return index;
+        }, callback);
+    }
+
+    // --- Routing Methods ---
+
+    /**
+     * Routes on foot from a coordinate (e.g., the user's GPS fix) to a location.
+     * The start is snapped to the nearest walkway node.
+     *
+     * @param toLocationId Locations._id of the destination.
+     * @param callback Receives the polyline points (start coordinate first), or null if no route exists.
+     */
+    public Future<double[]> routeFrom(double lat, double lng, long toLocationId, Callback<double[]> callback) {
+        return submit(() -> {
+            CampusRouter r = getRouter(dbManager);
+            int from = r.getGraph().nearestNode(lat, lng);
+            int to = r.getGraph().nodeForLocation(toLocationId);
+            CampusRouter.Route route = r.route(from, to);
+            if (route == null) return null;
+
+            double[] path = toPolyline(r.getGraph(), route);
+            double[] points = new double[path.length + 2];
+            points[0] = lat;
+            points[1] = lng;
+            System.arraycopy(path, 0, points, 2, path.length);
+            return points;
+        }, callback);
+    }
+
+    /**
+     * Routes between two locations, going through the shared RouteCache.
+     *
+     * @param callback Receives the polyline points, or null if no route exists.
+     */
+    public Future<double[]> routeBetween(long fromLocationId, long toLocationId, Callback<double[]> callback) {
+        return submit(() -> cachedRoute(fromLocationId, toLocationId), callback);
+    }
+
+    /**
+     * Precomputes the route between every pair of consecutive classes on each day,
+     * so tapping "navigate" on a class can draw the walk from the previous one without any computation.
+     * Pairs already in the RouteCache are skipped, so calling this again after loading more rows is cheap.
+     *
+     * @param days One list per day, each holding that day's classes ordered by start minute.
+     * @param callback Receives the number of newly computed routes (may be null).
+     */
+    public Future<Integer> precomputeRoutes(List<List<DBManager.ScheduleItem>> days, Callback<Integer> callback) {
+        return submit(() -> {
+            LocationIndex index = LocationIndex.get(dbManager);
+            RouteCache cache = RouteCache.shared();
+            int computed = 0;
+            for (List<DBManager.ScheduleItem> day : days) {
+                DBManager.LocationItem prev = null;
+                for (DBManager.ScheduleItem item : day) {
+                    DBManager.LocationItem loc = index.find(item.room);
+                    if (prev != null && loc != null && prev.id != loc.id && !cache.contains(prev.id, loc.id)) {
+                        if (cachedRoute(prev.id, loc.id) != null) computed++;
+                    }
+                    prev = loc;
+                }
+            }
+            return computed;
+        }, callback);
+    }
+
+    /**
+     * Returns a route from the cache, computing and caching it on a miss. Call on the I/O executor.
+     */
+    private double[] cachedRoute(long fromLocationId, long toLocationId) {
+        RouteCache cache = RouteCache.shared();
+        double[] points = cache.get(fromLocationId, toLocationId);
+        if (points != null) return points;
+
+        CampusRouter r = getRouter(dbManager);
+        CampusRouter.Route route = r.routeBetweenLocations(fromLocationId, toLocationId);
+        if (route == null) return null;
+        points = toPolyline(r.getGraph(), route);
+        cache.put(fromLocationId, toLocationId, points);
+        return points;
+    }
+
+    /**
+     * Returns the process-wide router, loading the walkway graph on first use.
+     * Call on the I/O executor.
+     */
+    static CampusRouter getRouter(DBManager mgr) {
+        CampusRouter local = router;
+        if (local == null) {
+            synchronized (DataRepository.class) {
+                local = router;
+                if (local == null) {
+                    local = new CampusRouter(mgr.getWalkwayGraph());
+                    router = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    /**
+     * Flattens a route into [lat0, lng0, lat1, lng1, ...].
+     */
+    private static double[] toPolyline(WalkwayGraph graph, CampusRouter.Route route) {
+        double[] points = new double[route.nodes.length * 2];
+        for (int i = 0; i < route.nodes.length; i++) {
+            points[2 * i] = graph.lat[route.nodes[i]];
+            points[2 * i + 1] = graph.lng[route.nodes[i]];
+        }
+        return points;
+    }
+
+    // --- Internals ---
+
+    /**
+     * Queues work on the I/O executor and posts its result to the main thread.
+     * Exceptions are logged and reported as a null result.
+     */
+    private <T> Future<T> submit(Callable<T> work, Callback<T> callback) {
+        FutureTask<T> task = new FutureTask<>(() -> {
+            T result = null;
+            lock.readLock().lock();
+            try {
+                if (closed) return null;
+                ensureOpen();
+                result = work.call();
+            } catch (Exception e) {
+                Log.e(TAG, "Database task failed", e);
+            } finally {
+                lock.readLock().unlock();
+            }
+            deliver(callback, result);
+            return result;
+        });
+        IO_EXECUTOR.execute(task);
+        return task;
+    }
+
+    private <T> void deliver(Callback<T> callback, T result) {
+        if (callback == null || closed) return;
+        MAIN_HANDLER.post(() -> {
+            if (!closed) callback.onResult(result);
+        });
+    }
+
+    private synchronized void ensureOpen() {
+        if (!opened) {
+            dbManager.open();
+            opened = true;
+        }
+    }
+
+    private static ExecutorService createIoExecutor() {
+        AtomicInteger count = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(IO_THREADS, IO_THREADS,
+                30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                r -> {
+                    Thread t = new Thread(r, "pathfinder-io-" + count.incrementAndGet());
+                    t.setPriority(Thread.NORM_PRIORITY - 1);
+                    return t;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -1,9 +1,14 @@
 package com.prototype.pathfinder.data;
 
 import android.content.Context;
+import android.database.DatabaseUtils;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteStatement;
 import android.provider.BaseColumns;
+import android.util.Log;
+
+import com.prototype.pathfinder.BuildConfig;
 
 /**
  * DatabaseHelper
@@ -11,11 +16,22 @@ import android.provider.BaseColumns;
  * This class manages the database creation and version management.
  * It defines the table schemas (Contracts) and handles the initial
  * population of data for Tests, Programs, and Locations.
+ * <p>
+ * One instance is shared by the whole process (see {@link #getInstance(Context)}) and its
+ * connection stays open for the lifetime of the application, in write-ahead logging mode
+ * so readers are not blocked by an active writer.
  */
 public class DatabaseHelper extends SQLiteOpenHelper {
+    private static final String TAG = "DatabaseHelper";
+
     // Database Info
-    private static final String DATABASE_NAME = "pathfinder_v2.db";
-    private static final int DATABASE_VERSION = 3; // Incremented Version to force upgrade path
+    static final String DATABASE_NAME = "pathfinder_v2.db";
+    static final int DATABASE_VERSION = 13; // See DatabaseMigrations for the per-version changes
+
+    private static volatile DatabaseHelper instance;
+
+    private final DatabaseLeases leases = new DatabaseLeases();
+    private final Context context;
 
     // --- EXISTING TABLES CONTRACTS ---
 
@@ -54,6 +70,8 @@ public class DatabaseHelper extends SQLiteOpenHelper {
         public static final String COLUMN_NAME_REQ_QUANT = "req_quant_weight";
         public static final String COLUMN_NAME_REQ_VERBAL = "req_verbal_weight";
         public static final String COLUMN_NAME_REQ_LOGICAL = "req_logical_weight";
+        // Newline-separated career titles shown on the results screen (NULL = generic text)
+        public static final String COLUMN_NAME_CAREERS = "careers";
     }
 
     // --- LOCATIONS TABLE (Updated for CMU) ---
@@ -83,6 +101,111 @@ public class DatabaseHelper extends SQLiteOpenHelper {
         public static final String COL_ROOM = "room_name";
         public static final String COL_DAY = "day_of_week";
         public static final String COL_TIME = "time_slot";
+        // Databases upgraded through v5 also have a legacy sort_key column, no longer written or read.
+        // Ordering uses (start_minute, _id); the column stays because SQLite before 3.35 cannot drop it.
+        // Normalized form of day_of_week / time_slot
+        public static final String COL_DAY_MASK = "day_mask"; // bit 0 = Mon ... bit 6 = Sun
+        // Minutes since midnight; ScheduleTime.UNKNOWN_MINUTE when the time slot cannot be parsed
+        public static final String COL_START_MINUTE = "start_minute";
+        public static final String COL_END_MINUTE = "end_minute";
+        public static final String INDEX_USER_START = "idx_schedules_user_start";
+        // One row per class: (user_email, subject_code, day_of_week, time_slot)
+        public static final String INDEX_UNIQUE_CLASS = "idx_schedules_unique_class";
+    }
+
+    // --- COHORT RESULTS TABLE ---
+
+    /**
+     * Schema definition for Cohort Results.
+     * Stores the top-K program matches per test ID produced by batch scoring.
+     */
+    public static abstract class CohortResults implements BaseColumns {
+        public static final String TABLE_NAME = "cohort_results";
+        public static final String COL_TEST_ID = "test_id"; // Reference to TestScores
+        public static final String COL_RANK = "rank"; // 1 = best match
+        public static final String COL_PROGRAM = "program_name";
+        public static final String COL_MATCH = "match_percent";
+        // Same schema; DBManager.saveCohortResults fills it in batches, then renames it over TABLE_NAME
+        public static final String STAGING_TABLE = "cohort_results_staging";
+    }
+
+    // --- ASSESSMENT RESULTS TABLE ---
+
+    /**
+     * Schema definition for Assessment Results.
+     * Stores every assessment a user has taken: one row per recommended program, grouped by run.
+     */
+    public static abstract class AssessmentResults implements BaseColumns {
+        public static final String TABLE_NAME = "results";
+        public static final String COL_EMAIL = "user_email"; // Foreign key-like reference to Users
+        public static final String COL_RUN_ID = "run_id"; // Time the assessment finished (epoch millis)
+        public static final String COL_RANK = "rank"; // 1 = best match
+        public static final String COL_PROGRAM = "program_name";
+        public static final String COL_MATCH = "match_percent";
+        public static final String COL_QUANT = "quant"; // Test scores shown on the radar chart
+        public static final String COL_VERBAL = "verbal";
+        public static final String COL_LOGICAL = "logical";
+        public static final String COL_STORY = "story"; // Narrative fields, encoded by StoryCodec
+        // One row per (user, run, rank); newest run of a user is found by a single index seek
+        public static final String INDEX_USER_RUN = "idx_results_user_run";
+    }
+
+    // --- RECOMMENDATION CACHE TABLES ---
+
+    /**
+     * Single-row counter bumped by triggers whenever the Programs table changes.
+     * Cached recommendations are only valid for the catalog version they were computed from.
+     */
+    public static abstract class CatalogVersion {
+        public static final String TABLE_NAME = "catalog_version";
+        public static final String COL_VERSION = "version";
+        // ProgramSnapshot.version the programs table was last seeded from (NULL = never)
+        public static final String COL_SNAPSHOT_VERSION = "snapshot_version";
+        // 1 once the programs table was edited after seeding; scoring then reads the table, not the snapshot
+        public static final String COL_DIVERGED = "programs_diverged";
+        // AFTER INSERT / UPDATE / DELETE ON programs: bump the version, mark the table diverged, clear the cache table
+        public static final String TRIGGER_INSERT = "trg_programs_insert";
+        public static final String TRIGGER_UPDATE = "trg_programs_update";
+        public static final String TRIGGER_DELETE = "trg_programs_delete";
+    }
+
+    /**
+     * Schema definition for the on-disk tier of RecommendationCache.
+     * One row per (test scores, quantized survey, catalog version) key.
+     */
+    public static abstract class CachedRecommendations {
+        public static final String TABLE_NAME = "recommendation_cache";
+        public static final String COL_KEY = "cache_key"; // See RecommendationCache.key
+        public static final String COL_PAYLOAD = "payload"; // Encoded by RecommendationCache
+        // Epoch millis of the last write or disk hit; least recently used rows are trimmed first
+        public static final String COL_CREATED = "created_at";
+    }
+
+    // --- WALKWAY GRAPH TABLES ---
+
+    /**
+     * Schema definition for Walkway Nodes.
+     * Junctions and building entrances of the campus walking network.
+     */
+    public static abstract class WalkNodes implements BaseColumns {
+        public static final String TABLE_NAME = "walk_nodes";
+        public static final String COL_LAT = "latitude";
+        public static final String COL_LNG = "longitude";
+        public static final String COL_LOCATION_ID = "location_id"; // Locations._id for entrances, NULL for junctions
+        public static final String COL_LEVEL = "level"; // Floor for indoor nodes, 0 = ground
+        public static final String INDEX_LOCATION = "idx_walk_nodes_location";
+    }
+
+    /**
+     * Schema definition for Walkway Edges.
+     * Walkable segments between two nodes with their cost.
+     */
+    public static abstract class WalkEdges implements BaseColumns {
+        public static final String TABLE_NAME = "walk_edges";
+        public static final String COL_FROM = "from_node"; // WalkNodes._id
+        public static final String COL_TO = "to_node"; // WalkNodes._id
+        public static final String COL_COST = "cost_m"; // Walking cost in meters
+        public static final String COL_ONE_WAY = "one_way"; // 1 = only from_node -> to_node
     }
 
     // --- SQL CREATE STATEMENTS ---
@@ -105,7 +228,8 @@ public class DatabaseHelper extends SQLiteOpenHelper {
             Programs.COLUMN_NAME_DESC + " TEXT, " +
             Programs.COLUMN_NAME_REQ_QUANT + " REAL, " +
             Programs.COLUMN_NAME_REQ_VERBAL + " REAL, " +
-            Programs.COLUMN_NAME_REQ_LOGICAL + " REAL);";
+            Programs.COLUMN_NAME_REQ_LOGICAL + " REAL, " +
+            Programs.COLUMN_NAME_CAREERS + " TEXT);";
 
     private static final String SQL_CREATE_LOCATIONS = "CREATE TABLE " + Locations.TABLE_NAME + " (" +
             Locations._ID + " INTEGER PRIMARY KEY AUTOINCREMENT, " +
@@ -120,14 +244,235 @@ public class DatabaseHelper extends SQLiteOpenHelper {
             Schedules.COL_SUBJECT + " TEXT, " +
             Schedules.COL_ROOM + " TEXT, " +
             Schedules.COL_DAY + " TEXT, " +
-            Schedules.COL_TIME + " TEXT);";
+            Schedules.COL_TIME + " TEXT, " +
+            Schedules.COL_DAY_MASK + " INTEGER NOT NULL DEFAULT 0, " +
+            Schedules.COL_START_MINUTE + " INTEGER NOT NULL DEFAULT -1, " +
+            Schedules.COL_END_MINUTE + " INTEGER NOT NULL DEFAULT -1);";
+
+    private static final String SQL_CREATE_SCHEDULES_START_INDEX = "CREATE INDEX IF NOT EXISTS " +
+            Schedules.INDEX_USER_START + " ON " + Schedules.TABLE_NAME + " (" +
+            Schedules.COL_EMAIL + ", " + Schedules.COL_START_MINUTE + ");";
+
+    private static final String SQL_CREATE_SCHEDULES_UNIQUE_INDEX = "CREATE UNIQUE INDEX IF NOT EXISTS " +
+            Schedules.INDEX_UNIQUE_CLASS + " ON " + Schedules.TABLE_NAME + " (" +
+            Schedules.COL_EMAIL + ", " + Schedules.COL_SUBJECT + ", " + Schedules.COL_DAY + ", " + Schedules.COL_TIME + ");";
+
+    private static final String SQL_CREATE_COHORT_RESULTS = createCohortResults(CohortResults.TABLE_NAME);
+
+    private static final String SQL_CREATE_ASSESSMENT_RESULTS = "CREATE TABLE " + AssessmentResults.TABLE_NAME + " (" +
+            AssessmentResults._ID + " INTEGER PRIMARY KEY AUTOINCREMENT, " +
+            AssessmentResults.COL_EMAIL + " TEXT NOT NULL, " +
+            AssessmentResults.COL_RUN_ID + " INTEGER NOT NULL, " +
+            AssessmentResults.COL_RANK + " INTEGER NOT NULL, " +
+            AssessmentResults.COL_PROGRAM + " TEXT NOT NULL, " +
+            AssessmentResults.COL_MATCH + " INTEGER NOT NULL, " +
+            AssessmentResults.COL_QUANT + " INTEGER NOT NULL, " +
+            AssessmentResults.COL_VERBAL + " INTEGER NOT NULL, " +
+            AssessmentResults.COL_LOGICAL + " INTEGER NOT NULL, " +
+            AssessmentResults.COL_STORY + " BLOB NOT NULL);";
+
+    private static final String SQL_CREATE_ASSESSMENT_RESULTS_INDEX = "CREATE UNIQUE INDEX IF NOT EXISTS " +
+            AssessmentResults.INDEX_USER_RUN + " ON " + AssessmentResults.TABLE_NAME + " (" +
+            AssessmentResults.COL_EMAIL + ", " + AssessmentResults.COL_RUN_ID + ", " + AssessmentResults.COL_RANK + ");";
+
+    private static final String SQL_CREATE_CATALOG_VERSION = "CREATE TABLE " + CatalogVersion.TABLE_NAME + " (" +
+            CatalogVersion.COL_VERSION + " INTEGER NOT NULL, " +
+            CatalogVersion.COL_SNAPSHOT_VERSION + " INTEGER, " +
+            CatalogVersion.COL_DIVERGED + " INTEGER NOT NULL DEFAULT 0);";
+
+    private static final String SQL_INIT_CATALOG_VERSION = "INSERT INTO " + CatalogVersion.TABLE_NAME + " (" +
+            CatalogVersion.COL_VERSION + ") VALUES (0);";
+
+    private static final String SQL_CREATE_CACHED_RECOMMENDATIONS = "CREATE TABLE " + CachedRecommendations.TABLE_NAME + " (" +
+            CachedRecommendations.COL_KEY + " TEXT PRIMARY KEY, " +
+            CachedRecommendations.COL_PAYLOAD + " BLOB NOT NULL, " +
+            CachedRecommendations.COL_CREATED + " INTEGER NOT NULL);";
+
+    private static final String[] SQL_CREATE_CATALOG_TRIGGERS = {
+            catalogTrigger(CatalogVersion.TRIGGER_INSERT, "INSERT"),
+            catalogTrigger(CatalogVersion.TRIGGER_UPDATE, "UPDATE"),
+            catalogTrigger(CatalogVersion.TRIGGER_DELETE, "DELETE")
+    };
+
+    private static String catalogTrigger(String name, String event) {
+        return "CREATE TRIGGER IF NOT EXISTS " + name + " AFTER " + event + " ON " + Programs.TABLE_NAME + " BEGIN " +
+                "UPDATE " + CatalogVersion.TABLE_NAME + " SET " + CatalogVersion.COL_VERSION + " = " +
+                CatalogVersion.COL_VERSION + " + 1, " + CatalogVersion.COL_DIVERGED + " = 1; " +
+                "DELETE FROM " + CachedRecommendations.TABLE_NAME + "; END;";
+    }
+
+    private static final String SQL_INSERT_PROGRAM = "INSERT INTO " + Programs.TABLE_NAME + " (" +
+            Programs._ID + ", " + Programs.COLUMN_NAME_NAME + ", " + Programs.COLUMN_NAME_DESC + ", " +
+            Programs.COLUMN_NAME_REQ_QUANT + ", " + Programs.COLUMN_NAME_REQ_VERBAL + ", " +
+            Programs.COLUMN_NAME_REQ_LOGICAL + ", " + Programs.COLUMN_NAME_CAREERS + ") VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    /**
+     * @param table CohortResults.TABLE_NAME, or its STAGING_TABLE.
+     * @return The CREATE TABLE statement of a cohort results table with that name.
+     */
+    static String createCohortResults(String table) {
+        return "CREATE TABLE " + table + " (" +
+                CohortResults.COL_TEST_ID + " TEXT NOT NULL, " +
+                CohortResults.COL_RANK + " INTEGER NOT NULL, " +
+                CohortResults.COL_PROGRAM + " TEXT, " +
+                CohortResults.COL_MATCH + " INTEGER, " +
+                "PRIMARY KEY (" + CohortResults.COL_TEST_ID + ", " + CohortResults.COL_RANK + "));";
+    }
+
+    /**
+     * Replaces the programs table with the rows of a snapshot (row i gets _id i + 1) and records the
+     * snapshot's version, clearing the diverged flag. Runs inside the caller's transaction; the triggers
+     * clear cached recommendations.
+     *
+     * @param db The writeable database, in a transaction.
+     * @param snapshot The compiled catalog.
+     */
+    static void seedPrograms(SQLiteDatabase db, ProgramSnapshot snapshot) {
+        db.execSQL("DELETE FROM " + Programs.TABLE_NAME);
+        ProgramCatalog catalog = snapshot.catalog();
+        SQLiteStatement insert = db.compileStatement(SQL_INSERT_PROGRAM);
+        try {
+            for (int i = 0; i < catalog.size(); i++) {
+                String careers = catalog.careers(i);
+                insert.bindLong(1, i + 1);
+                insert.bindString(2, catalog.name(i));
+                insert.bindString(3, catalog.desc(i));
+                insert.bindDouble(4, catalog.reqQuant.get(i));
+                insert.bindDouble(5, catalog.reqVerbal.get(i));
+                insert.bindDouble(6, catalog.reqLogical.get(i));
+                if (careers == null) insert.bindNull(7); else insert.bindString(7, careers);
+                insert.executeInsert();
+            }
+        } finally {
+            insert.close();
+        }
+        db.execSQL("UPDATE " + CatalogVersion.TABLE_NAME + " SET " + CatalogVersion.COL_SNAPSHOT_VERSION + " = " +
+                snapshot.version() + ", " + CatalogVersion.COL_DIVERGED + " = 0");
+    }
+
+    private static final String SQL_CREATE_WALK_NODES = "CREATE TABLE " + WalkNodes.TABLE_NAME + " (" +
+            WalkNodes._ID + " INTEGER PRIMARY KEY AUTOINCREMENT, " +
+            WalkNodes.COL_LAT + " REAL NOT NULL, " +
+            WalkNodes.COL_LNG + " REAL NOT NULL, " +
+            WalkNodes.COL_LOCATION_ID + " INTEGER, " +
+            WalkNodes.COL_LEVEL + " INTEGER NOT NULL DEFAULT 0);";
+
+    private static final String SQL_CREATE_WALK_NODES_LOCATION_INDEX = "CREATE INDEX IF NOT EXISTS " +
+            WalkNodes.INDEX_LOCATION + " ON " + WalkNodes.TABLE_NAME + " (" + WalkNodes.COL_LOCATION_ID + ");";
+
+    private static final String SQL_CREATE_WALK_EDGES = "CREATE TABLE " + WalkEdges.TABLE_NAME + " (" +
+            WalkEdges._ID + " INTEGER PRIMARY KEY AUTOINCREMENT, " +
+            WalkEdges.COL_FROM + " INTEGER NOT NULL, " +
+            WalkEdges.COL_TO + " INTEGER NOT NULL, " +
+            WalkEdges.COL_COST + " REAL NOT NULL, " +
+            WalkEdges.COL_ONE_WAY + " INTEGER NOT NULL DEFAULT 0);";
+
+    /**
+     * Walkway network seeded in v7: one entrance node per seeded CMU location plus junctions
+     * along the main paths. Entrances resolve their location by name so existing installs link correctly.
+     * Shared by onCreate and the v6 -> v7 migration; treat as frozen once released.
+     */
+    static final String[] SQL_SEED_WALKWAYS_V7 = {
+            // Entrances (nodes 1 - 6)
+            "INSERT INTO walk_nodes VALUES (1, 7.864722, 125.050833, (SELECT _id FROM locations WHERE room_name = 'Admin Building'), 0);",
+            "INSERT INTO walk_nodes VALUES (2, 7.8655, 125.0518, (SELECT _id FROM locations WHERE room_name = 'CAS Building'), 0);",
+            "INSERT INTO walk_nodes VALUES (3, 7.8640, 125.0525, (SELECT _id FROM locations WHERE room_name = 'ICS Building'), 0);",
+            "INSERT INTO walk_nodes VALUES (4, 7.8615, 125.0485, (SELECT _id FROM locations WHERE room_name = 'University Hospital'), 0);",
+            "INSERT INTO walk_nodes VALUES (5, 7.8625, 125.0500, (SELECT _id FROM locations WHERE room_name = 'University Gym'), 0);",
+            "INSERT INTO walk_nodes VALUES (6, 7.8650, 125.0510, (SELECT _id FROM locations WHERE room_name = 'Main Library'), 0);",
+            // Junctions (nodes 7 - 11)
+            "INSERT INTO walk_nodes VALUES (7, 7.8645, 125.0508, NULL, 0);", // Oval junction
+            "INSERT INTO walk_nodes VALUES (8, 7.8652, 125.0515, NULL, 0);", // North path
+            "INSERT INTO walk_nodes VALUES (9, 7.8642, 125.0518, NULL, 0);", // East path
+            "INSERT INTO walk_nodes VALUES (10, 7.8630, 125.0502, NULL, 0);", // South road
+            "INSERT INTO walk_nodes VALUES (11, 7.8620, 125.0492, NULL, 0);", // Hospital road
+            // Two-way walkways, cost = walking distance in meters
+            "INSERT INTO walk_edges (from_node, to_node, cost_m) VALUES (1, 7, 25.0);",
+            "INSERT INTO walk_edges (from_node, to_node, cost_m) VALUES (6, 7, 59.8);",
+            "INSERT INTO walk_edges (from_node, to_node, cost_m) VALUES (6, 8, 59.4);",
+            "INSERT INTO walk_edges (from_node, to_node, cost_m) VALUES (8, 2, 47.0);",
+            "INSERT INTO walk_edges (from_node, to_node, cost_m) VALUES (7, 8, 109.6);",
+            "INSERT INTO walk_edges (from_node, to_node, cost_m) VALUES (7, 9, 115.1);",
+            "INSERT INTO walk_edges (from_node, to_node, cost_m) VALUES (9, 8, 116.0);",
+            "INSERT INTO walk_edges (from_node, to_node, cost_m) VALUES (9, 3, 80.2);",
+            "INSERT INTO walk_edges (from_node, to_node, cost_m) VALUES (7, 10, 179.4);",
+            "INSERT INTO walk_edges (from_node, to_node, cost_m) VALUES (10, 5, 59.8);",
+            "INSERT INTO walk_edges (from_node, to_node, cost_m) VALUES (10, 11, 156.5);",
+            "INSERT INTO walk_edges (from_node, to_node, cost_m) VALUES (11, 4, 95.1);"
+    };
 
     /**
-     * Constructor
+     * Returns the process-wide helper, creating it on first use.
+     * The database file itself is only opened on the first {@link #acquire(Object)}.
+     *
+     * @param context Any context; only the application context is retained.
+     * @return The shared helper.
+     */
+    public static DatabaseHelper getInstance(Context context) {
+        DatabaseHelper local = instance;
+        if (local == null) {
+            synchronized (DatabaseHelper.class) {
+                local = instance;
+                if (local == null) {
+                    local = new DatabaseHelper(context.getApplicationContext(), DATABASE_NAME);
+                    instance = local;
+                }
+            }
+        }
+        return local;
+    }
+
+    /**
+     * Constructor for a database file other than the default (used by migration tests).
+     * Production code should use {@link #getInstance(Context)}.
      * @param context Application context
+     * @param name Database file name
+     */
+    DatabaseHelper(Context context, String name) {
+        super(context, name, null, DATABASE_VERSION);
+        this.context = context;
+        setWriteAheadLoggingEnabled(true);
+    }
+
+    /**
+     * @return The compiled program catalog bundled with the app, or null if it could not be mapped (release builds).
+     * @throws IllegalStateException In debug builds, if the snapshot could not be mapped; the programs table
+     * is seeded only from it, so a broken build must not get past the first launch.
+     */
+    ProgramSnapshot programSnapshot() {
+        ProgramSnapshot snapshot = ProgramSnapshot.shared(context);
+        if (snapshot == null && BuildConfig.DEBUG) {
+            throw new IllegalStateException(ProgramSnapshot.ASSET + " could not be mapped; check the " +
+                    "compileProgramCatalog task output and that the asset is stored uncompressed");
+        }
+        return snapshot;
+    }
+
+    /**
+     * Opens (once) and returns the shared connection, recording a lease for the owner.
+     *
+     * @param owner The object that will use the connection; referenced weakly for leak detection.
+     * @return The lease to pass to {@link #release(DatabaseLeases.Lease)}.
+     */
+    DatabaseLeases.Lease acquire(Object owner) {
+        getWritableDatabase();
+        return leases.acquire(owner);
+    }
+
+    /**
+     * Ends a lease. The connection itself stays open for the rest of the process.
+     *
+     * @param lease The lease returned by acquire.
      */
-    public DatabaseHelper(Context context) {
-        super(context, DATABASE_NAME, null, DATABASE_VERSION);
+    void release(DatabaseLeases.Lease lease) {
+        leases.release(lease);
+    }
+
+    /**
+     * @return The number of open DBManager leases (for diagnostics and tests).
+     */
+    int activeLeaseCount() {
+        return leases.activeCount();
     }
 
     /**
@@ -142,6 +487,18 @@ public class DatabaseHelper extends SQLiteOpenHelper {
         db.execSQL(SQL_CREATE_PROGRAMS);
         db.execSQL(SQL_CREATE_LOCATIONS);
         db.execSQL(SQL_CREATE_SCHEDULES);
+        db.execSQL(SQL_CREATE_SCHEDULES_START_INDEX);
+        db.execSQL(SQL_CREATE_SCHEDULES_UNIQUE_INDEX);
+        db.execSQL(SQL_CREATE_COHORT_RESULTS);
+        db.execSQL(SQL_CREATE_ASSESSMENT_RESULTS);
+        db.execSQL(SQL_CREATE_ASSESSMENT_RESULTS_INDEX);
+        db.execSQL(SQL_CREATE_WALK_NODES);
+        db.execSQL(SQL_CREATE_WALK_NODES_LOCATION_INDEX);
+        db.execSQL(SQL_CREATE_WALK_EDGES);
+        db.execSQL(SQL_CREATE_CATALOG_VERSION);
+        db.execSQL(SQL_INIT_CATALOG_VERSION);
+        db.execSQL(SQL_CREATE_CACHED_RECOMMENDATIONS);
+        for (String sql : SQL_CREATE_CATALOG_TRIGGERS) db.execSQL(sql);
 
         populateInitialData(db);
     }
@@ -150,8 +507,9 @@ public class DatabaseHelper extends SQLiteOpenHelper {
      * Helper method to insert static data into the database upon creation.
      * Includes:
      * 1. Mock Test Scores (Test IDs)
-     * 2. Academic Programs with logic weights
+     * 2. Academic Programs with logic weights, from the bundled ProgramSnapshot
      * 3. Real-world locations for Central Mindanao University (CMU)
+     * 4. The walkway graph connecting those locations
      *
      * @param db The writeable database instance.
      */
@@ -164,12 +522,10 @@ public class DatabaseHelper extends SQLiteOpenHelper {
         db.execSQL("INSERT INTO " + TestScores.TABLE_NAME + " VALUES ('TEST005', 75, 80, 70);");
         db.execSQL("INSERT INTO " + TestScores.TABLE_NAME + " VALUES ('FAIL001', 40, 30, 35);");
 
-        // Programs
-        db.execSQL("INSERT INTO " + Programs.TABLE_NAME + " VALUES (1, 'BSIT', 'Tech-focused, high quant/logical.', 0.8, 0.4, 0.7);");
-        db.execSQL("INSERT INTO " + Programs.TABLE_NAME + " VALUES (2, 'BSEE', 'Engineering, quant-heavy.', 0.9, 0.3, 0.6);");
-        db.execSQL("INSERT INTO " + Programs.TABLE_NAME + " VALUES (3, 'BSOA', 'Admin, verbal-focused.', 0.4, 0.7, 0.3);");
-        db.execSQL("INSERT INTO " + Programs.TABLE_NAME + " VALUES (4, 'BSBA', 'Business, balanced verbal.', 0.5, 0.8, 0.4);");
-        db.execSQL("INSERT INTO " + Programs.TABLE_NAME + " VALUES (5, 'BSCE', 'Civil Eng, logical/quant.', 0.7, 0.2, 0.9);");
+        // Programs come from the compiled catalog (src/main/catalog/programs.tsv)
+        ProgramSnapshot snapshot = programSnapshot();
+        if (snapshot != null) seedPrograms(db, snapshot);
+        else Log.e(TAG, "No program catalog snapshot; the programs table stays empty until one can be mapped");
 
         // --- REAL CMU LOCATIONS ---
         // Coordinates approximation for Central Mindanao University, Musuan, Maramag, Bukidnon
@@ -191,11 +547,39 @@ public class DatabaseHelper extends SQLiteOpenHelper {
 
         // 6. University Library
         db.execSQL("INSERT INTO " + Locations.TABLE_NAME + " VALUES (null, 'Main Library', 7.8650, 125.0510, 'University Library');");
+
+        // --- WALKWAY NETWORK (entrances link to the locations above) ---
+        for (String sql : SQL_SEED_WALKWAYS_V7) db.execSQL(sql);
+    }
+
+    /**
+     * Re-seeds the programs table when the app bundles a newer catalog than the one the table was seeded
+     * from: after an app update that ships a new programs.tsv, or once after the v11 -> v12 upgrade.
+     * Otherwise the table is left alone, so edits made to it since seeding are kept.
+     *
+     * @param db The database.
+     */
+    @Override
+    public void onOpen(SQLiteDatabase db) {
+        super.onOpen(db);
+        ProgramSnapshot snapshot = programSnapshot();
+        if (snapshot == null || db.isReadOnly()) return;
+        long seeded = DatabaseUtils.longForQuery(db, "SELECT IFNULL(" + CatalogVersion.COL_SNAPSHOT_VERSION +
+                ", -1) FROM " + CatalogVersion.TABLE_NAME, null);
+        if (seeded >= snapshot.version()) return;
+        db.beginTransaction();
+        try {
+            seedPrograms(db, snapshot);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
     }
 
     /**
      * Called when the database version increases.
-     * Currently uses a destructive strategy (DROP ALL and RECREATE).
+     * Runs each registered migration step (v3 -> v4 -> ...) in its own transaction so user data is kept.
+     * Versions older than the first step have no migration path and are rebuilt (DROP ALL and RECREATE).
      *
      * @param db The database.
      * @param oldVersion The old version number.
@@ -203,11 +587,33 @@ public class DatabaseHelper extends SQLiteOpenHelper {
      */
     @Override
     public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        LocationIndex.invalidate(); // Steps may rewrite the Locations table
+        if (!DatabaseMigrations.canMigrate(oldVersion, newVersion)) {
+            Log.w(TAG, "No migration path from v" + oldVersion + ", rebuilding database");
+            rebuild(db);
+            return;
+        }
+        DatabaseMigrations.migrate(db, oldVersion, newVersion);
+    }
+
+    /**
+     * Destructive fallback: drops every table and recreates the current schema with seed data.
+     *
+     * @param db The database.
+     */
+    private void rebuild(SQLiteDatabase db) {
         db.execSQL("DROP TABLE IF EXISTS " + Users.TABLE_NAME);
         db.execSQL("DROP TABLE IF EXISTS " + TestScores.TABLE_NAME);
         db.execSQL("DROP TABLE IF EXISTS " + Programs.TABLE_NAME);
         db.execSQL("DROP TABLE IF EXISTS " + Locations.TABLE_NAME);
         db.execSQL("DROP TABLE IF EXISTS " + Schedules.TABLE_NAME);
+        db.execSQL("DROP TABLE IF EXISTS " + CohortResults.TABLE_NAME);
+        db.execSQL("DROP TABLE IF EXISTS " + CohortResults.STAGING_TABLE);
+        db.execSQL("DROP TABLE IF EXISTS " + AssessmentResults.TABLE_NAME);
+        db.execSQL("DROP TABLE IF EXISTS " + WalkNodes.TABLE_NAME);
+        db.execSQL("DROP TABLE IF EXISTS " + WalkEdges.TABLE_NAME);
+        db.execSQL("DROP TABLE IF EXISTS " + CatalogVersion.TABLE_NAME);
+        db.execSQL("DROP TABLE IF EXISTS " + CachedRecommendations.TABLE_NAME);
         onCreate(db);
     }
-}
\ No newline at end of file
+}
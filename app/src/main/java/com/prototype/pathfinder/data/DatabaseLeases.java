@@ -0,0 +1,96 @@
+package com.prototype.pathfinder.data;
+
+import android.util.Log;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * DatabaseLeases
+ * <p>
+ * Reference counts the users of the shared database connection and reports leaks.
+ * Workflow:
+ * 1. Each owner (a DBManager) acquires a lease when it opens; the allocation site is recorded.
+ *    The owner keeps the returned lease, while the registry only references the owner weakly.
+ * 2. Releasing the lease decrements the count.
+ * 3. If an owner is garbage collected while still holding a lease, the lease is logged
+ *    together with its allocation stack trace and reclaimed.
+ */
+final class DatabaseLeases {
+    private static final String TAG = "DatabaseLeases";
+
+    private final ReferenceQueue<Object> collected = new ReferenceQueue<>();
+    private final Set<Lease> active = new HashSet<>();
+    private int leaked = 0;
+
+    /** Weak handle on an owner plus the stack trace of where it acquired the connection. */
+    static final class Lease extends WeakReference<Object> {
+        final Throwable allocationSite;
+        final String ownerName;
+
+        Lease(Object owner, ReferenceQueue<Object> queue) {
+            super(owner, queue);
+            ownerName = owner.getClass().getSimpleName();
+            allocationSite = new Throwable("Database lease acquired here by " + ownerName);
+        }
+    }
+
+    /**
+     * Records a new lease for the owner.
+     *
+     * @param owner The object holding the connection (referenced weakly).
+     * @return The lease; the owner must keep it and pass it to {@link #release(Lease)}.
+     */
+    synchronized Lease acquire(Object owner) {
+        reclaimLeaked();
+        Lease lease = new Lease(owner, collected);
+        active.add(lease);
+        return lease;
+    }
+
+    /**
+     * Ends a lease.
+     *
+     * @param lease The lease returned by acquire.
+     * @return true if the lease was still active.
+     */
+    synchronized boolean release(Lease lease) {
+        if (lease == null || !active.remove(lease)) return false;
+        lease.clear();
+        return true;
+    }
+
+    /**
+     * @return The number of leases currently held.
+     */
+    synchronized int activeCount() {
+        reclaimLeaked();
+        return active.size();
+    }
+
+    /**
+     * @return The number of leases whose owner was collected without releasing them.
+     */
+    synchronized int leakedCount() {
+        reclaimLeaked();
+        return leaked;
+    }
+
+    /**
+     * Drains leases whose owner has been garbage collected and logs where each was acquired.
+     */
+    private void reclaimLeaked() {
+        Reference<?> ref;
+        while ((ref = collected.poll()) != null) {
+            Lease lease = (Lease) ref;
+            if (active.remove(lease)) {
+                leaked++;
+                Log.w(TAG, "A " + lease.ownerName + " was garbage collected without calling close()",
+                        lease.allocationSite);
+            }
+        }
+    }
+}
@@ -0,0 +1,387 @@
+package com.prototype.pathfinder.data;
+
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.os.SystemClock;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * DatabaseMigrations
+ * <p>
+ * Ordered list of non-destructive schema migrations, one step per version bump.
+ * Rules for adding a step:
+ * 1. Bump DatabaseHelper.DATABASE_VERSION and update its CREATE statements for fresh installs.
+ * 2. Append a Migration whose fromVersion is the previous version.
+ * 3. Write the step's SQL inline (do not reuse the current CREATE or column constants) and copy any
+ *    parsing a backfill needs into this file (see V6Time), so that an old step keeps meaning the same
+ *    thing after later schema and code changes.
+ */
+final class DatabaseMigrations {
+    private static final String TAG = "DatabaseMigrations";
+
+    /** The oldest schema version that can be upgraded in place. */
+    static final int MIN_MIGRATABLE_VERSION = 3;
+
+    private static final Migration[] MIGRATIONS = {
+            // v3 -> v4: cohort_results table for batch scoring
+            new Migration(3) {
+                @Override
+                void migrate(SQLiteDatabase db) {
+                    db.execSQL("CREATE TABLE IF NOT EXISTS cohort_results (test_id TEXT NOT NULL, " +
+                            "rank INTEGER NOT NULL, program_name TEXT, match_percent INTEGER, " +
+                            "PRIMARY KEY (test_id, rank));");
+                }
+            },
+            // v4 -> v5: schedules.sort_key with a (user_email, sort_key) index
+            new Migration(4) {
+                @Override
+                void migrate(SQLiteDatabase db) {
+                    db.execSQL("ALTER TABLE schedules ADD COLUMN sort_key INTEGER NOT NULL DEFAULT 0");
+                    backfillSortKeys(db);
+                    db.execSQL("CREATE INDEX IF NOT EXISTS idx_schedules_user_sort ON schedules (user_email, sort_key);");
+                }
+            },
+            // v5 -> v6: schedules day_mask / start_minute / end_minute, index moves to (user_email, start_minute)
+            new Migration(5) {
+                @Override
+                void migrate(SQLiteDatabase db) {
+                    db.execSQL("ALTER TABLE schedules ADD COLUMN day_mask INTEGER NOT NULL DEFAULT 0");
+                    db.execSQL("ALTER TABLE schedules ADD COLUMN start_minute INTEGER NOT NULL DEFAULT -1");
+                    db.execSQL("ALTER TABLE schedules ADD COLUMN end_minute INTEGER NOT NULL DEFAULT -1");
+                    backfillDayTimes(db);
+                    db.execSQL("DROP INDEX IF EXISTS idx_schedules_user_sort");
+                    db.execSQL("CREATE INDEX IF NOT EXISTS idx_schedules_user_start ON schedules (user_email, start_minute);");
+                }
+            },
+            // v6 -> v7: walkway graph (walk_nodes / walk_edges) with the seeded CMU network
+            new Migration(6) {
+                @Override
+                void migrate(SQLiteDatabase db) {
+                    db.execSQL("CREATE TABLE IF NOT EXISTS walk_nodes (" +
+                            "_id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                            "latitude REAL NOT NULL, " +
+                            "longitude REAL NOT NULL, " +
+                            "location_id INTEGER, " +
+                            "level INTEGER NOT NULL DEFAULT 0);");
+                    db.execSQL("CREATE INDEX IF NOT EXISTS idx_walk_nodes_location ON walk_nodes (location_id);");
+                    db.execSQL("CREATE TABLE IF NOT EXISTS walk_edges (" +
+                            "_id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                            "from_node INTEGER NOT NULL, " +
+                            "to_node INTEGER NOT NULL, " +
+                            "cost_m REAL NOT NULL, " +
+                            "one_way INTEGER NOT NULL DEFAULT 0);");
+                    for (String sql : DatabaseHelper.SQL_SEED_WALKWAYS_V7) db.execSQL(sql);
+                }
+            },
+            // v7 -> v8: unique (user_email, subject_code, day_of_week, time_slot); repeated COR scans are removed first
+            new Migration(7) {
+                @Override
+                void migrate(SQLiteDatabase db) {
+                    db.execSQL("DELETE FROM schedules WHERE _id NOT IN (SELECT MIN(_id) FROM schedules " +
+                            "GROUP BY user_email, subject_code, day_of_week, time_slot);");
+                    db.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS idx_schedules_unique_class ON schedules " +
+                            "(user_email, subject_code, day_of_week, time_slot);");
+                }
+            },
+            // v8 -> v9: assessment results per user and run (replaces the user_results SharedPreferences)
+            new Migration(8) {
+                @Override
+                void migrate(SQLiteDatabase db) {
+                    db.execSQL("CREATE TABLE IF NOT EXISTS results (_id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                            "user_email TEXT NOT NULL, run_id INTEGER NOT NULL, rank INTEGER NOT NULL, " +
+                            "program_name TEXT NOT NULL, match_percent INTEGER NOT NULL, quant INTEGER NOT NULL, " +
+                            "verbal INTEGER NOT NULL, logical INTEGER NOT NULL, story BLOB NOT NULL);");
+                    db.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS idx_results_user_run ON results " +
+                            "(user_email, run_id, rank);");
+                }
+            },
+            // v9 -> v10: recommendation cache, invalidated by triggers whenever the programs table changes
+            new Migration(9) {
+                @Override
+                void migrate(SQLiteDatabase db) {
+                    db.execSQL("CREATE TABLE IF NOT EXISTS catalog_version (version INTEGER NOT NULL);");
+                    db.execSQL("INSERT INTO catalog_version (version) VALUES (0);");
+                    db.execSQL("CREATE TABLE IF NOT EXISTS recommendation_cache (cache_key TEXT PRIMARY KEY, " +
+                            "payload BLOB NOT NULL, created_at INTEGER NOT NULL);");
+                    for (String event : new String[]{"INSERT", "UPDATE", "DELETE"}) {
+                        db.execSQL("CREATE TRIGGER IF NOT EXISTS trg_programs_" + event.toLowerCase(Locale.ROOT) +
+                                " AFTER " + event + " ON programs BEGIN " +
+                                "UPDATE catalog_version SET version = version + 1; " +
+                                "DELETE FROM recommendation_cache; END;");
+                    }
+                }
+            },
+            // v10 -> v11: career titles move from code into the programs table (the triggers clear cached stories)
+            new Migration(10) {
+                @Override
+                void migrate(SQLiteDatabase db) {
+                    db.execSQL("ALTER TABLE programs ADD COLUMN careers TEXT;");
+                    db.execSQL("UPDATE programs SET careers = 'Software Engineer\nFull-Stack Developer\nCybersecurity Analyst' " +
+                            "WHERE UPPER(name) = 'BSIT';");
+                    db.execSQL("UPDATE programs SET careers = 'Electrical Engineer\nAutomation Specialist\nRenewable Energy Engineer' " +
+                            "WHERE UPPER(name) = 'BSEE';");
+                    db.execSQL("UPDATE programs SET careers = 'Executive Assistant\nOffice Manager\nHR Coordinator' " +
+                            "WHERE UPPER(name) = 'BSOA';");
+                    db.execSQL("UPDATE programs SET careers = 'Business Analyst\nMarketing Manager\nEntrepreneur' " +
+                            "WHERE UPPER(name) = 'BSBA';");
+                    db.execSQL("UPDATE programs SET careers = 'Civil Engineer\nStructural Designer\nProject Manager' " +
+                            "WHERE UPPER(name) = 'BSCE';");
+                }
+            },
+            // v11 -> v12: the programs table is seeded from the compiled catalog snapshot (NULL makes
+            // DatabaseHelper.onOpen re-seed it once). The triggers now also mark the table as diverged.
+            new Migration(11) {
+                @Override
+                void migrate(SQLiteDatabase db) {
+                    db.execSQL("ALTER TABLE catalog_version ADD COLUMN snapshot_version INTEGER;");
+                    db.execSQL("ALTER TABLE catalog_version ADD COLUMN programs_diverged INTEGER NOT NULL DEFAULT 0;");
+                    for (String event : new String[]{"INSERT", "UPDATE", "DELETE"}) {
+                        String trigger = "trg_programs_" + event.toLowerCase(Locale.ROOT);
+                        db.execSQL("DROP TRIGGER IF EXISTS " + trigger + ";");
+                        db.execSQL("CREATE TRIGGER " + trigger + " AFTER " + event + " ON programs BEGIN " +
+                                "UPDATE catalog_version SET version = version + 1, programs_diverged = 1; " +
+                                "DELETE FROM recommendation_cache; END;");
+                    }
+                }
+            },
+            // v12 -> v13: unparseable times are stored past the end of the day (1440) instead of -1,
+            // so they sort after the timed classes of their day
+            new Migration(12) {
+                @Override
+                void migrate(SQLiteDatabase db) {
+                    db.execSQL("UPDATE schedules SET start_minute = 1440, end_minute = 1440 WHERE start_minute < 0;");
+                }
+            }
+    };
+
+    // Timings of the steps run by the most recent upgrade in this process
+    private static final List<StepTiming> lastRun = new ArrayList<>();
+
+    private DatabaseMigrations() { }
+
+    /**
+     * @return true if every step between the two versions is registered.
+     */
+    static boolean canMigrate(int oldVersion, int newVersion) {
+        if (oldVersion < MIN_MIGRATABLE_VERSION) return false;
+        for (int v = oldVersion; v < newVersion; v++) {
+            if (find(v) == null) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Runs every step from oldVersion up to newVersion, each inside its own transaction.
+     * A failing step throws, which aborts the surrounding upgrade and leaves the old version in place.
+     *
+     * @param db The database being upgraded.
+     * @param oldVersion The current on-disk version.
+     * @param newVersion The target version.
+     */
+    static void migrate(SQLiteDatabase db, int oldVersion, int newVersion) {
+        synchronized (lastRun) {
+            lastRun.clear();
+        }
+        for (int v = oldVersion; v < newVersion; v++) {
+            Migration step = find(v);
+            long start = SystemClock.elapsedRealtime();
+            db.beginTransaction();
+            try {
+                step.migrate(db);
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+            long elapsed = SystemClock.elapsedRealtime() - start;
+            synchronized (lastRun) {
+                lastRun.add(new StepTiming(v, v + 1, elapsed));
+            }
+            Log.i(TAG, "Migrated v" + v + " -> v" + (v + 1) + " in " + elapsed + " ms");
+        }
+    }
+
+    /**
+     * @return Per-step timings of the last upgrade run in this process (empty if none ran).
+     */
+    static List<StepTiming> getLastRunTimings() {
+        synchronized (lastRun) {
+            return Collections.unmodifiableList(new ArrayList<>(lastRun));
+        }
+    }
+
+    private static Migration find(int fromVersion) {
+        for (Migration m : MIGRATIONS) {
+            if (m.fromVersion == fromVersion) return m;
+        }
+        return null;
+    }
+
+    // --- Backfill helpers ---
+
+    private static void backfillSortKeys(SQLiteDatabase db) {
+        Cursor cursor = db.rawQuery("SELECT _id, day_of_week, time_slot FROM schedules", null);
+        SQLiteStatement update = db.compileStatement("UPDATE schedules SET sort_key = ? WHERE _id = ?");
+        try {
+            while (cursor.moveToNext()) {
+                update.bindLong(1, V6Time.sortKey(cursor.getString(1), cursor.getString(2)));
+                update.bindLong(2, cursor.getLong(0));
+                update.executeUpdateDelete();
+            }
+        } finally {
+            update.close();
+            cursor.close();
+        }
+    }
+
+    private static void backfillDayTimes(SQLiteDatabase db) {
+        Cursor cursor = db.rawQuery("SELECT _id, day_of_week, time_slot FROM schedules", null);
+        SQLiteStatement update = db.compileStatement("UPDATE schedules SET day_mask = ?, start_minute = ?, " +
+                "end_minute = ? WHERE _id = ?");
+        try {
+            while (cursor.moveToNext()) {
+                String day = cursor.getString(1);
+                String time = cursor.getString(2);
+                update.bindLong(1, V6Time.dayMask(day));
+                update.bindLong(2, V6Time.parseMinutes(time));
+                update.bindLong(3, V6Time.parseEndMinutes(time));
+                update.bindLong(4, cursor.getLong(0));
+                update.executeUpdateDelete();
+            }
+        } finally {
+            update.close();
+            cursor.close();
+        }
+    }
+
+    /**
+     * Frozen copy of the ScheduleTime parsing used by the v4 -> v5 and v5 -> v6 backfills, as it was at
+     * schema v6. Never edit it: ScheduleTime may change for new rows, but these steps must keep producing
+     * the values later steps were written against.
+     */
+    private static final class V6Time {
+        private static final int MINUTES_PER_DAY = 24 * 60;
+        private static final int UNKNOWN_DAY = 7;
+        private static final int DEFAULT_CLASS_MINUTES = 60;
+
+        private V6Time() { }
+
+        static int dayIndex(String day) {
+            if (day == null) return -1;
+            String d = day.trim().toUpperCase(Locale.US);
+            if (d.startsWith("M")) return 0;
+            if (d.startsWith("TU")) return 1;
+            if (d.startsWith("W")) return 2;
+            if (d.startsWith("TH")) return 3;
+            if (d.startsWith("F")) return 4;
+            if (d.startsWith("SA")) return 5;
+            if (d.startsWith("SU")) return 6;
+            return -1;
+        }
+
+        static int firstDayIndex(String days) {
+            if (days == null) return UNKNOWN_DAY;
+            for (String token : days.split("[/, ]+")) {
+                int idx = dayIndex(token);
+                if (idx >= 0) return idx;
+            }
+            return UNKNOWN_DAY;
+        }
+
+        static int dayMask(String days) {
+            if (days == null) return 0;
+            int mask = 0;
+            for (String token : days.split("[/, ]+")) {
+                int idx = dayIndex(token);
+                if (idx >= 0) mask |= 1 << idx;
+            }
+            return mask;
+        }
+
+        static int parseEndMinutes(String time) {
+            int start = parseMinutes(time);
+            if (start < 0) return -1;
+            int dash = time.indexOf('-');
+            if (dash >= 0) {
+                int end = parseMinutes(time.substring(dash + 1));
+                if (end > start) return end;
+            }
+            return Math.min(MINUTES_PER_DAY - 1, start + DEFAULT_CLASS_MINUTES);
+        }
+
+        static int parseMinutes(String time) {
+            if (time == null) return -1;
+            String t = time.trim().toUpperCase(Locale.US);
+            int n = t.length();
+            int i = 0;
+
+            int hour = 0, hourDigits = 0;
+            while (i < n && Character.isDigit(t.charAt(i))) {
+                hour = hour * 10 + (t.charAt(i++) - '0');
+                hourDigits++;
+            }
+            if (hourDigits == 0 || hourDigits > 2) return -1;
+
+            int minute = 0;
+            if (i < n && t.charAt(i) == ':') {
+                i++;
+                int minuteDigits = 0;
+                while (i < n && Character.isDigit(t.charAt(i))) {
+                    minute = minute * 10 + (t.charAt(i++) - '0');
+                    minuteDigits++;
+                }
+                if (minuteDigits != 2) return -1;
+            }
+
+            while (i < n && t.charAt(i) == ' ') i++;
+            if (t.startsWith("AM", i) || t.startsWith("A.M", i)) {
+                if (hour < 1 || hour > 12) return -1;
+                hour = hour % 12;
+            } else if (t.startsWith("PM", i) || t.startsWith("P.M", i)) {
+                if (hour < 1 || hour > 12) return -1;
+                hour = hour % 12 + 12;
+            }
+
+            if (hour > 23 || minute > 59) return -1;
+            return hour * 60 + minute;
+        }
+
+        static int sortKey(String days, String time) {
+            int minute = parseMinutes(time);
+            if (minute < 0) minute = MINUTES_PER_DAY - 1;
+            return firstDayIndex(days) * MINUTES_PER_DAY + minute;
+        }
+    }
+
+    // --- Types ---
+
+    /**
+     * A single schema step from {@code fromVersion} to {@code fromVersion + 1}.
+     */
+    abstract static class Migration {
+        final int fromVersion;
+
+        Migration(int fromVersion) {
+            this.fromVersion = fromVersion;
+        }
+
+        abstract void migrate(SQLiteDatabase db);
+    }
+
+    /**
+     * Duration of one executed migration step.
+     */
+    static class StepTiming {
+        final int fromVersion, toVersion;
+        final long millis;
+
+        StepTiming(int fromVersion, int toVersion, long millis) {
+            this.fromVersion = fromVersion; this.toVersion = toVersion; this.millis = millis;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.prototype.pathfinder.data;
+
+import com.prototype.pathfinder.utils.LocationGrid;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * LocationIndex
+ * <p>
+ * Process-wide, read-only snapshot of the Locations table keyed by room name.
+ * Workflow:
+ * 1. Built on first use from a single DBManager.getAllLocations() cursor pass.
+ * 2. Served from memory afterwards, so plotting thousands of markers needs no per-marker I/O.
+ * 3. Dropped by {@link #invalidate()} whenever the Locations table changes; the next get() rebuilds it.
+ * 4. Also owns the spatial grid used by the map, built lazily from the same snapshot.
+ */
+public final class LocationIndex {
+    private static volatile LocationIndex current;
+
+    private final List<DBManager.LocationItem> all;
+    private final Map<String, DBManager.LocationItem> byName;
+    private LocationGrid grid;
+
+    private LocationIndex(List<DBManager.LocationItem> locations) {
+        all = Collections.unmodifiableList(locations);
+        byName = new HashMap<>(locations.size() * 2);
+        for (DBManager.LocationItem loc : locations) {
+            // Keep the first row for duplicate names, matching the old per-name query
+            if (!byName.containsKey(loc.name)) byName.put(loc.name, loc);
+        }
+    }
+
+    /**
+     * Returns the cached index, building it from the database if needed.
+     * Call from a background thread the first time (it may query the database).
+     *
+     * @param mgr An open DBManager.
+     * @return The current index.
+     */
+    public static LocationIndex get(DBManager mgr) {
+        LocationIndex local = current;
+        if (local != null) return local;
+        synchronized (LocationIndex.class) {
+            if (current == null) current = new LocationIndex(mgr.getAllLocations());
+            return current;
+        }
+    }
+
+    /**
+     * Discards the cached index. Call after inserting, updating or deleting locations.
+     * Waits for an in-flight build (it holds the same lock), so a build from the old rows is never
+     * published after this returns.
+     */
+    public static void invalidate() {
+        synchronized (LocationIndex.class) {
+            current = null;
+        }
+    }
+
+    /**
+     * @param name Room/building name.
+     * @return The location, or null if unknown.
+     */
+    public DBManager.LocationItem find(String name) {
+        return name == null ? null : byName.get(name);
+    }
+
+    /**
+     * @return Every location, in table order (unmodifiable).
+     */
+    public List<DBManager.LocationItem> all() {
+        return all;
+    }
+
+    /**
+     * Returns the spatial index over {@link #all()}, building it on first use.
+     * Call from a background thread the first time.
+     *
+     * @return The grid for this snapshot.
+     */
+    public synchronized LocationGrid grid() {
+        if (grid == null) grid = new LocationGrid(all);
+        return grid;
+    }
+
+    /**
+     * @return The number of locations.
+     */
+    public int size() {
+        return all.size();
+    }
+}
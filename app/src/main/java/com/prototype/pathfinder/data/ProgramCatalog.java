@@ -0,0 +1,99 @@
+package com.prototype.pathfinder.data;
+
+import java.nio.DoubleBuffer;
+
+/**
+ * ProgramCatalog
+ * <p>
+ * Column-oriented (structure-of-arrays) snapshot of the Programs table.
+ * Each skill weight is stored in its own primitive column so the scoring loop
+ * can walk the catalog without boxing or per-program object allocation.
+ * Row i of every column describes the same program.
+ * <p>
+ * Columns are read with absolute gets. They are backed either by arrays (read from SQLite or built in
+ * memory, see DoubleBuffer.hasArray) or by the pages of a memory-mapped ProgramSnapshot, in which case
+ * the text fields are decoded only for the rows that are asked for.
+ */
+public class ProgramCatalog {
+    public final DoubleBuffer reqQuant;
+    public final DoubleBuffer reqVerbal;
+    public final DoubleBuffer reqLogical;
+
+    private final int size;
+    private final String[] names;
+    private final String[] descs;
+    private final String[] careers;
+
+    /**
+     * Constructor
+     * @param names Program names (e.g., "BSIT").
+     * @param descs Program descriptions.
+     * @param reqQuant Quantitative weight column.
+     * @param reqVerbal Verbal weight column.
+     * @param reqLogical Logical weight column.
+     */
+    public ProgramCatalog(String[] names, String[] descs, double[] reqQuant, double[] reqVerbal, double[] reqLogical) {
+        this(names, descs, reqQuant, reqVerbal, reqLogical, new String[names.length]);
+    }
+
+    /**
+     * Constructor
+     * @param careers Newline-separated career titles per program (null entries use generic text).
+     */
+    public ProgramCatalog(String[] names, String[] descs, double[] reqQuant, double[] reqVerbal, double[] reqLogical,
+                          String[] careers) {
+        this.size = names.length;
+        this.names = names;
+        this.descs = descs;
+        this.careers = careers;
+        this.reqQuant = DoubleBuffer.wrap(reqQuant);
+        this.reqVerbal = DoubleBuffer.wrap(reqVerbal);
+        this.reqLogical = DoubleBuffer.wrap(reqLogical);
+    }
+
+    /**
+     * Constructor for catalogs whose text fields are stored elsewhere; subclasses override name, desc and careers.
+     */
+    protected ProgramCatalog(int size, DoubleBuffer reqQuant, DoubleBuffer reqVerbal, DoubleBuffer reqLogical) {
+        this.size = size;
+        this.names = null;
+        this.descs = null;
+        this.careers = null;
+        this.reqQuant = reqQuant;
+        this.reqVerbal = reqVerbal;
+        this.reqLogical = reqLogical;
+    }
+
+    /**
+     * @return The number of programs in the catalog.
+     */
+    public int size() {
+        return size;
+    }
+
+    public String name(int index) { return names[index]; }
+    public String desc(int index) { return descs[index]; }
+    public String careers(int index) { return careers[index]; }
+
+    /**
+     * @return Every program name in row order (a new array for catalogs without a names column).
+     */
+    public String[] names() {
+        if (names != null) return names;
+        String[] all = new String[size];
+        for (int i = 0; i < size; i++) all[i] = name(i);
+        return all;
+    }
+
+    /**
+     * Materializes a single row as a Program object.
+     * Intended for the few winning rows only, not for the scoring loop.
+     *
+     * @param index Row index.
+     * @return A Program POJO for that row.
+     */
+    public DBManager.Program get(int index) {
+        return new DBManager.Program(name(index), desc(index),
+                reqQuant.get(index), reqVerbal.get(index), reqLogical.get(index), careers(index));
+    }
+}
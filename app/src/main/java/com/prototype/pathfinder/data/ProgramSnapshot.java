@@ -0,0 +1,171 @@
+package com.prototype.pathfinder.data;
+
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.util.Log;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * ProgramSnapshot
+ * <p>
+ * Read-only view of the program catalog compiled at build time (the compileProgramCatalog Gradle task
+ * turns src/main/catalog/programs.tsv into the uncompressed asset catalog/programs.bin).
+ * The asset is memory-mapped, never copied: the weight columns are DoubleBuffers over the mapped pages,
+ * and names, descriptions and careers are decoded only for the rows that are read.
+ * <p>
+ * Layout (little-endian):
+ * 1. Header (24 bytes): magic "PFCT", format version, catalog version (declared in programs.tsv), row count, reserved.
+ * 2. Weight columns: quant[n], verbal[n], logical[n] as doubles.
+ * 3. int[n] absolute offset of each row's text.
+ * 4. Per row: name, description, careers, each as an unsigned 16-bit byte length plus UTF-8 (empty careers = none).
+ */
+public final class ProgramSnapshot {
+    /** Asset path of the compiled catalog. */
+    public static final String ASSET = "catalog/programs.bin";
+
+    static final int MAGIC = 0x50464354;
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_BYTES = 24;
+
+    private static final String TAG = "ProgramSnapshot";
+    private static final int NAME = 0, DESC = 1, CAREERS = 2;
+
+    private static volatile ProgramSnapshot shared;
+    private static volatile boolean sharedFailed = false;
+
+    private final ByteBuffer buffer;
+    private final long version;
+    private final int count;
+    private final int offsetsStart;
+    private final ProgramCatalog catalog;
+
+    private ProgramSnapshot(ByteBuffer buffer, long version, int count) {
+        this.buffer = buffer;
+        this.version = version;
+        this.count = count;
+        this.offsetsStart = HEADER_BYTES + 3 * 8 * count;
+        this.catalog = new MappedCatalog(this, column(0), column(1), column(2));
+    }
+
+    /**
+     * Maps the bundled asset once per process.
+     *
+     * @param context Any context.
+     * @return The shipped snapshot, or null if the asset is missing or unreadable (logged once).
+     */
+    public static ProgramSnapshot shared(Context context) {
+        ProgramSnapshot local = shared;
+        if (local != null || sharedFailed) return local;
+        synchronized (ProgramSnapshot.class) {
+            if (shared == null && !sharedFailed) {
+                try (AssetFileDescriptor fd = context.getAssets().openFd(ASSET);
+                     FileInputStream in = fd.createInputStream()) {
+                    shared = map(in.getChannel(), fd.getStartOffset(), fd.getDeclaredLength());
+                } catch (IOException e) {
+                    // openFd also fails if the asset was compressed (see noCompress in build.gradle.kts)
+                    Log.e(TAG, "Program catalog snapshot unavailable; scoring reads the programs table", e);
+                    sharedFailed = true;
+                }
+            }
+            return shared;
+        }
+    }
+
+    /**
+     * Maps a region of a file read-only; the mapping stays valid after the channel is closed.
+     *
+     * @throws IOException If the region cannot be mapped or is not a valid snapshot.
+     */
+    static ProgramSnapshot map(FileChannel channel, long offset, long length) throws IOException {
+        return wrap(channel.map(FileChannel.MapMode.READ_ONLY, offset, length));
+    }
+
+    /**
+     * @param bytes A snapshot (mapped or in memory), positioned at its first byte.
+     * @throws IOException If the header is invalid or the columns do not fit.
+     */
+    static ProgramSnapshot wrap(ByteBuffer bytes) throws IOException {
+        ByteBuffer buffer = bytes.slice().order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.limit() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a program catalog snapshot");
+        }
+        int format = buffer.getInt(4);
+        if (format != FORMAT_VERSION) throw new IOException("Unknown snapshot format " + format);
+        int count = buffer.getInt(16);
+        if (count < 0 || HEADER_BYTES + 28L * count > buffer.limit()) {
+            throw new IOException("Truncated snapshot (" + count + " rows in " + buffer.limit() + " bytes)");
+        }
+        return new ProgramSnapshot(buffer, buffer.getLong(8), count);
+    }
+
+    /**
+     * @return The catalog version declared in programs.tsv; increases whenever the shipped catalog changes.
+     */
+    public long version() {
+        return version;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /**
+     * @return A ProgramCatalog reading straight from the mapping (shared; safe to use from any thread).
+     */
+    public ProgramCatalog catalog() {
+        return catalog;
+    }
+
+    private DoubleBuffer column(int column) {
+        ByteBuffer view = buffer.duplicate();
+        view.position(HEADER_BYTES + column * 8 * count);
+        view.limit(view.position() + 8 * count);
+        return view.slice().order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+    }
+
+    /**
+     * Decodes one text field of a row (absolute reads only, so concurrent callers never interfere).
+     */
+    private String text(int row, int field) {
+        if (row < 0 || row >= count) throw new IndexOutOfBoundsException("Row " + row + " of " + count);
+        int pos = buffer.getInt(offsetsStart + 4 * row);
+        for (int f = 0; f < field; f++) pos += 2 + (buffer.getShort(pos) & 0xFFFF);
+        int length = buffer.getShort(pos) & 0xFFFF;
+        byte[] utf8 = new byte[length];
+        ByteBuffer view = buffer.duplicate();
+        view.position(pos + 2);
+        view.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Catalog view whose text columns are decoded from the snapshot on demand.
+     */
+    private static final class MappedCatalog extends ProgramCatalog {
+        private final ProgramSnapshot snapshot;
+
+        MappedCatalog(ProgramSnapshot snapshot, DoubleBuffer quant, DoubleBuffer verbal, DoubleBuffer logical) {
+            super(snapshot.count, quant, verbal, logical);
+            this.snapshot = snapshot;
+        }
+
+        @Override
+        public String name(int index) { return snapshot.text(index, NAME); }
+
+        @Override
+        public String desc(int index) { return snapshot.text(index, DESC); }
+
+        @Override
+        public String careers(int index) {
+            String careers = snapshot.text(index, CAREERS);
+            return careers.isEmpty() ? null : careers;
+        }
+    }
+}
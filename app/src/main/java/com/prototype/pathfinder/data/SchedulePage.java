@@ -0,0 +1,50 @@
+package com.prototype.pathfinder.data;
+
+import com.prototype.pathfinder.utils.ScheduleTime;
+
+import java.util.List;
+
+/**
+ * SchedulePage
+ * <p>
+ * One page of a user's schedule in display order: Monday's classes by start time, then Tuesday's, ...,
+ * then classes whose day was not recognized. A "Mon/Wed" class appears once under each of its days.
+ * Pages are read with keyset pagination (the last row's start minute and ID), so fetching page N costs
+ * the same as fetching page 1 and edits between pages never shift rows.
+ */
+public class SchedulePage {
+    /** Rows of this page. */
+    public final List<DBManager.ScheduleItem> items;
+    /** Day index each row is listed under (Mon = 0 ... Sun = 6, or ScheduleTime.UNKNOWN_DAY). */
+    public final int[] days;
+    /** Where the next page starts, or null if this was the last page. */
+    public final Key next;
+
+    SchedulePage(List<DBManager.ScheduleItem> items, int[] days, Key next) {
+        this.items = items;
+        this.days = days;
+        this.next = next;
+    }
+
+    /**
+     * Position in the schedule: a day plus the (start minute, ID) of the last row already read on it.
+     */
+    public static final class Key {
+        /** Start of the whole schedule. */
+        public static final Key FIRST = new Key(0, Integer.MIN_VALUE, 0);
+
+        final int day;
+        final int afterStart;
+        final long afterId;
+
+        Key(int day, int afterStart, long afterId) {
+            this.day = day;
+            this.afterStart = afterStart;
+            this.afterId = afterId;
+        }
+
+        boolean isPastEnd() {
+            return day > ScheduleTime.UNKNOWN_DAY;
+        }
+    }
+}
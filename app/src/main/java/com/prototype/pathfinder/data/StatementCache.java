@@ -0,0 +1,47 @@
+package com.prototype.pathfinder.data;
+
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * StatementCache
+ * <p>
+ * Compiled SQLiteStatements of one DBManager, keyed by their SQL text.
+ * Each hot write or single-value query is compiled on first use and reused until the manager is closed.
+ * A statement holds its bindings, so callers synchronize on it from binding through execution
+ * (a DataRepository may run two tasks on the same manager at once), and bind every parameter each time:
+ * bindings from the previous use are not cleared (bind null explicitly, e.g. DBManager.bindOrNull).
+ */
+final class StatementCache {
+    private final SQLiteDatabase db;
+    private final Map<String, SQLiteStatement> compiled = new HashMap<>();
+
+    StatementCache(SQLiteDatabase db) {
+        this.db = db;
+    }
+
+    /**
+     * @param sql Constant SQL text (never concatenate arguments into it; bind them).
+     * @return The compiled statement; it may still hold the previous caller's bindings. They are not
+     *         cleared here, as this runs outside the statement's lock and could wipe a concurrent caller's.
+     */
+    synchronized SQLiteStatement get(String sql) {
+        SQLiteStatement statement = compiled.get(sql);
+        if (statement == null) {
+            statement = db.compileStatement(sql);
+            compiled.put(sql, statement);
+        }
+        return statement;
+    }
+
+    /**
+     * Closes every compiled statement.
+     */
+    synchronized void close() {
+        for (SQLiteStatement statement : compiled.values()) statement.close();
+        compiled.clear();
+    }
+}
@@ -0,0 +1,90 @@
+package com.prototype.pathfinder.data;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * StoryCodec
+ * <p>
+ * Packs the narrative fields of one recommendation into a single BLOB for the results table:
+ * a format version byte followed by each field as an int byte length plus UTF-8.
+ * One column replaces five TEXT columns (or five SharedPreferences keys), and a row is decoded
+ * in one pass without any per-field lookup.
+ * <p>
+ * Version 1 blobs (fields written with DataOutputStream.writeUTF, at most 65535 bytes each) are still read.
+ */
+public final class StoryCodec {
+    static final int FORMAT_VERSION = 2;
+    static final int FORMAT_VERSION_UTF = 1;
+
+    // Field order inside the blob; never reorder once released (add new fields at the end)
+    public static final int WHY = 0, HISTORY = 1, CAREERS = 2, INSIGHT = 3, HARDEST = 4;
+    public static final int FIELD_COUNT = 5;
+
+    private StoryCodec() { }
+
+    /**
+     * @param fields The story fields indexed by WHY ... HARDEST (null is stored as "").
+     * @return The encoded blob.
+     */
+    public static byte[] encode(String... fields) {
+        if (fields.length != FIELD_COUNT) throw new IllegalArgumentException("Expected " + FIELD_COUNT + " fields");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            for (String field : fields) writeField(out, field);
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // ByteArrayOutputStream never throws, and fields have no length limit
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @param blob A blob produced by encode.
+     * @return The story fields indexed by WHY ... HARDEST.
+     * @throws IllegalArgumentException If the blob is truncated or of an unknown version.
+     */
+    public static String[] decode(byte[] blob) {
+        String[] fields = new String[FIELD_COUNT];
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(blob))) {
+            int version = in.readUnsignedByte();
+            if (version != FORMAT_VERSION && version != FORMAT_VERSION_UTF) {
+                throw new IllegalArgumentException("Unknown story format " + version);
+            }
+            for (int i = 0; i < FIELD_COUNT; i++) {
+                fields[i] = version == FORMAT_VERSION ? readField(in) : in.readUTF();
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Corrupt story blob", e);
+        }
+        return fields;
+    }
+
+    /**
+     * Writes one text field as an int byte length plus UTF-8 (null is written as "").
+     * Shared with other blobs that embed story text (RecommendationCache).
+     */
+    public static void writeField(DataOutputStream out, String field) throws IOException {
+        byte[] utf8 = (field == null ? "" : field).getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    /**
+     * Reads a field written by writeField.
+     *
+     * @param in A stream over an in-memory blob (its available() is the number of bytes left).
+     * @throws IOException If the length is negative or runs past the end of the blob.
+     */
+    public static String readField(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > in.available()) throw new IOException("Bad field length " + length);
+        byte[] utf8 = new byte[length];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+}
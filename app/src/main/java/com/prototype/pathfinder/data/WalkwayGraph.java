@@ -0,0 +1,149 @@
+package com.prototype.pathfinder.data;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * WalkwayGraph
+ * <p>
+ * Immutable, array-based snapshot of the walkway tables (walk_nodes / walk_edges).
+ * Adjacency is stored in compressed sparse row (CSR) form: the outgoing edges of node v are
+ * edgeTarget[edgeStart[v] .. edgeStart[v + 1]) with matching edgeCost entries.
+ * A reverse CSR (incoming edges) is kept as well so one-way walkways can be searched backwards.
+ */
+public class WalkwayGraph {
+    public final long[] nodeIds;
+    public final double[] lat;
+    public final double[] lng;
+
+    public final int[] edgeStart;
+    public final int[] edgeTarget;
+    public final float[] edgeCost;
+
+    public final int[] inStart;
+    public final int[] inSource;
+    public final float[] inCost;
+
+    private final Map<Long, Integer> nodeByLocation;
+
+    /**
+     * Builds the CSR arrays from plain node and edge lists.
+     *
+     * @param nodeIds Database IDs of the nodes.
+     * @param lat Node latitudes.
+     * @param lng Node longitudes.
+     * @param locationIds Location _id linked to each node, or -1 for plain walkway junctions.
+     * @param edgeFrom Edge start node IDs (database IDs).
+     * @param edgeTo Edge end node IDs (database IDs).
+     * @param cost Walking cost of each edge in meters.
+     * @param oneWay Whether each edge may only be walked from start to end.
+     */
+    public WalkwayGraph(long[] nodeIds, double[] lat, double[] lng, long[] locationIds,
+                        long[] edgeFrom, long[] edgeTo, float[] cost, boolean[] oneWay) {
+        this.nodeIds = nodeIds;
+        this.lat = lat;
+        this.lng = lng;
+        int n = nodeIds.length;
+
+        Map<Long, Integer> indexOf = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) indexOf.put(nodeIds[i], i);
+
+        nodeByLocation = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            if (locationIds[i] >= 0) nodeByLocation.put(locationIds[i], i);
+        }
+
+        // Resolve endpoints once; edges pointing at unknown nodes are skipped
+        int m = edgeFrom.length;
+        int[] from = new int[m], to = new int[m];
+        int directed = 0;
+        for (int e = 0; e < m; e++) {
+            Integer a = indexOf.get(edgeFrom[e]), b = indexOf.get(edgeTo[e]);
+            from[e] = a == null ? -1 : a;
+            to[e] = b == null ? -1 : b;
+            if (from[e] >= 0 && to[e] >= 0) directed += oneWay[e] ? 1 : 2;
+        }
+
+        edgeStart = new int[n + 1];
+        inStart = new int[n + 1];
+        for (int e = 0; e < m; e++) {
+            if (from[e] < 0 || to[e] < 0) continue;
+            edgeStart[from[e] + 1]++;
+            inStart[to[e] + 1]++;
+            if (!oneWay[e]) {
+                edgeStart[to[e] + 1]++;
+                inStart[from[e] + 1]++;
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            edgeStart[v + 1] += edgeStart[v];
+            inStart[v + 1] += inStart[v];
+        }
+
+        edgeTarget = new int[directed];
+        edgeCost = new float[directed];
+        inSource = new int[directed];
+        inCost = new float[directed];
+        int[] outFill = new int[n], inFill = new int[n];
+        for (int e = 0; e < m; e++) {
+            int a = from[e], b = to[e];
+            if (a < 0 || b < 0) continue;
+            put(a, b, cost[e], outFill, inFill);
+            if (!oneWay[e]) put(b, a, cost[e], outFill, inFill);
+        }
+    }
+
+    private void put(int a, int b, float c, int[] outFill, int[] inFill) {
+        int o = edgeStart[a] + outFill[a]++;
+        edgeTarget[o] = b;
+        edgeCost[o] = c;
+        int i = inStart[b] + inFill[b]++;
+        inSource[i] = a;
+        inCost[i] = c;
+    }
+
+    /**
+     * @return The number of nodes.
+     */
+    public int size() {
+        return nodeIds.length;
+    }
+
+    /**
+     * @return The number of directed edges (two-way walkways count twice).
+     */
+    public int edgeCount() {
+        return edgeTarget.length;
+    }
+
+    /**
+     * @param locationId A Locations._id.
+     * @return The node index of that location's entrance, or -1 if it is not on the graph.
+     */
+    public int nodeForLocation(long locationId) {
+        Integer node = nodeByLocation.get(locationId);
+        return node == null ? -1 : node;
+    }
+
+    /**
+     * Finds the node closest to a coordinate (e.g., to snap the user's GPS position onto the graph).
+     *
+     * @return The closest node index, or -1 if the graph is empty.
+     */
+    public int nearestNode(double latitude, double longitude) {
+        // Equirectangular distance is enough to compare nearby points
+        double scale = Math.cos(Math.toRadians(latitude));
+        int best = -1;
+        double bestDist = Double.MAX_VALUE;
+        for (int i = 0; i < lat.length; i++) {
+            double dy = lat[i] - latitude;
+            double dx = (lng[i] - longitude) * scale;
+            double d = dx * dx + dy * dy;
+            if (d < bestDist) {
+                bestDist = d;
+                best = i;
+            }
+        }
+        return best;
+    }
+}
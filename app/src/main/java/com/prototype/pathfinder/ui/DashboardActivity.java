@@ -3,6 +3,7 @@ package com.prototype.pathfinder.ui;
 import android.os.Bundle;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.fragment.app.Fragment;
+import androidx.recyclerview.widget.RecyclerView;
 import com.google.android.material.bottomnavigation.BottomNavigationView;
 import com.prototype.pathfinder.R;
 import com.prototype.pathfinder.ui.fragments.HomeFragment;
@@ -21,6 +22,9 @@ import com.prototype.pathfinder.ui.fragments.ScheduleFragment;
 public class DashboardActivity extends AppCompatActivity {
 
     private BottomNavigationView bottomNav;
+    // Schedule rows outlive one ScheduleFragment (a new one is created per tab switch), so returning to
+    // the Schedule tab rebinds the pooled rows instead of inflating them again
+    private final RecyclerView.RecycledViewPool scheduleViewPool = new RecyclerView.RecycledViewPool();
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -58,6 +62,13 @@ public class DashboardActivity extends AppCompatActivity {
         });
     }
 
+    /**
+     * @return The RecycledViewPool shared by every ScheduleFragment list shown in this activity.
+     */
+    public RecyclerView.RecycledViewPool getScheduleViewPool() {
+        return scheduleViewPool;
+    }
+
     /**
      * Public method to allow Fragments (specifically ScheduleFragment) to programmatically
      * switch the active tab to the Map and pass a specific location to focus on.
@@ -65,6 +76,17 @@ public class DashboardActivity extends AppCompatActivity {
      * @param roomName The name of the room to highlight on the map.
      */
     public void switchToMap(String roomName) {
+        switchToMap(roomName, null);
+    }
+
+    /**
+     * Switches to the Map and shows the walk from one room to another
+     * (e.g., from the previous class to the next one).
+     *
+     * @param roomName The name of the room to highlight on the map.
+     * @param fromRoom The room the walk starts from, or null to start from the user's location.
+     */
+    public void switchToMap(String roomName, String fromRoom) {
         // 1. Update the Bottom Navigation UI state
         bottomNav.setSelectedItemId(R.id.nav_map);
 
@@ -72,6 +94,7 @@ public class DashboardActivity extends AppCompatActivity {
         MapFragment mapFrag = new MapFragment();
         Bundle args = new Bundle();
         args.putString("target_room", roomName);
+        if (fromRoom != null) args.putString("from_room", fromRoom);
         mapFrag.setArguments(args);
 
         // 3. Execute Transaction
@@ -9,7 +9,7 @@ import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 import com.google.android.material.textfield.TextInputEditText;
 import com.prototype.pathfinder.R;
-import com.prototype.pathfinder.data.DBManager;
+import com.prototype.pathfinder.data.DataRepository;
 
 /**
  * LoginActivity
@@ -19,7 +19,7 @@ import com.prototype.pathfinder.data.DBManager;
  */
 public class LoginActivity extends AppCompatActivity {
     private TextInputEditText etEmail, etPassword;
-    private DBManager dbManager;
+    private DataRepository repository;
     private SharedPreferences prefs;
 
     @Override
@@ -33,9 +33,8 @@ public class LoginActivity extends AppCompatActivity {
         Button btnLogin = findViewById(R.id.btnLogin);
         TextView tvRegister = findViewById(R.id.tvRegister);
 
-        // Init DB
-        dbManager = new DBManager(this);
-        dbManager.open();
+        // Init DB (queries run on the I/O executor)
+        repository = new DataRepository(this);
         prefs = getSharedPreferences("user_prefs", MODE_PRIVATE);
 
         // Login Logic
@@ -43,18 +42,22 @@ public class LoginActivity extends AppCompatActivity {
             String email = etEmail.getText().toString().trim();
             String pw = etPassword.getText().toString();
 
-            // 1. Verify Credentials
-            if (dbManager.loginUser(email, pw)) {
-                // 2. Save Session (Email)
-                prefs.edit().putString("user_email", email).apply();
+            // 1. Verify Credentials (off the main thread)
+            btnLogin.setEnabled(false);
+            repository.loginUser(email, pw, valid -> {
+                btnLogin.setEnabled(true);
+                if (Boolean.TRUE.equals(valid)) {
+                    // 2. Save Session (Email)
+                    prefs.edit().putString("user_email", email).apply();
 
-                // 3. Navigate to Dashboard
-                startActivity(new Intent(this, DashboardActivity.class));
-                finish(); // Prevent back-navigation to login
-                overridePendingTransition(R.anim.slide_in, R.anim.slide_out);
-            } else {
-                Toast.makeText(this, "Invalid credentials", Toast.LENGTH_SHORT).show();
-            }
+                    // 3. Navigate to Dashboard
+                    startActivity(new Intent(this, DashboardActivity.class));
+                    finish(); // Prevent back-navigation to login
+                    overridePendingTransition(R.anim.slide_in, R.anim.slide_out);
+                } else {
+                    Toast.makeText(this, "Invalid credentials", Toast.LENGTH_SHORT).show();
+                }
+            });
         });
 
         // Navigate to Register
@@ -64,8 +67,8 @@ public class LoginActivity extends AppCompatActivity {
     @Override
     protected void onDestroy() {
         super.onDestroy();
-        if (dbManager != null) {
-            dbManager.close();
+        if (repository != null) {
+            repository.close();
         }
     }
 }
\ No newline at end of file
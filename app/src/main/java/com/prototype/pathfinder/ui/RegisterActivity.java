@@ -11,7 +11,7 @@ import androidx.appcompat.app.AppCompatActivity;
 
 import com.google.android.material.textfield.TextInputEditText;
 import com.prototype.pathfinder.R;
-import com.prototype.pathfinder.data.DBManager;
+import com.prototype.pathfinder.data.DataRepository;
 
 /**
  * RegisterActivity
@@ -21,7 +21,7 @@ import com.prototype.pathfinder.data.DBManager;
  */
 public class RegisterActivity extends AppCompatActivity {
     private TextInputEditText etUsername, etEmail, etPassword;
-    private DBManager dbManager;
+    private DataRepository repository;
     private SharedPreferences prefs;
 
     @Override
@@ -36,9 +36,8 @@ public class RegisterActivity extends AppCompatActivity {
         Button btnRegister = findViewById(R.id.btnRegister);
         TextView tvLogin = findViewById(R.id.tvLogin);
 
-        // Init DB
-        dbManager = new DBManager(this);
-        dbManager.open();
+        // Init DB (queries run on the I/O executor)
+        repository = new DataRepository(this);
         prefs = getSharedPreferences("user_prefs", MODE_PRIVATE);
 
         // Registration Logic
@@ -53,20 +52,24 @@ public class RegisterActivity extends AppCompatActivity {
                 return;
             }
 
-            // 2. Attempt Database Insertion
-            if (dbManager.registerUser(username, email, pw)) {
-                Toast.makeText(this, "Registered successfully! Please login.", Toast.LENGTH_SHORT).show();
+            // 2. Attempt Database Insertion (off the main thread)
+            btnRegister.setEnabled(false);
+            repository.registerUser(username, email, pw, success -> {
+                btnRegister.setEnabled(true);
+                if (Boolean.TRUE.equals(success)) {
+                    Toast.makeText(this, "Registered successfully! Please login.", Toast.LENGTH_SHORT).show();
 
-                // Store email temporarily for auto-fill or session context
-                prefs.edit().putString("user_email", email).apply();
+                    // Store email temporarily for auto-fill or session context
+                    prefs.edit().putString("user_email", email).apply();
 
-                // 3. Navigate to Login
-                startActivity(new Intent(this, LoginActivity.class));
-                finish();
-                overridePendingTransition(R.anim.slide_in, R.anim.slide_out);
-            } else {
-                Toast.makeText(this, "Registration failed. Username or email may already exist.", Toast.LENGTH_SHORT).show();
-            }
+                    // 3. Navigate to Login
+                    startActivity(new Intent(this, LoginActivity.class));
+                    finish();
+                    overridePendingTransition(R.anim.slide_in, R.anim.slide_out);
+                } else {
+                    Toast.makeText(this, "Registration failed. Username or email may already exist.", Toast.LENGTH_SHORT).show();
+                }
+            });
         });
 
         // Navigate to Login if account exists
@@ -79,8 +82,8 @@ public class RegisterActivity extends AppCompatActivity {
     @Override
     protected void onDestroy() {
         super.onDestroy();
-        if (dbManager != null) {
-            dbManager.close();
+        if (repository != null) {
+            repository.close();
         }
     }
 }
\ No newline at end of file
@@ -1,9 +1,12 @@
 package com.prototype.pathfinder.ui;
 
 import android.content.Intent;
-import android.content.SharedPreferences;
 import android.os.Bundle;
 import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.provider.Settings;
+import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -19,9 +22,10 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.airbnb.lottie.LottieAnimationView;
 import com.prototype.pathfinder.R;
-import com.prototype.pathfinder.data.DBManager;
+import com.prototype.pathfinder.data.DataRepository;
 import com.prototype.pathfinder.utils.RecommendationEngine;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -30,13 +34,20 @@ import java.util.Map;
  * <p>
  * Calculates and displays the academic program recommendations based on user input.
  * Workflow:
- * 1. Receives Test ID and Survey Data from the previous activity.
- * 2. Simulates a calculation delay (with Lottie animation).
- * 3. Invokes RecommendationEngine to process scores.
- * 4. Saves the results locally for the Home Dashboard.
- * 5. Displays the top recommendations in a list.
+ * 1. Receives Test ID, Survey Data and the run ID from the previous activity.
+ * 2. Starts RecommendationEngine on the I/O executor right away while the Lottie reveal plays.
+ * 3. Saves the results to the user's assessment history (shown on the Home Dashboard), once per run ID:
+ *    a recreated activity gets the stored run back instead of adding a duplicate.
+ * 4. Displays the top recommendations once both scoring and the minimum reveal time are done
+ *    (R.integer.results_min_reveal_ms; skipped entirely in fast mode, see isFastMode).
+ * 5. Logs the time to results under the "ResultsActivity" tag and reports the activity as fully drawn.
  */
 public class ResultsActivity extends AppCompatActivity {
+    private static final String TAG = "ResultsActivity";
+    /** user_prefs key: show results as soon as they are computed, without the reveal animation. */
+    public static final String PREF_FAST_RESULTS = "fast_results";
+    private static final String STATE_RUN_ID = "run_id";
+
     // UI Components
     private LottieAnimationView lottieReveal;
     private ProgressBar pbFallback;
@@ -46,13 +57,23 @@ public class ResultsActivity extends AppCompatActivity {
     private NestedScrollView nestedResults;
 
     // Logic Components
-    private DBManager dbManager;
-    private RecommendationEngine engine;
+    private DataRepository repository;
     private List<RecommendationEngine.Recommendation> recs;
+    private long runId;
+
+    // Reveal state: results are shown when both scoring and the minimum reveal time are done
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private long startedAt;
+    private long scoredAt;
+    private long minRevealMs;
+    private boolean fastMode;
+    private boolean minRevealElapsed;
+    private boolean revealed;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        startedAt = SystemClock.elapsedRealtime();
         setContentView(R.layout.activity_results);
 
         // Init UI
@@ -65,35 +86,42 @@ public class ResultsActivity extends AppCompatActivity {
         Button btnHome = findViewById(R.id.btnHome);
         nestedResults = findViewById(R.id.nestedResults);
 
-        // Init Database & Engine
-        dbManager = new DBManager(this);
-        dbManager.open();
-        engine = new RecommendationEngine(dbManager);
+        // Init Database (the engine runs on the I/O executor)
+        repository = new DataRepository(this);
 
         // Retrieve Data passed via Intent
         String testId = getIntent().getStringExtra("test_id");
-        Bundle bundle = getIntent().getBundleExtra("bundle");
-        Map<String, Integer> survey = (Map<String, Integer>) bundle.getSerializable("survey_scores");
-
-        // --- CALCULATION & ANIMATION DELAY ---
-        new Handler().postDelayed(() -> {
-            // 1. Hide Loading UI / Show Results UI
+        Map<String, Integer> survey = surveyScores(getIntent().getBundleExtra("survey_scores"));
+        String email = getSharedPreferences("user_prefs", MODE_PRIVATE).getString("user_email", "");
+        runId = savedInstanceState != null ? savedInstanceState.getLong(STATE_RUN_ID)
+                : getIntent().getLongExtra("run_id", System.currentTimeMillis());
+
+        // --- CALCULATION & REVEAL (run concurrently) ---
+        fastMode = isFastMode();
+        minRevealMs = fastMode ? 0 : getResources().getInteger(R.integer.results_min_reveal_ms);
+        if (fastMode) {
+            // No reveal animation; a plain spinner covers the (short) scoring time
+            lottieReveal.cancelAnimation();
             lottieReveal.setVisibility(View.GONE);
-            pbFallback.setVisibility(View.GONE);
-            tvCalculating.setVisibility(View.GONE);
-            nestedResults.setVisibility(View.VISIBLE);
-
-            // 2. Perform Calculation
-            recs = engine.computeRecommendations(testId, survey);
-
-            // 3. Save results to SharedPreferences (for Home Fragment persistence)
-            saveResultsToPrefs(recs);
+            pbFallback.setVisibility(View.VISIBLE);
+        }
 
-            // 4. Setup RecyclerView
-            rvRecs.setLayoutManager(new LinearLayoutManager(this, LinearLayoutManager.VERTICAL, false));
-            rvRecs.setAdapter(new RecAdapter(recs));
+        // 1. Perform Calculation in the background right away (also saved to the user's history there)
+        repository.computeAndSaveResults(email, runId, testId, survey, result -> {
+            scoredAt = SystemClock.elapsedRealtime();
+            recs = result;
+            if (recs == null) {
+                Toast.makeText(this, "Could not calculate results.", Toast.LENGTH_SHORT).show();
+                return;
+            }
+            revealIfReady();
+        });
 
-        }, 5000); // 5 second delay for "Reveal" effect
+        // 2. Let the reveal play for at least its minimum time
+        mainHandler.postDelayed(() -> {
+            minRevealElapsed = true;
+            revealIfReady();
+        }, minRevealMs);
 
         btnShare.setOnClickListener(v -> {
             if (recs != null && !recs.isEmpty()) {
@@ -128,38 +156,64 @@ public class ResultsActivity extends AppCompatActivity {
         });
     }
 
+    @Override
+    protected void onSaveInstanceState(Bundle outState) {
+        super.onSaveInstanceState(outState);
+        outState.putLong(STATE_RUN_ID, runId);
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        mainHandler.removeCallbacksAndMessages(null);
+        if (repository != null) repository.close();
+    }
+
+    /**
+     * Fast mode skips the reveal: chosen by the user (PREF_FAST_RESULTS) or implied by
+     * animations being turned off in the system settings.
+     */
+    private boolean isFastMode() {
+        if (getSharedPreferences("user_prefs", MODE_PRIVATE).getBoolean(PREF_FAST_RESULTS, false)) return true;
+        return Settings.Global.getFloat(getContentResolver(), Settings.Global.ANIMATOR_DURATION_SCALE, 1f) == 0f;
+    }
+
     /**
-     * Persists the Top 3 recommendations to SharedPreferences.
-     * This allows the HomeFragment to display the results later without re-calculating.
+     * Swaps the loading UI for the results once scoring has finished and the minimum reveal time has passed.
+     * Logs the time to results (and how much of it was scoring) for tuning the reveal.
+     */
+    private void revealIfReady() {
+        if (revealed || recs == null || !minRevealElapsed) return;
+        revealed = true;
+
+        // Hide Loading UI / Show Results UI
+        lottieReveal.cancelAnimation();
+        lottieReveal.setVisibility(View.GONE);
+        pbFallback.setVisibility(View.GONE);
+        tvCalculating.setVisibility(View.GONE);
+        nestedResults.setVisibility(View.VISIBLE);
+
+        // Setup RecyclerView
+        rvRecs.setLayoutManager(new LinearLayoutManager(this, LinearLayoutManager.VERTICAL, false));
+        rvRecs.setAdapter(new RecAdapter(recs));
+
+        long shownAt = SystemClock.elapsedRealtime();
+        Log.i(TAG, "Time to results: " + (shownAt - startedAt) + " ms (scoring " + (scoredAt - startedAt) +
+                " ms, minimum reveal " + minRevealMs + " ms" + (fastMode ? ", fast mode" : "") + ")");
+        reportFullyDrawn();
+    }
+
+    /**
+     * Reads the survey averages sent by SurveyActivity (one int per interest category).
      *
-     * @param list The list of calculated recommendations.
+     * @param scores Bundle of category -> 1-5 score, or null.
+     * @return The scores as a map (empty if none were sent).
      */
-    private void saveResultsToPrefs(List<RecommendationEngine.Recommendation> list) {
-        SharedPreferences prefs = getSharedPreferences("user_results", MODE_PRIVATE);
-        SharedPreferences.Editor editor = prefs.edit();
-
-        int count = Math.min(list.size(), 3); // Store max 3
-        editor.putInt("rec_count", count);
-
-        for (int i = 0; i < count; i++) {
-            RecommendationEngine.Recommendation r = list.get(i);
-            // Save Text Data
-            editor.putString("rec_prog_" + i, r.program);
-            editor.putInt("rec_pct_" + i, r.matchPercent);
-            editor.putString("rec_why_" + i, r.storyWhy);
-            editor.putString("rec_hist_" + i, r.storyHistory);
-            editor.putString("rec_car_" + i, r.storyCareers);
-
-            // Save Analysis Data (for Wrapped View)
-            editor.putString("rec_insight_" + i, r.itemInsight);
-            editor.putString("rec_hardest_" + i, r.hardestLogical);
-
-            // Save Raw Radar Scores
-            editor.putInt("rec_quant_" + i, r.radarValues[0]);
-            editor.putInt("rec_verbal_" + i, r.radarValues[1]);
-            editor.putInt("rec_logical_" + i, r.radarValues[2]);
-        }
-        editor.apply();
+    private static Map<String, Integer> surveyScores(Bundle scores) {
+        Map<String, Integer> survey = new HashMap<>();
+        if (scores == null) return survey;
+        for (String key : scores.keySet()) survey.put(key, scores.getInt(key));
+        return survey;
     }
 
     // --- ADAPTER CLASS ---
@@ -197,7 +251,7 @@ public class ResultsActivity extends AppCompatActivity {
             // Click Listener -> Opens Detailed "Wrapped" View
             holder.itemView.setOnClickListener(v -> {
                 Intent intent = new Intent(ResultsActivity.this, WrappedDetailActivity.class);
-                intent.putExtra("rec_data", rec);
+                intent.putExtra("rec_data", rec); // Stored result: parcelled as its ID and summary
                 startActivity(intent);
             });
         }
@@ -15,7 +15,6 @@ import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.cardview.widget.CardView;
 import com.prototype.pathfinder.R;
-import com.prototype.pathfinder.data.DBManager;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -59,7 +58,6 @@ public class SurveyActivity extends AppCompatActivity {
     private ProgressBar pbProgress;
     private TextView tvProgressText;
     private Button btnPrev, btnNext, btnAnalyze;
-    private DBManager dbManager;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -74,9 +72,6 @@ public class SurveyActivity extends AppCompatActivity {
         btnNext = findViewById(R.id.btnNext);
         btnAnalyze = findViewById(R.id.btnAnalyze);
 
-        dbManager = new DBManager(this);
-        dbManager.open();
-
         showQuestion(0);
         setupButtons();
     }
@@ -211,18 +206,14 @@ public class SurveyActivity extends AppCompatActivity {
         // 3. Pass Data to Results Engine
         Intent intent = new Intent(this, ResultsActivity.class);
         intent.putExtra("test_id", getIntent().getStringExtra("test_id"));
-        Bundle bundle = new Bundle();
-        bundle.putSerializable("survey_scores", (java.io.Serializable) finalScores);
-        intent.putExtra("bundle", bundle);
+        Bundle scores = new Bundle(); // Plain ints (no Java serialization of the map)
+        for (Map.Entry<String, Integer> entry : finalScores.entrySet()) scores.putInt(entry.getKey(), entry.getValue());
+        intent.putExtra("survey_scores", scores);
+        // Identifies this run in the history, so a recreated ResultsActivity does not store it twice
+        intent.putExtra("run_id", System.currentTimeMillis());
 
         startActivity(intent);
         overridePendingTransition(R.anim.slide_in, R.anim.slide_out);
         finish();
     }
-
-    @Override
-    protected void onDestroy() {
-        super.onDestroy();
-        if (dbManager != null) dbManager.close();
-    }
 }
\ No newline at end of file
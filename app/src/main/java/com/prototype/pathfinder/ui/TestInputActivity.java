@@ -7,8 +7,7 @@ import android.widget.Button;
 import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 import com.prototype.pathfinder.R;
-import com.prototype.pathfinder.data.DBManager;
-import java.util.Map;
+import com.prototype.pathfinder.data.DataRepository;
 
 /**
  * TestInputActivity
@@ -21,7 +20,7 @@ import java.util.Map;
  */
 public class TestInputActivity extends AppCompatActivity {
     private TextInputEditText etTestId;
-    private DBManager dbManager;
+    private DataRepository repository;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -32,30 +31,31 @@ public class TestInputActivity extends AppCompatActivity {
         etTestId = findViewById(R.id.etTestId);
         Button btnFetch = findViewById(R.id.btnFetchScores);
 
-        // Initialize Database Connection
-        dbManager = new DBManager(this);
-        dbManager.open();
+        // Initialize Database Access (queries run on the I/O executor)
+        repository = new DataRepository(this);
 
         // Handle Fetch Action
         btnFetch.setOnClickListener(v -> {
             String testId = etTestId.getText().toString().trim();
 
             // Query DB for scores
-            Map<String, Integer> scores = dbManager.getScoresById(testId);
-
-            if (!scores.isEmpty()) {
-                // Success: Transition to Interest Survey
-                Intent intent = new Intent(this, SurveyActivity.class);
-                intent.putExtra("test_id", testId);
-                // Pass retrieved scores forward
-                intent.putExtra("quant", scores.get("quant"));
-                intent.putExtra("verbal", scores.get("verbal"));
-                intent.putExtra("logical", scores.get("logical"));
-                startActivity(intent);
-            } else {
-                // Failure: Show user feedback (Hint: TEST001 is seeded data)
-                Toast.makeText(this, "Invalid Test ID. Try TEST001.", Toast.LENGTH_SHORT).show();
-            }
+            btnFetch.setEnabled(false);
+            repository.getScoresById(testId, scores -> {
+                btnFetch.setEnabled(true);
+                if (scores != null && !scores.isEmpty()) {
+                    // Success: Transition to Interest Survey
+                    Intent intent = new Intent(this, SurveyActivity.class);
+                    intent.putExtra("test_id", testId);
+                    // Pass retrieved scores forward
+                    intent.putExtra("quant", scores.get("quant"));
+                    intent.putExtra("verbal", scores.get("verbal"));
+                    intent.putExtra("logical", scores.get("logical"));
+                    startActivity(intent);
+                } else {
+                    // Failure: Show user feedback (Hint: TEST001 is seeded data)
+                    Toast.makeText(this, "Invalid Test ID. Try TEST001.", Toast.LENGTH_SHORT).show();
+                }
+            });
         });
     }
 
@@ -63,6 +63,6 @@ public class TestInputActivity extends AppCompatActivity {
     protected void onDestroy() {
         super.onDestroy();
         // Prevent memory leaks
-        dbManager.close();
+        repository.close();
     }
 }
\ No newline at end of file
@@ -8,6 +8,7 @@ import android.widget.TextView;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.constraintlayout.widget.ConstraintLayout;
 import com.prototype.pathfinder.R;
+import com.prototype.pathfinder.data.DataRepository;
 import com.prototype.pathfinder.ui.views.RadarChartView;
 import com.prototype.pathfinder.utils.RecommendationEngine;
 
@@ -23,10 +24,14 @@ import com.prototype.pathfinder.utils.RecommendationEngine;
  * 3. Specific Insight (e.g., "You crushed Question #17")
  * 4. Historical Data Success
  * 5. Future Career Outlook
+ * <p>
+ * A stored recommendation arrives as its result ID and summary (enough for slide 0);
+ * the story text is loaded from the results table in the background while the reveal is shown.
  */
 public class WrappedDetailActivity extends AppCompatActivity {
 
     private RecommendationEngine.Recommendation data;
+    private DataRepository repository;
     private int currentStep = 0; // Tracks the current story slide (0-5)
 
     // UI Components
@@ -40,8 +45,8 @@ public class WrappedDetailActivity extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_wrapped_detail);
 
-        // Retrieve the Data Object
-        data = (RecommendationEngine.Recommendation) getIntent().getSerializableExtra("rec_data");
+        // Retrieve the Data Object (the summary, for stored results)
+        data = getIntent().getParcelableExtra("rec_data");
 
         // Bind Views
         rootLayout = findViewById(R.id.rootLayout);
@@ -71,6 +76,22 @@ public class WrappedDetailActivity extends AppCompatActivity {
 
         // Initial Load
         updateUI();
+
+        // Expand a stored result with its story; the current slide is redrawn once it arrives
+        if (!data.hasStory()) {
+            repository = new DataRepository(this);
+            repository.getResult(data.id, full -> {
+                if (full == null) return;
+                data = full;
+                if (currentStep > 0) updateUI();
+            });
+        }
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        if (repository != null) repository.close();
     }
 
     /**
@@ -17,13 +17,12 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.prototype.pathfinder.R;
-import com.prototype.pathfinder.data.DBManager;
+import com.prototype.pathfinder.data.DataRepository;
 import com.prototype.pathfinder.ui.LoginActivity;
 import com.prototype.pathfinder.ui.TestInputActivity;
 import com.prototype.pathfinder.ui.WrappedDetailActivity;
 import com.prototype.pathfinder.utils.RecommendationEngine;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -32,7 +31,7 @@ import java.util.List;
  * The main dashboard of the application.
  * Responsibilities:
  * 1. Greets the user.
- * 2. Displays previously generated academic recommendations (loaded from SharedPreferences).
+ * 2. Displays the user's most recent academic recommendations (loaded from the results table).
  * 3. Provides entry point to start a new Test/Assessment.
  * 4. Handles User Logout with confirmation.
  */
@@ -41,7 +40,8 @@ public class HomeFragment extends Fragment {
     private RecyclerView rvRecs;
     private TextView tvRecTitle;
     private TextView tvGreeting;
-    private DBManager dbManager;
+    private DataRepository repository;
+    private String email;
 
     @Override
     public View onCreateView(LayoutInflater inflater, ViewGroup container, Bundle savedInstanceState) {
@@ -59,14 +59,16 @@ public class HomeFragment extends Fragment {
         rvRecs.setLayoutManager(new LinearLayoutManager(getContext()));
 
         // Initialize DB and Prefs
-        dbManager = new DBManager(getContext());
-        dbManager.open();
+        repository = new DataRepository(requireContext());
         SharedPreferences prefs = requireActivity().getSharedPreferences("user_prefs", Context.MODE_PRIVATE);
 
-        // Set Dynamic Greeting
-        String email = prefs.getString("user_email", "");
-        String username = dbManager.getUsername(email);
-        tvGreeting.setText("Hello " + username + "!");
+        // Set Dynamic Greeting (placeholder until the username query returns)
+        email = prefs.getString("user_email", "");
+        tvGreeting.setText("Hello!");
+        repository.getUsername(email, username -> {
+            if (!isAdded() || username == null) return;
+            tvGreeting.setText("Hello " + username + "!");
+        });
 
         // Status Check Logic (Mocked logic for prototype display)
         boolean hasFailed = false;
@@ -115,54 +117,28 @@ public class HomeFragment extends Fragment {
     }
 
     /**
-     * Retrieves stored recommendations from SharedPreferences.
-     * Reconstructs the Recommendation objects including analysis text and raw scores.
-     * Handles backward compatibility by providing default values for missing keys.
+     * Retrieves the user's latest assessment run in the background (one indexed query).
+     * Each Recommendation comes back complete, including analysis text and raw scores.
      */
     private void loadSavedResults() {
-        SharedPreferences prefs = requireActivity().getSharedPreferences("user_results", Context.MODE_PRIVATE);
-        int count = prefs.getInt("rec_count", 0);
-
-        if (count > 0) {
-            tvRecTitle.setVisibility(View.VISIBLE);
-            List<RecommendationEngine.Recommendation> savedRecs = new ArrayList<>();
-
-            for (int i = 0; i < count; i++) {
-                // Retrieve basic fields
-                String program = prefs.getString("rec_prog_" + i, "");
-                int pct = prefs.getInt("rec_pct_" + i, 0);
-                String why = prefs.getString("rec_why_" + i, "");
-                String hist = prefs.getString("rec_hist_" + i, "");
-                String careers = prefs.getString("rec_car_" + i, "");
-
-                // Retrieve new analysis fields (defaults provided if old data version)
-                String insight = prefs.getString("rec_insight_" + i, "Your unique strengths were analyzed in detail.");
-                String hardest = prefs.getString("rec_hardest_" + i, "Strong performance across the board.");
-                int quant = prefs.getInt("rec_quant_" + i, 70);
-                int verbal = prefs.getInt("rec_verbal_" + i, 70);
-                int logical = prefs.getInt("rec_logical_" + i, 70);
-
-                RecommendationEngine.Recommendation r = new RecommendationEngine.Recommendation(
-                        program, pct, why, hist, careers,
-                        insight, hardest,
-                        quant, verbal, logical
-                );
-                savedRecs.add(r);
+        repository.getLatestResults(email, savedRecs -> {
+            if (!isAdded() || savedRecs == null) return;
+            if (!savedRecs.isEmpty()) {
+                tvRecTitle.setVisibility(View.VISIBLE);
+                rvRecs.setAdapter(new HomeRecAdapter(savedRecs));
+            } else {
+                // Hide list if no results found
+                tvRecTitle.setVisibility(View.GONE);
+                rvRecs.setAdapter(null);
             }
-
-            rvRecs.setAdapter(new HomeRecAdapter(savedRecs));
-        } else {
-            // Hide list if no results found
-            tvRecTitle.setVisibility(View.GONE);
-            rvRecs.setAdapter(null);
-        }
+        });
     }
 
     @Override
     public void onDestroy() {
         super.onDestroy();
-        if (dbManager != null) {
-            dbManager.close();
+        if (repository != null) {
+            repository.close();
         }
     }
 
@@ -198,7 +174,7 @@ public class HomeFragment extends Fragment {
             // Launch WrappedDetailActivity on click, passing the Recommendation object
             holder.itemView.setOnClickListener(v -> {
                 Intent intent = new Intent(getActivity(), WrappedDetailActivity.class);
-                intent.putExtra("rec_data", item); // Relies on Recommendation implementing Serializable/Parcelable
+                intent.putExtra("rec_data", item); // Parcelled as its result ID and summary; the story is loaded on demand
                 startActivity(intent);
             });
         }
@@ -2,7 +2,10 @@ package com.prototype.pathfinder.ui.fragments;
 
 import android.Manifest;
 import android.content.pm.PackageManager;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
 import android.graphics.Color;
+import android.graphics.Paint;
 import android.os.Bundle;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -16,13 +19,24 @@ import com.google.android.gms.maps.CameraUpdateFactory;
 import com.google.android.gms.maps.GoogleMap;
 import com.google.android.gms.maps.OnMapReadyCallback;
 import com.google.android.gms.maps.SupportMapFragment;
+import com.google.android.gms.maps.model.BitmapDescriptor;
 import com.google.android.gms.maps.model.BitmapDescriptorFactory;
 import com.google.android.gms.maps.model.LatLng;
+import com.google.android.gms.maps.model.LatLngBounds;
+import com.google.android.gms.maps.model.Marker;
 import com.google.android.gms.maps.model.MarkerOptions;
 import com.google.android.gms.maps.model.PolylineOptions;
 
 import com.prototype.pathfinder.R;
 import com.prototype.pathfinder.data.DBManager;
+import com.prototype.pathfinder.data.DataRepository;
+import com.prototype.pathfinder.data.LocationIndex;
+import com.prototype.pathfinder.utils.LocationGrid;
+import com.prototype.pathfinder.utils.RouteCache;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * MapFragment
@@ -30,16 +44,29 @@ import com.prototype.pathfinder.data.DBManager;
  * Displays an interactive Google Map.
  * Capabilities:
  * 1. Plots campus locations stored in the local SQLite database.
+ *    Only the visible viewport gets markers; dense areas are merged into cluster bubbles
+ *    and markers are updated incrementally whenever the camera stops moving.
  * 2. Uses FusedLocationProviderClient to get the user's real-time location.
- * 3. Draws a navigation line (Polyline) if a specific target room is passed via arguments.
+ * 3. Draws a walking route (Polyline) along the campus walkway graph if a specific target room
+ *    is passed via arguments, falling back to a straight line when the room is not on the graph.
+ *    When the previous class's room is passed too, the walk between the two classes is drawn
+ *    straight from the RouteCache (precomputed by ScheduleFragment).
  */
 public class MapFragment extends Fragment implements OnMapReadyCallback {
 
     private GoogleMap mMap;
     private String targetRoom; // The room name passed from ScheduleFragment (optional)
-    private DBManager dbManager;
+    private String fromRoom; // Previous class's room, when navigating between classes (optional)
+    private long targetLocationId = -1;
+    private DataRepository repository;
     private FusedLocationProviderClient fusedLocationClient;
 
+    // Viewport rendering state
+    private LocationGrid grid;
+    private final Map<Long, Marker> shownMarkers = new HashMap<>(); // Cluster key -> marker on the map
+    private final Map<Long, LocationGrid.Cluster> shownClusters = new HashMap<>(); // Cluster key -> what its marker shows
+    private final Map<String, BitmapDescriptor> bubbleIcons = new HashMap<>();
+
     // CMU Center Coordinates (Admin Building Approx) - Default fallback location
     private static final LatLng CMU_CENTER = new LatLng(7.864722, 125.050833);
 
@@ -50,10 +77,11 @@ public class MapFragment extends Fragment implements OnMapReadyCallback {
         // Retrieve arguments (if navigating from Schedule)
         if (getArguments() != null) {
             targetRoom = getArguments().getString("target_room");
+            fromRoom = getArguments().getString("from_room");
         }
 
-        dbManager = new DBManager(getContext());
-        dbManager.open();
+        // Location queries run on the I/O executor
+        repository = new DataRepository(requireContext());
 
         // Initialize Location Services
         fusedLocationClient = LocationServices.getFusedLocationProviderClient(requireActivity());
@@ -77,31 +105,191 @@ public class MapFragment extends Fragment implements OnMapReadyCallback {
         mMap = googleMap;
         mMap.getUiSettings().setZoomControlsEnabled(true);
 
-        // 1. Plot All Campus Locations from Database
-        LatLng destLatLng = null;
-        for (String room : dbManager.getAllRoomNames()) {
-            DBManager.LocationItem loc = dbManager.getLocation(room);
-            if (loc != null) {
-                LatLng pos = new LatLng(loc.lat, loc.lng);
-
-                // Highlight target room with a RED marker, others with AZURE
-                if (targetRoom != null && targetRoom.equals(loc.name)) {
-                    mMap.addMarker(new MarkerOptions()
-                            .position(pos)
-                            .title(loc.name)
-                            .snippet(loc.desc)
-                            .icon(BitmapDescriptorFactory.defaultMarker(BitmapDescriptorFactory.HUE_RED)));
-                    destLatLng = pos;
-                } else {
-                    mMap.addMarker(new MarkerOptions()
-                            .position(pos)
-                            .title(loc.name)
-                            .snippet(loc.desc)
-                            .icon(BitmapDescriptorFactory.defaultMarker(BitmapDescriptorFactory.HUE_AZURE)));
-                }
+        // 1. Load All Campus Locations (and their spatial grid) in the background
+        repository.getLocationIndex(index -> {
+            if (!isAdded() || index == null) return;
+            grid = index.grid();
+
+            // The target room is always shown, outside of clustering
+            LatLng destLatLng = null;
+            DBManager.LocationItem target = index.find(targetRoom);
+            if (target != null) {
+                targetLocationId = target.id;
+                destLatLng = new LatLng(target.lat, target.lng);
+                mMap.addMarker(new MarkerOptions()
+                        .position(destLatLng)
+                        .title(target.name)
+                        .snippet(target.desc)
+                        .icon(BitmapDescriptorFactory.defaultMarker(BitmapDescriptorFactory.HUE_RED)));
+            }
+
+            mMap.setOnCameraIdleListener(this::renderViewport);
+            mMap.setOnMarkerClickListener(marker -> {
+                // Tapping a bubble zooms into it; rooms keep the default info window behaviour
+                if (!(marker.getTag() instanceof Boolean)) return false;
+                mMap.animateCamera(CameraUpdateFactory.newLatLngZoom(marker.getPosition(),
+                        mMap.getCameraPosition().zoom + 2));
+                return true;
+            });
+
+            DBManager.LocationItem origin = index.find(fromRoom);
+            if (target != null && origin != null && origin.id != target.id) {
+                showClassRoute(origin, target);
+            } else {
+                positionCamera(destLatLng);
+            }
+            renderViewport();
+        });
+    }
+
+    @Override
+    public void onDestroy() {
+        super.onDestroy();
+        if (repository != null) {
+            repository.close();
+        }
+    }
+
+    /**
+     * Brings the markers in line with the visible region.
+     * Clusters that are unchanged (same first point, size and position) keep their marker; only new or
+     * changed ones are added and markers that scrolled out of view are removed.
+     */
+    private void renderViewport() {
+        if (mMap == null || grid == null) return;
+        LatLngBounds bounds = mMap.getProjection().getVisibleRegion().latLngBounds;
+        float zoom = mMap.getCameraPosition().zoom;
+        List<LocationGrid.Cluster> clusters = grid.cluster(bounds.southwest.latitude, bounds.southwest.longitude,
+                bounds.northeast.latitude, bounds.northeast.longitude, zoom);
+
+        Map<Long, Marker> stale = new HashMap<>(shownMarkers);
+        for (LocationGrid.Cluster cluster : clusters) {
+            DBManager.LocationItem first = grid.get(cluster.first);
+            // The target room already has its own red marker
+            if (cluster.count == 1 && first.name.equals(targetRoom)) continue;
+
+            Marker existing = stale.remove(cluster.key);
+            if (existing != null) {
+                if (cluster.sameAs(shownClusters.get(cluster.key))) continue;
+                existing.remove();
+            }
+
+            Marker marker;
+            if (cluster.count == 1) {
+                marker = mMap.addMarker(new MarkerOptions()
+                        .position(new LatLng(first.lat, first.lng))
+                        .title(first.name)
+                        .snippet(first.desc)
+                        .icon(BitmapDescriptorFactory.defaultMarker(BitmapDescriptorFactory.HUE_AZURE)));
+            } else {
+                marker = mMap.addMarker(new MarkerOptions()
+                        .position(new LatLng(cluster.lat(), cluster.lng()))
+                        .anchor(0.5f, 0.5f)
+                        .icon(bubbleIcon(bubbleLabel(cluster.count))));
+                if (marker != null) marker.setTag(Boolean.TRUE);
+            }
+            if (marker == null) continue;
+            shownMarkers.put(cluster.key, marker);
+            shownClusters.put(cluster.key, cluster);
+        }
+
+        // Whatever was not matched has left the viewport (or merged into another cluster)
+        for (Map.Entry<Long, Marker> entry : stale.entrySet()) {
+            entry.getValue().remove();
+            shownMarkers.remove(entry.getKey());
+            shownClusters.remove(entry.getKey());
+        }
+    }
+
+    /**
+     * Shows the walk from the previous class to the target room.
+     * Uses the cached route when ScheduleFragment already precomputed it; otherwise computes it in the background.
+     */
+    private void showClassRoute(DBManager.LocationItem origin, DBManager.LocationItem target) {
+        LatLng start = new LatLng(origin.lat, origin.lng);
+        LatLng dest = new LatLng(target.lat, target.lng);
+        mMap.moveCamera(CameraUpdateFactory.newLatLngZoom(start, 17));
+
+        double[] cached = RouteCache.shared().get(origin.id, target.id);
+        if (cached != null) {
+            drawRoute(cached, start, dest);
+            return;
+        }
+        repository.routeBetween(origin.id, target.id, points -> {
+            if (!isAdded()) return;
+            drawRoute(points, start, dest);
+        });
+    }
+
+    /**
+     * Draws the walking route, or a straight (geodesic) line from Start -> Destination if none was found.
+     *
+     * @param points Flattened [lat, lng, ...] route points, or null.
+     */
+    private void drawRoute(double[] points, LatLng start, LatLng dest) {
+        PolylineOptions line = new PolylineOptions()
+                .width(12)
+                .color(Color.BLUE)
+                .add(start);
+        if (points == null) {
+            line.add(dest).geodesic(true);
+        } else {
+            for (int i = 0; i + 1 < points.length; i += 2) {
+                line.add(new LatLng(points[i], points[i + 1]));
             }
+            line.add(dest); // Entrance node -> exact building position
         }
+        mMap.addPolyline(line);
+    }
 
+    /**
+     * @param count Number of rooms in a cluster.
+     * @return The text drawn on its bubble; large counts are bucketed so icons can be shared.
+     */
+    private static String bubbleLabel(int count) {
+        if (count < 100) return String.valueOf(count);
+        if (count < 1000) return (count / 100) * 100 + "+";
+        return (count / 1000) + "k+";
+    }
+
+    /**
+     * Draws (once per label) a round bubble with the cluster size.
+     *
+     * @param label The bubble text.
+     * @return The cached marker icon.
+     */
+    private BitmapDescriptor bubbleIcon(String label) {
+        BitmapDescriptor icon = bubbleIcons.get(label);
+        if (icon != null) return icon;
+
+        float density = getResources().getDisplayMetrics().density;
+        int size = (int) (40 * density);
+        Bitmap bitmap = Bitmap.createBitmap(size, size, Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(bitmap);
+
+        Paint fill = new Paint(Paint.ANTI_ALIAS_FLAG);
+        fill.setColor(requireContext().getColor(R.color.brand_primary));
+        canvas.drawCircle(size / 2f, size / 2f, size / 2f, fill);
+
+        Paint text = new Paint(Paint.ANTI_ALIAS_FLAG);
+        text.setColor(Color.WHITE);
+        text.setTextAlign(Paint.Align.CENTER);
+        text.setTextSize(14 * density);
+        text.setFakeBoldText(true);
+        float baseline = size / 2f - (text.descent() + text.ascent()) / 2f;
+        canvas.drawText(label, size / 2f, baseline, text);
+
+        icon = BitmapDescriptorFactory.fromBitmap(bitmap);
+        bubbleIcons.put(label, icon);
+        return icon;
+    }
+
+    /**
+     * Handles user location permission and camera movement once markers are placed.
+     *
+     * @param destLatLng The target room position, or null when just exploring.
+     */
+    private void positionCamera(LatLng destLatLng) {
         // 2. Handle User Location & Camera Positioning
         if (ActivityCompat.checkSelfPermission(getContext(), Manifest.permission.ACCESS_FINE_LOCATION) == PackageManager.PERMISSION_GRANTED) {
             mMap.setMyLocationEnabled(true); // Shows the blue dot
@@ -113,12 +301,11 @@ public class MapFragment extends Fragment implements OnMapReadyCallback {
                     if (location != null) {
                         LatLng userLatLng = new LatLng(location.getLatitude(), location.getLongitude());
 
-                        // Draw simple straight line (geodesic) path from User -> Destination
-                        mMap.addPolyline(new PolylineOptions()
-                                .add(userLatLng, finalDest)
-                                .width(12)
-                                .color(Color.BLUE)
-                                .geodesic(true));
+                        // Route along the walkways (computed offline on the I/O executor)
+                        repository.routeFrom(userLatLng.latitude, userLatLng.longitude, targetLocationId, points -> {
+                            if (!isAdded()) return;
+                            drawRoute(points, userLatLng, finalDest);
+                        });
 
                         // Center camera on user to start navigation
                         mMap.animateCamera(CameraUpdateFactory.newLatLngZoom(userLatLng, 16));
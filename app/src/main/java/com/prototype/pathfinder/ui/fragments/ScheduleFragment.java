@@ -2,6 +2,7 @@ package com.prototype.pathfinder.ui.fragments;
 
 import android.app.AlertDialog;
 import android.content.Context;
+import android.content.Intent;
 import android.content.SharedPreferences;
 import android.graphics.Color;
 import android.graphics.drawable.ColorDrawable;
@@ -12,7 +13,7 @@ import android.view.View;
 import android.view.ViewGroup;
 import android.widget.ArrayAdapter;
 import android.widget.Button;
-import android.widget.LinearLayout;
+import android.widget.ProgressBar;
 import android.widget.Spinner;
 import android.widget.TextView;
 import android.widget.Toast;
@@ -20,29 +21,29 @@ import android.widget.Toast;
 import androidx.activity.result.ActivityResultLauncher;
 import androidx.activity.result.contract.ActivityResultContracts;
 import androidx.fragment.app.Fragment;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
-
-import com.google.mlkit.vision.common.InputImage;
-import com.google.mlkit.vision.text.TextRecognition;
-import com.google.mlkit.vision.text.TextRecognizer;
-import com.google.mlkit.vision.text.latin.TextRecognizerOptions;
+import androidx.work.WorkInfo;
+import androidx.work.WorkManager;
 
 import com.prototype.pathfinder.R;
+import com.prototype.pathfinder.data.CorImportWorker;
 import com.prototype.pathfinder.data.DBManager;
+import com.prototype.pathfinder.data.DataRepository;
+import com.prototype.pathfinder.data.SchedulePage;
 import com.prototype.pathfinder.ui.DashboardActivity;
+import com.prototype.pathfinder.utils.ScheduleTime;
 
-import java.io.IOException;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
 
 /**
  * ScheduleFragment
@@ -51,15 +52,37 @@ import java.util.Map;
  * Key Features:
  * 1. Displays classes grouped by Day of the Week.
  * 2. Allows manual editing of class details (Time, Room, Day).
- * 3. Integrates Google ML Kit to scan a "Certificate of Registration" (COR) image and auto-populate the schedule.
+ * 3. Imports one or more "Certificate of Registration" (COR) pages in the background (ML Kit OCR + CorParser).
  * 4. Provides navigation links to the MapFragment for specific rooms.
  */
 public class ScheduleFragment extends Fragment {
 
+    private static final String[] DAY_NAMES = {
+            "MONDAY", "TUESDAY", "WEDNESDAY", "THURSDAY", "FRIDAY", "SATURDAY", "SUNDAY"
+    };
+    // Rows fetched per page; the next page is requested when the list is PREFETCH_ROWS from its end
+    static final int PAGE_SIZE = 50;
+    private static final int PREFETCH_ROWS = 10;
+    // Holders created before the first scroll, so scrolling only rebinds (about two screens of rows)
+    private static final int PREWARM_CLASS_ROWS = 20;
+    private static final int PREWARM_HEADERS = 4;
+
     private RecyclerView rvSchedule;
-    private DBManager dbManager;
+    private ProgressBar importProgress;
+    private TextView tvImportStatus;
+    private DataRepository repository;
     private String userEmail;
-    private ActivityResultLauncher<String> imagePicker;
+    private ActivityResultLauncher<String[]> imagePicker;
+    // Finished imports already reported, so a recreated view does not toast them again
+    private final Set<UUID> reportedImports = new HashSet<>();
+    private boolean firstImportUpdate = true;
+    private ScheduleAdapter adapter;
+    // Day groups currently submitted to the adapter (never mutated once submitted)
+    private List<DayGroup> shownGroups = new ArrayList<>();
+    private SchedulePage.Key nextPage; // null once the last page is shown
+    private int loadedRows;
+    private int listGeneration; // bumped by refreshList so late pages of an old listing are dropped
+    private boolean loadingPage;
 
     /**
      * Initializes the view, sets up the RecyclerView, and registers the Image Picker for OCR.
@@ -69,12 +92,30 @@ public class ScheduleFragment extends Fragment {
         View v = inflater.inflate(R.layout.fragment_schedule, container, false);
 
         rvSchedule = v.findViewById(R.id.rvSchedule);
-        rvSchedule.setLayoutManager(new LinearLayoutManager(getContext()));
+        LinearLayoutManager layoutManager = new LinearLayoutManager(getContext());
+        // Hand rows back to the pool when the view is destroyed, so the next ScheduleFragment reuses them
+        layoutManager.setRecycleChildrenOnDetach(true);
+        rvSchedule.setLayoutManager(layoutManager);
+        rvSchedule.setHasFixedSize(true);
+        adapter = new ScheduleAdapter();
+        adapter.listener = rowListener;
+        rvSchedule.setAdapter(adapter);
+        if (getActivity() instanceof DashboardActivity) {
+            rvSchedule.setRecycledViewPool(((DashboardActivity) getActivity()).getScheduleViewPool());
+        }
+        prewarmViewPool();
+        rvSchedule.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+                if (layoutManager.findLastVisibleItemPosition() >= adapter.getItemCount() - PREFETCH_ROWS) loadNextPage();
+            }
+        });
         Button btnUpload = v.findViewById(R.id.btnUploadCOR);
+        importProgress = v.findViewById(R.id.pbImport);
+        tvImportStatus = v.findViewById(R.id.tvImportStatus);
 
-        // Database Initialization
-        dbManager = new DBManager(getContext());
-        dbManager.open();
+        // Database Initialization (queries run on the I/O executor)
+        repository = new DataRepository(requireContext());
 
         // Retrieve logged-in user email
         SharedPreferences prefs = getActivity().getSharedPreferences("user_prefs", Context.MODE_PRIVATE);
@@ -82,232 +123,380 @@ public class ScheduleFragment extends Fragment {
 
         refreshList();
 
-        // Register Activity Result for Image Picking (Gallery)
-        imagePicker = registerForActivityResult(new ActivityResultContracts.GetContent(), uri -> {
-            if (uri != null) processCOR(uri);
+        // Register Activity Result for picking one or more COR pages (Documents UI)
+        imagePicker = registerForActivityResult(new ActivityResultContracts.OpenMultipleDocuments(), uris -> {
+            if (uris != null && !uris.isEmpty()) importCOR(uris);
         });
 
-        btnUpload.setOnClickListener(view -> imagePicker.launch("image/*"));
+        btnUpload.setOnClickListener(view -> imagePicker.launch(new String[]{"image/*"}));
+
+        // Imports run in WorkManager; follow the queue for progress (also after a restart)
+        WorkManager.getInstance(requireContext())
+                .getWorkInfosForUniqueWorkLiveData(CorImportWorker.WORK_NAME)
+                .observe(getViewLifecycleOwner(), this::showImportState);
 
         return v;
     }
 
     /**
-     * Processes the selected image URI using Google ML Kit Text Recognition.
-     * Scans for keywords (e.g., "MATH", "IT") to automatically add schedule entries.
-     *
-     * @param uri The URI of the selected image.
+     * Fills the RecyclerView's pool with header and class holders up front (once per activity),
+     * so the rows needed while scrolling are rebound rather than inflated mid-frame.
      */
-    private void processCOR(Uri uri) {
-        try {
-            InputImage image = InputImage.fromFilePath(getContext(), uri);
-            TextRecognizer recognizer = TextRecognition.getClient(TextRecognizerOptions.DEFAULT_OPTIONS);
-
-            recognizer.process(image).addOnSuccessListener(visionText -> {
-                String rawText = visionText.getText().toUpperCase();
-                boolean found = false;
-
-                // Simple keyword matching logic to simulate parsing a complex document
-                if (rawText.contains("MATH") || rawText.contains("STAT")) {
-                    dbManager.addSchedule(userEmail, "Mathematics", "CAS Building", "Mon/Wed", "9:00 AM");
-                    found = true;
-                }
-                if (rawText.contains("IT") || rawText.contains("COMP") || rawText.contains("PROG")) {
-                    dbManager.addSchedule(userEmail, "Intro to Computing", "ICS Building", "Tue/Thu", "1:00 PM");
-                    found = true;
-                }
-                if (rawText.contains("PE") || rawText.contains("GYM")) {
-                    dbManager.addSchedule(userEmail, "Physical Education", "University Gym", "Fri", "8:00 AM");
-                    found = true;
-                }
-                if (rawText.contains("HIST") || rawText.contains("ENG")) {
-                    dbManager.addSchedule(userEmail, "Gen. Education", "Admin Building", "Wed", "10:00 AM");
-                    found = true;
-                }
+    private void prewarmViewPool() {
+        RecyclerView.RecycledViewPool pool = rvSchedule.getRecycledViewPool();
+        pool.setMaxRecycledViews(ScheduleRow.TYPE_CLASS, PREWARM_CLASS_ROWS);
+        pool.setMaxRecycledViews(ScheduleRow.TYPE_HEADER, PREWARM_HEADERS);
+        for (int i = pool.getRecycledViewCount(ScheduleRow.TYPE_CLASS); i < PREWARM_CLASS_ROWS; i++) {
+            pool.putRecycledView(adapter.createViewHolder(rvSchedule, ScheduleRow.TYPE_CLASS));
+        }
+        for (int i = pool.getRecycledViewCount(ScheduleRow.TYPE_HEADER); i < PREWARM_HEADERS; i++) {
+            pool.putRecycledView(adapter.createViewHolder(rvSchedule, ScheduleRow.TYPE_HEADER));
+        }
+    }
 
-                if (found) {
-                    Toast.makeText(getContext(), "Schedule Updated from COR!", Toast.LENGTH_SHORT).show();
-                    refreshList();
-                } else {
-                    Toast.makeText(getContext(), "No recognizable subjects found.", Toast.LENGTH_SHORT).show();
+    /**
+     * Queues the selected COR pages for background OCR and import.
+     * Read access is persisted so the import can still open the pages if the process is restarted;
+     * CorImportWorker releases it when the import finishes.
+     *
+     * @param uris The URIs of the selected pages.
+     */
+    private void importCOR(List<Uri> uris) {
+        for (Uri uri : uris) {
+            try {
+                requireContext().getContentResolver().takePersistableUriPermission(uri,
+                        Intent.FLAG_GRANT_READ_URI_PERMISSION);
+            } catch (SecurityException e) {
+                // Provider does not offer persistable grants; the import works while this process lives
+            }
+        }
+        if (!CorImportWorker.enqueue(requireContext(), userEmail, uris)) {
+            for (Uri uri : uris) {
+                try {
+                    requireContext().getContentResolver().releasePersistableUriPermission(uri,
+                            Intent.FLAG_GRANT_READ_URI_PERMISSION);
+                } catch (SecurityException e) {
+                    // No grant was persisted for this page
                 }
-            }).addOnFailureListener(e -> Toast.makeText(getContext(), "Failed: " + e.getMessage(), Toast.LENGTH_SHORT).show());
-        } catch (IOException e) {
-            e.printStackTrace();
+            }
+            Toast.makeText(getContext(), "Could not start the COR import.", Toast.LENGTH_SHORT).show();
+            return;
         }
+        Toast.makeText(getContext(), "Importing " + uris.size() + " page(s)...", Toast.LENGTH_SHORT).show();
     }
 
     /**
-     * Fetches data from DB, processes "Split Days" (e.g., "Mon/Wed"), sorts them,
-     * groups them by day, and updates the RecyclerView.
+     * Shows page progress of the running import and reports finished ones once.
      */
-    private void refreshList() {
-        List<DBManager.ScheduleItem> rawItems = dbManager.getUserSchedule(userEmail);
-
-        // Flatten the list: If a class is "Mon/Wed", create two display items (one for Mon, one for Wed)
-        List<DisplayItem> displayList = new ArrayList<>();
-        for (DBManager.ScheduleItem item : rawItems) {
-            String[] days = item.day.split("[/, ]+"); // Split by slash, comma, or space
-            for (String day : days) {
-                if(day.trim().isEmpty()) continue;
-                displayList.add(new DisplayItem(day.trim(), item));
+    private void showImportState(List<WorkInfo> infos) {
+        WorkInfo running = null;
+        for (WorkInfo info : infos) {
+            if (info.getState() == WorkInfo.State.RUNNING) running = info;
+            if (!info.getState().isFinished() || !reportedImports.add(info.getId()) || firstImportUpdate) continue;
+
+            if (info.getState() == WorkInfo.State.SUCCEEDED) {
+                int inserted = info.getOutputData().getInt(CorImportWorker.KEY_INSERTED, 0);
+                Toast.makeText(getContext(), inserted > 0 ? "Added " + inserted + " classes from COR!"
+                        : "No recognizable subjects found.", Toast.LENGTH_SHORT).show();
+                refreshList();
+            } else if (info.getState() == WorkInfo.State.FAILED) {
+                Toast.makeText(getContext(), "COR import failed.", Toast.LENGTH_SHORT).show();
             }
         }
+        firstImportUpdate = false;
 
-        // Sort chronologically (Day of Week -> Time)
-        Collections.sort(displayList, new ScheduleComparator());
+        if (running == null) {
+            importProgress.setVisibility(View.GONE);
+            tvImportStatus.setVisibility(View.GONE);
+            return;
+        }
+        int done = running.getProgress().getInt(CorImportWorker.KEY_DONE, 0);
+        int total = running.getProgress().getInt(CorImportWorker.KEY_TOTAL, 0);
+        importProgress.setVisibility(View.VISIBLE);
+        importProgress.setMax(Math.max(1, total));
+        importProgress.setProgress(done);
+        tvImportStatus.setVisibility(View.VISIBLE);
+        tvImportStatus.setText(total > 0 ? "Reading COR page " + Math.min(done + 1, total) + " of " + total
+                : "Preparing COR import...");
+    }
 
-        // Group sorted items into Day buckets for the UI Adapter
-        List<DayGroup> groupedList = new ArrayList<>();
-        DayGroup currentGroup = null;
+    @Override
+    public void onDestroyView() {
+        // Pooled holders outlive this view; they reach the fragment only through the adapter's listener
+        if (adapter != null) adapter.listener = null;
+        super.onDestroyView();
+    }
 
-        for (DisplayItem item : displayList) {
-            String dayKey = normalizeDay(item.splitDay);
-            if (currentGroup == null || !currentGroup.dayName.equals(dayKey)) {
-                currentGroup = new DayGroup(dayKey);
-                groupedList.add(currentGroup);
-            }
-            currentGroup.items.add(item.originalItem);
+    @Override
+    public void onDestroy() {
+        super.onDestroy();
+        if (repository != null) {
+            repository.close();
         }
+    }
 
-        rvSchedule.setAdapter(new GroupedScheduleAdapter(groupedList));
+    /**
+     * Reloads the schedule from the first page in the background and submits it to the adapter,
+     * which diffs it against the shown rows off the main thread (so an edit only rebinds the changed rows).
+     * At least as many rows as were already loaded are fetched, so an edit does not collapse a scrolled list.
+     */
+    private void refreshList() {
+        int generation = ++listGeneration;
+        loadingPage = true;
+        repository.getSchedulePage(userEmail, SchedulePage.Key.FIRST, Math.max(PAGE_SIZE, loadedRows),
+                page -> onPageLoaded(generation, page, true));
     }
 
     /**
-     * Standardizes day strings to full names for consistent grouping.
-     * @param day Input string (e.g., "M", "Mon", "Monday").
-     * @return Full capitalized day name (e.g., "MONDAY").
+     * Fetches the page after the last shown row, unless one is already loading or everything is shown.
      */
-    private String normalizeDay(String day) {
-        String d = day.toUpperCase();
-        if(d.startsWith("M")) return "MONDAY";
-        if(d.startsWith("TU")) return "TUESDAY";
-        if(d.startsWith("W")) return "WEDNESDAY";
-        if(d.startsWith("TH")) return "THURSDAY";
-        if(d.startsWith("F")) return "FRIDAY";
-        if(d.startsWith("SA")) return "SATURDAY";
-        if(d.startsWith("SU")) return "SUNDAY";
-        return d;
+    private void loadNextPage() {
+        if (loadingPage || nextPage == null) return;
+        int generation = listGeneration;
+        loadingPage = true;
+        repository.getSchedulePage(userEmail, nextPage, PAGE_SIZE,
+                page -> onPageLoaded(generation, page, false));
     }
 
-    // --- INNER DATA CLASSES FOR UI ---
+    /**
+     * Workflow:
+     * 1. Drops pages of a listing that refreshList has since replaced.
+     * 2. Appends the page to a copy of the shown groups (or to an empty list on refresh) and submits it.
+     * 3. Precomputes the routes between consecutive classes of the loaded days (so this runs after every edit too).
+     */
+    private void onPageLoaded(int generation, SchedulePage page, boolean replace) {
+        // 1. Stale listing
+        if (generation != listGeneration) return;
+        loadingPage = false;
+        if (!isAdded() || page == null) return;
+
+        // 2. Append and submit
+        shownGroups = appendPage(replace ? new ArrayList<>() : shownGroups, page);
+        loadedRows = (replace ? 0 : loadedRows) + page.items.size();
+        nextPage = page.next;
+        adapter.submitList(flatten(shownGroups));
+
+        // 3. Warm the walking routes for the Navigate button
+        List<List<DBManager.ScheduleItem>> days = new ArrayList<>();
+        for (DayGroup group : shownGroups) {
+            if (group.day < ScheduleTime.UNKNOWN_DAY) days.add(group.items);
+        }
+        repository.precomputeRoutes(days, null);
+    }
 
-    /** Wrapper to link a specific day (e.g., "Mon") to the full DB Item. */
-    class DisplayItem {
-        String splitDay;
-        DBManager.ScheduleItem originalItem;
-        public DisplayItem(String d, DBManager.ScheduleItem i) { splitDay = d; originalItem = i; }
+    /**
+     * Adds one page of rows to the end of a day-group listing.
+     * Groups are copied before they are extended, so lists already submitted to the adapter stay unchanged
+     * (its differ compares the old and new snapshots on a background thread).
+     *
+     * @param previous Groups shown so far (not modified).
+     * @param page The next page, in display order.
+     * @return A new list: the previous groups with the page's rows appended.
+     */
+    static List<DayGroup> appendPage(List<DayGroup> previous, SchedulePage page) {
+        List<DayGroup> groups = new ArrayList<>(previous);
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < groups.size(); i++) positions.put(groups.get(i).dayName, i);
+        Set<Integer> copied = new HashSet<>();
+
+        for (int row = 0; row < page.items.size(); row++) {
+            DBManager.ScheduleItem item = page.items.get(row);
+            int day = page.days[row];
+            // Unrecognized days keep their own text as the group name
+            String name = day < ScheduleTime.UNKNOWN_DAY ? DAY_NAMES[day] : (item.day == null ? "" : item.day.toUpperCase());
+            Integer position = positions.get(name);
+            if (position == null) {
+                position = groups.size();
+                groups.add(new DayGroup(name, day));
+                positions.put(name, position);
+                copied.add(position);
+            } else if (copied.add(position)) {
+                groups.set(position, groups.get(position).copy());
+            }
+            groups.get(position).items.add(item);
+        }
+        return groups;
     }
 
-    /** Represents a visual section in the RecyclerView (e.g., "MONDAY" header + list of classes). */
-    class DayGroup {
+    // --- INNER DATA CLASSES FOR UI ---
+
+    /** A day of the schedule: the rows shown under one day header. */
+    static class DayGroup {
         String dayName;
+        int day; // Mon = 0 ... Sun = 6, or ScheduleTime.UNKNOWN_DAY
         List<DBManager.ScheduleItem> items = new ArrayList<>();
-        public DayGroup(String n) { dayName = n; }
+        public DayGroup(String n, int d) { dayName = n; day = d; }
+
+        DayGroup copy() {
+            DayGroup group = new DayGroup(dayName, day);
+            group.items.addAll(items);
+            return group;
+        }
     }
 
-    /** Custom Comparator to sort schedule items by Day index (Mon=1, Sun=7) then by Time. */
-    class ScheduleComparator implements Comparator<DisplayItem> {
-        Map<String, Integer> dayOrder = new HashMap<>();
-        SimpleDateFormat timeFormat = new SimpleDateFormat("hh:mm a", Locale.US);
-
-        public ScheduleComparator() {
-            dayOrder.put("MON", 1); dayOrder.put("MONDAY", 1);
-            dayOrder.put("TUE", 2); dayOrder.put("TUESDAY", 2);
-            dayOrder.put("WED", 3); dayOrder.put("WEDNESDAY", 3);
-            dayOrder.put("THU", 4); dayOrder.put("THURSDAY", 4);
-            dayOrder.put("FRI", 5); dayOrder.put("FRIDAY", 5);
-            dayOrder.put("SAT", 6); dayOrder.put("SATURDAY", 6);
-            dayOrder.put("SUN", 7); dayOrder.put("SUNDAY", 7);
+    /** One entry of the flat RecyclerView list: a day header or a class under it. */
+    static final class ScheduleRow {
+        static final int TYPE_HEADER = 0;
+        static final int TYPE_CLASS = 1;
+
+        final int type;
+        final String dayName;
+        final DBManager.ScheduleItem item; // null for headers
+        final String fromRoom; // Room of the previous class that day (walk starts there), or null
+
+        ScheduleRow(int type, String dayName, DBManager.ScheduleItem item, String fromRoom) {
+            this.type = type;
+            this.dayName = dayName;
+            this.item = item;
+            this.fromRoom = fromRoom;
         }
+    }
 
-        @Override
-        public int compare(DisplayItem o1, DisplayItem o2) {
-            String d1 = normalizeDay(o1.splitDay);
-            String d2 = normalizeDay(o2.splitDay);
-            int order1 = dayOrder.containsKey(d1) ? dayOrder.get(d1) : 99;
-            int order2 = dayOrder.containsKey(d2) ? dayOrder.get(d2) : 99;
+    /**
+     * Flattens day groups into the adapter's list: each day's header followed by its classes.
+     *
+     * @param groups Day groups in display order.
+     * @return One row per header and per class.
+     */
+    static List<ScheduleRow> flatten(List<DayGroup> groups) {
+        int size = groups.size();
+        for (DayGroup group : groups) size += group.items.size();
+        List<ScheduleRow> rows = new ArrayList<>(size);
+        for (DayGroup group : groups) {
+            rows.add(new ScheduleRow(ScheduleRow.TYPE_HEADER, group.dayName, null, null));
+            String prevRoom = null;
+            for (DBManager.ScheduleItem item : group.items) {
+                rows.add(new ScheduleRow(ScheduleRow.TYPE_CLASS, group.dayName, item, prevRoom));
+                prevRoom = item.room;
+            }
+        }
+        return rows;
+    }
 
-            // Primary Sort: Day of Week
-            if (order1 != order2) return Integer.compare(order1, order2);
+    /** Same row = same header, or same class under the same day; same contents = same displayed fields. */
+    static final DiffUtil.ItemCallback<ScheduleRow> ROW_DIFF = new DiffUtil.ItemCallback<ScheduleRow>() {
+        @Override
+        public boolean areItemsTheSame(ScheduleRow oldRow, ScheduleRow newRow) {
+            if (oldRow.type != newRow.type || !oldRow.dayName.equals(newRow.dayName)) return false;
+            return oldRow.type == ScheduleRow.TYPE_HEADER || oldRow.item.id == newRow.item.id;
+        }
 
-            // Secondary Sort: Time
-            try {
-                Date t1 = timeFormat.parse(o1.originalItem.time);
-                Date t2 = timeFormat.parse(o2.originalItem.time);
-                if (t1 != null && t2 != null) return t1.compareTo(t2);
-            } catch (ParseException e) { }
-            return 0;
+        @Override
+        public boolean areContentsTheSame(ScheduleRow oldRow, ScheduleRow newRow) {
+            if (oldRow.type == ScheduleRow.TYPE_HEADER) return true;
+            DBManager.ScheduleItem a = oldRow.item, b = newRow.item;
+            return Objects.equals(a.subject, b.subject) && Objects.equals(a.room, b.room)
+                    && Objects.equals(a.day, b.day) && Objects.equals(a.time, b.time)
+                    && Objects.equals(oldRow.fromRoom, newRow.fromRoom);
         }
-    }
+    };
 
     // --- RECYCLERVIEW ADAPTER ---
 
-    /** * Renders groups of schedules.
-     * Uses a nested layout approach: One View for the Day Title, and a Container Layout for the list of subjects.
+    /** Receives clicks on class rows; set by the fragment that currently shows the adapter. */
+    interface RowListener {
+        void onNavigate(ScheduleRow row);
+        void onEdit(DBManager.ScheduleItem item);
+    }
+
+    private final RowListener rowListener = new RowListener() {
+        @Override
+        public void onNavigate(ScheduleRow row) { navigateTo(row); }
+
+        @Override
+        public void onEdit(DBManager.ScheduleItem item) { showEditDialog(item); }
+    };
+
+    /**
+     * Renders the schedule as a flat list of day headers and class rows (two view types).
+     * Every row is a recyclable ViewHolder: binding only sets text, and click listeners are attached once
+     * when a holder is created, so scrolling neither inflates layouts nor allocates listeners.
+     * Lists are submitted with submitList; only the rows that changed are rebound.
+     * Holders may live on in the activity's shared pool, so they never point at a fragment: clicks go
+     * through the adapter they are bound to (see ClassHolder.listener).
      */
-    class GroupedScheduleAdapter extends RecyclerView.Adapter<GroupedScheduleAdapter.ViewHolder> {
-        List<DayGroup> groups;
+    static class ScheduleAdapter extends ListAdapter<ScheduleRow, RecyclerView.ViewHolder> {
+        RowListener listener; // Cleared in onDestroyView
 
-        public GroupedScheduleAdapter(List<DayGroup> groups) { this.groups = groups; }
+        public ScheduleAdapter() { super(ROW_DIFF); }
 
         @Override
-        public ViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
-            View v = LayoutInflater.from(parent.getContext()).inflate(R.layout.item_schedule, parent, false);
-            return new ViewHolder(v);
+        public int getItemViewType(int position) {
+            return getItem(position).type;
         }
 
         @Override
-        public void onBindViewHolder(ViewHolder holder, int position) {
-            DayGroup group = groups.get(position);
-
-            // Format Day Title vertically (e.g., M\nO\nN)
-            String shortDay = group.dayName.length() >= 3 ? group.dayName.substring(0, 3) : group.dayName;
-            StringBuilder vertBuilder = new StringBuilder();
-            for(int i=0; i<shortDay.length(); i++) {
-                vertBuilder.append(shortDay.charAt(i));
-                if(i < shortDay.length()-1) vertBuilder.append("\n");
-            }
-            holder.tvDayTitle.setText(vertBuilder.toString());
-
-            // Clear previous views to prevent duplication on bind
-            holder.containerSubjects.removeAllViews();
-            LayoutInflater inflater = LayoutInflater.from(holder.itemView.getContext());
-
-            // Inflate and add individual class rows
-            for (DBManager.ScheduleItem item : group.items) {
-                View row = inflater.inflate(R.layout.item_schedule_row, holder.containerSubjects, false);
-                ((TextView)row.findViewById(R.id.tvTime)).setText(item.time);
-                ((TextView)row.findViewById(R.id.tvSubject)).setText(item.subject);
-                ((TextView)row.findViewById(R.id.tvRoom)).setText(item.room);
-
-                // Navigate to Map on click
-                row.findViewById(R.id.btnNavigate).setOnClickListener(v -> {
-                    if (getActivity() instanceof DashboardActivity) {
-                        ((DashboardActivity) getActivity()).switchToMap(item.room);
-                    }
-                });
-
-                // Edit on Long Press
-                row.setOnLongClickListener(v -> {
-                    showEditDialog(item);
-                    return true;
-                });
-                holder.containerSubjects.addView(row);
+        public RecyclerView.ViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
+            LayoutInflater inflater = LayoutInflater.from(parent.getContext());
+            if (viewType == ScheduleRow.TYPE_HEADER) {
+                return new HeaderHolder(inflater.inflate(R.layout.item_schedule_header, parent, false));
             }
+            return new ClassHolder(inflater.inflate(R.layout.item_schedule_row, parent, false));
         }
 
         @Override
-        public int getItemCount() { return groups.size(); }
-
-        class ViewHolder extends RecyclerView.ViewHolder {
-            TextView tvDayTitle;
-            LinearLayout containerSubjects;
-            public ViewHolder(View v) {
-                super(v);
-                tvDayTitle = v.findViewById(R.id.tvDayTitle);
-                containerSubjects = v.findViewById(R.id.containerSubjects);
+        public void onBindViewHolder(RecyclerView.ViewHolder holder, int position) {
+            ScheduleRow row = getItem(position);
+            if (holder instanceof HeaderHolder) {
+                ((HeaderHolder) holder).tvDayTitle.setText(row.dayName);
+                return;
             }
+            ClassHolder classHolder = (ClassHolder) holder;
+            classHolder.row = row;
+            classHolder.tvTime.setText(row.item.time);
+            classHolder.tvSubject.setText(row.item.subject);
+            classHolder.tvRoom.setText(row.item.room);
+        }
+    }
+
+    static final class HeaderHolder extends RecyclerView.ViewHolder {
+        final TextView tvDayTitle;
+
+        HeaderHolder(View v) {
+            super(v);
+            tvDayTitle = v.findViewById(R.id.tvDayTitle);
+        }
+    }
+
+    static final class ClassHolder extends RecyclerView.ViewHolder {
+        final TextView tvTime, tvSubject, tvRoom;
+        ScheduleRow row;
+
+        ClassHolder(View v) {
+            super(v);
+            tvTime = v.findViewById(R.id.tvTime);
+            tvSubject = v.findViewById(R.id.tvSubject);
+            tvRoom = v.findViewById(R.id.tvRoom);
+
+            // Navigate to Map on click
+            v.findViewById(R.id.btnNavigate).setOnClickListener(b -> {
+                RowListener listener = listener();
+                if (listener != null) listener.onNavigate(row);
+            });
+
+            // Edit on Long Press
+            v.setOnLongClickListener(b -> {
+                RowListener listener = listener();
+                if (listener != null) listener.onEdit(row.item);
+                return listener != null;
+            });
+        }
+
+        /**
+         * @return The listener of the adapter this holder is bound to, or null while it sits in the pool.
+         */
+        private RowListener listener() {
+            RecyclerView.Adapter<?> adapter = getBindingAdapter();
+            return adapter instanceof ScheduleAdapter ? ((ScheduleAdapter) adapter).listener : null;
+        }
+    }
+
+    /**
+     * Opens the Map with the walk from the previous class of the day to this one.
+     */
+    private void navigateTo(ScheduleRow row) {
+        if (getActivity() instanceof DashboardActivity) {
+            ((DashboardActivity) getActivity()).switchToMap(row.item.room, row.fromRoom);
         }
     }
 
@@ -332,9 +521,14 @@ public class ScheduleFragment extends Fragment {
 
         tvTitle.setText("Edit " + item.subject);
 
-        // 1. Setup ROOMS Spinner (Fetch from DB)
-        List<String> rooms = dbManager.getAllRoomNames();
-        setupSpinner(spinnerRooms, rooms, item.room);
+        // 1. Setup ROOMS Spinner (Fetch from DB; shows the current room until the list loads)
+        List<String> placeholder = new ArrayList<>();
+        placeholder.add(item.room);
+        setupSpinner(spinnerRooms, placeholder, item.room);
+        repository.getAllRoomNames(rooms -> {
+            if (!isAdded() || rooms == null) return;
+            setupSpinner(spinnerRooms, rooms, item.room);
+        });
 
         // 2. Setup DAYS Spinner (Static List)
         List<String> days = new ArrayList<>();
@@ -367,15 +561,19 @@ public class ScheduleFragment extends Fragment {
             String newTime = spinnerTime.getSelectedItem().toString();
 
             // Perform DB Update
-            boolean success = dbManager.updateScheduleDetails(item.id, newRoom, newDay, newTime);
-
-            if (success) {
-                Toast.makeText(getContext(), "Schedule Updated!", Toast.LENGTH_SHORT).show();
-                refreshList();
-                dialog.dismiss();
-            } else {
-                Toast.makeText(getContext(), "Update failed.", Toast.LENGTH_SHORT).show();
-            }
+            btnSave.setEnabled(false);
+            repository.updateScheduleDetails(item.id, newRoom, newDay, newTime, success -> {
+                if (!isAdded()) return;
+                btnSave.setEnabled(true);
+                if (Boolean.TRUE.equals(success)) {
+                    Toast.makeText(getContext(), "Schedule Updated!", Toast.LENGTH_SHORT).show();
+                    refreshList();
+                    dialog.dismiss();
+                } else {
+                    Toast.makeText(getContext(), "Update failed. This class may already be scheduled at that day and time.",
+                            Toast.LENGTH_SHORT).show();
+                }
+            });
         });
 
         btnCancel.setOnClickListener(view -> dialog.dismiss());
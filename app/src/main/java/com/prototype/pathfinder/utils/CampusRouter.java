@@ -0,0 +1,274 @@
+package com.prototype.pathfinder.utils;
+
+import com.prototype.pathfinder.data.WalkwayGraph;
+
+import java.util.Arrays;
+
+/**
+ * CampusRouter
+ * <p>
+ * Offline walking router over a {@link WalkwayGraph}.
+ * Workflow:
+ * 1. On construction, picks landmarks by farthest-first selection and precomputes the shortest
+ *    distance from and to every landmark (one Dijkstra pass each way per landmark).
+ * 2. Each query runs A* with the ALT heuristic (A*, Landmarks, Triangle inequality):
+ *    h(v) = max over landmarks L of d(L, t) - d(L, v) and d(v, L) - d(t, L).
+ *    It is admissible and consistent for any non-negative edge costs, so edge costs do not
+ *    need to match straight-line distances.
+ * 3. Search state lives in primitive arrays reused across queries; a generation stamp replaces clearing.
+ * <p>
+ * Queries are serialized on the router instance; build one router per graph and share it.
+ */
+public class CampusRouter {
+    public static final int DEFAULT_LANDMARKS = 8;
+
+    private final WalkwayGraph graph;
+    private final int landmarkCount;
+    private final float[][] fromLandmark; // fromLandmark[l][v] = d(landmark l, v)
+    private final float[][] toLandmark; // toLandmark[l][v] = d(v, landmark l)
+
+    // Reused search state
+    private final float[] dist;
+    private final int[] parent;
+    private final int[] seenStamp, closedStamp;
+    private int stamp = 0;
+    private int[] heapNode;
+    private float[] heapKey;
+    private int heapSize;
+
+    /**
+     * A computed walking route.
+     */
+    public static class Route {
+        /** Node indices from start to goal (inclusive). */
+        public final int[] nodes;
+        /** Total cost in meters. */
+        public final float cost;
+        /** Nodes settled by the search (a measure of how much work the query took). */
+        public final int settled;
+
+        Route(int[] nodes, float cost, int settled) {
+            this.nodes = nodes; this.cost = cost; this.settled = settled;
+        }
+    }
+
+    /**
+     * Constructor with {@link #DEFAULT_LANDMARKS} landmarks.
+     * @param graph The walkway graph.
+     */
+    public CampusRouter(WalkwayGraph graph) {
+        this(graph, DEFAULT_LANDMARKS);
+    }
+
+    /**
+     * Constructor
+     * @param graph The walkway graph.
+     * @param landmarks Number of ALT landmarks (0 turns the search into plain Dijkstra).
+     */
+    public CampusRouter(WalkwayGraph graph, int landmarks) {
+        this.graph = graph;
+        int n = graph.size();
+        dist = new float[n];
+        parent = new int[n];
+        seenStamp = new int[n];
+        closedStamp = new int[n];
+        heapNode = new int[Math.max(16, n)];
+        heapKey = new float[heapNode.length];
+
+        int count = Math.min(landmarks, n);
+        fromLandmark = new float[count][];
+        toLandmark = new float[count][];
+        int built = 0;
+        if (count > 0) {
+            // Farthest-first: each new landmark is the node farthest from all chosen ones
+            float[] nearest = new float[n];
+            Arrays.fill(nearest, Float.POSITIVE_INFINITY);
+            int next = 0;
+            while (built < count) {
+                fromLandmark[built] = shortestFrom(next, false);
+                toLandmark[built] = shortestFrom(next, true);
+                built++;
+
+                int far = -1;
+                float farDist = 0;
+                for (int v = 0; v < n; v++) {
+                    float d = fromLandmark[built - 1][v];
+                    if (d < nearest[v]) nearest[v] = d;
+                    if (nearest[v] != Float.POSITIVE_INFINITY && nearest[v] > farDist) {
+                        farDist = nearest[v];
+                        far = v;
+                    }
+                }
+                if (far < 0) break; // Every reachable node already is a landmark
+                next = far;
+            }
+        }
+        landmarkCount = built;
+    }
+
+    /**
+     * @return The graph this router searches.
+     */
+    public WalkwayGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Routes between two locations by their Locations._id.
+     *
+     * @return The route, or null if either location is not on the graph or no path exists.
+     */
+    public Route routeBetweenLocations(long fromLocationId, long toLocationId) {
+        int from = graph.nodeForLocation(fromLocationId);
+        int to = graph.nodeForLocation(toLocationId);
+        if (from < 0 || to < 0) return null;
+        return route(from, to);
+    }
+
+    /**
+     * Shortest path between two node indices.
+     *
+     * @return The route, or null if the goal is unreachable.
+     */
+    public synchronized Route route(int from, int to) {
+        if (from < 0 || to < 0 || from >= graph.size() || to >= graph.size()) return null;
+        nextStamp();
+        heapSize = 0;
+
+        dist[from] = 0;
+        parent[from] = -1;
+        seenStamp[from] = stamp;
+        push(from, heuristic(from, to));
+
+        int settled = 0;
+        int[] start = graph.edgeStart, target = graph.edgeTarget;
+        float[] cost = graph.edgeCost;
+
+        while (heapSize > 0) {
+            int v = pop();
+            if (closedStamp[v] == stamp) continue; // Stale heap entry
+            closedStamp[v] = stamp;
+            settled++;
+            if (v == to) return buildRoute(from, to, settled);
+
+            float dv = dist[v];
+            for (int e = start[v], end = start[v + 1]; e < end; e++) {
+                int w = target[e];
+                if (closedStamp[w] == stamp) continue;
+                float nd = dv + cost[e];
+                if (seenStamp[w] != stamp || nd < dist[w]) {
+                    seenStamp[w] = stamp;
+                    dist[w] = nd;
+                    parent[w] = v;
+                    push(w, nd + heuristic(w, to));
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * ALT lower bound on d(v, t). Terms involving unreachable distances are skipped.
+     */
+    private float heuristic(int v, int t) {
+        float best = 0;
+        for (int l = 0; l < landmarkCount; l++) {
+            float[] fl = fromLandmark[l], tl = toLandmark[l];
+            // d(L, t) <= d(L, v) + d(v, t)
+            float a = fl[t] - fl[v];
+            // d(v, L) <= d(v, t) + d(t, L)
+            float b = tl[v] - tl[t];
+            if (a > best && a != Float.POSITIVE_INFINITY) best = a;
+            if (b > best && b != Float.POSITIVE_INFINITY) best = b;
+        }
+        return best;
+    }
+
+    private Route buildRoute(int from, int to, int settled) {
+        int length = 1;
+        for (int v = to; v != from; v = parent[v]) length++;
+        int[] nodes = new int[length];
+        for (int v = to, i = length - 1; i >= 0; v = parent[v], i--) nodes[i] = v;
+        return new Route(nodes, dist[to], settled);
+    }
+
+    /**
+     * Plain Dijkstra from a source, used for landmark tables.
+     *
+     * @param reverse Walk incoming edges instead (distances towards the source).
+     */
+    private float[] shortestFrom(int source, boolean reverse) {
+        int n = graph.size();
+        float[] d = new float[n];
+        Arrays.fill(d, Float.POSITIVE_INFINITY);
+        int[] start = reverse ? graph.inStart : graph.edgeStart;
+        int[] adj = reverse ? graph.inSource : graph.edgeTarget;
+        float[] cost = reverse ? graph.inCost : graph.edgeCost;
+
+        nextStamp();
+        heapSize = 0;
+        d[source] = 0;
+        push(source, 0);
+        while (heapSize > 0) {
+            int v = pop();
+            if (closedStamp[v] == stamp) continue;
+            closedStamp[v] = stamp;
+            float dv = d[v];
+            for (int e = start[v], end = start[v + 1]; e < end; e++) {
+                int w = adj[e];
+                float nd = dv + cost[e];
+                if (nd < d[w]) {
+                    d[w] = nd;
+                    push(w, nd);
+                }
+            }
+        }
+        return d;
+    }
+
+    private void nextStamp() {
+        if (++stamp == Integer.MAX_VALUE) {
+            Arrays.fill(seenStamp, 0);
+            Arrays.fill(closedStamp, 0);
+            stamp = 1;
+        }
+    }
+
+    // --- Binary min-heap on (key, node) with lazy deletion ---
+
+    private void push(int node, float key) {
+        if (heapSize == heapNode.length) {
+            heapNode = Arrays.copyOf(heapNode, heapSize * 2);
+            heapKey = Arrays.copyOf(heapKey, heapSize * 2);
+        }
+        int i = heapSize++;
+        while (i > 0) {
+            int p = (i - 1) >>> 1;
+            if (heapKey[p] <= key) break;
+            heapNode[i] = heapNode[p];
+            heapKey[i] = heapKey[p];
+            i = p;
+        }
+        heapNode[i] = node;
+        heapKey[i] = key;
+    }
+
+    private int pop() {
+        int top = heapNode[0];
+        int lastNode = heapNode[--heapSize];
+        float lastKey = heapKey[heapSize];
+        int i = 0;
+        int half = heapSize >>> 1;
+        while (i < half) {
+            int c = 2 * i + 1;
+            if (c + 1 < heapSize && heapKey[c + 1] < heapKey[c]) c++;
+            if (lastKey <= heapKey[c]) break;
+            heapNode[i] = heapNode[c];
+            heapKey[i] = heapKey[c];
+            i = c;
+        }
+        heapNode[i] = lastNode;
+        heapKey[i] = lastKey;
+        return top;
+    }
+}
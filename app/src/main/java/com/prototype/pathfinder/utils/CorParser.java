@@ -0,0 +1,260 @@
+package com.prototype.pathfinder.utils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * CorParser
+ * <p>
+ * Turns OCR output of a Certificate of Registration (COR) into structured schedule entries.
+ * Works on positioned text tokens (ML Kit lines or elements with their bounding boxes), so it
+ * has no Android dependency and can be tested on the JVM.
+ * Workflow:
+ * 1. Groups tokens into table rows by vertical overlap (tolerant to slight skew).
+ * 2. Orders each row left to right and joins it into one line of text.
+ * 3. Extracts subject code, days, time range and room from each row; rows without
+ *    both a subject code and a time range (headers, totals, fees) are dropped.
+ * 4. Normalizes days to the app's format ("Mon/Wed/Fri") and times to "9:00 AM - 10:30 AM".
+ */
+public class CorParser {
+
+    // Subject code: 2-6 letters, optional space/dash, 2-3 digits and an optional letter (e.g., "IT 101", "MATH-21A")
+    private static final Pattern SUBJECT = Pattern.compile("\\b([A-Z]{2,6})[ -]?(\\d{2,3}[A-Z]?)\\b");
+    // Time range with optional AM/PM on either side (e.g., "7:30-9:00", "1:00 PM - 2:30 PM", "0730-0900")
+    private static final Pattern TIME_RANGE = Pattern.compile(
+            "\\b(\\d{1,2})[:.]?(\\d{2})\\s*([AP]\\.?M\\.?)?\\s*[-\u2013]\\s*(\\d{1,2})[:.]?(\\d{2})\\s*([AP]\\.?M\\.?)?");
+    // Day block: compact (MWF, TTH, MW, SAT) or separated names (Mon/Wed, Tue Thu)
+    private static final Pattern DAYS = Pattern.compile(
+            "\\b((?:MON|TUE|WED|THU|FRI|SAT|SUN)(?:[/, ]+(?:MON|TUE|WED|THU|FRI|SAT|SUN))*)\\b|\\b((?:TH|SA|SU|M|T|W|F|S)+)\\b");
+    // Room: building letters + number (e.g., "ICS 201", "CAS-104") or a known trailing word like "GYM"
+    private static final Pattern ROOM = Pattern.compile("\\b([A-Z]{2,6}[ -]?\\d{1,4}[A-Z]?|GYM|LAB\\s?\\d*|TBA)\\b");
+
+    private static final String[] DAY_NAMES = {"Mon", "Tue", "Wed", "Thu", "Fri", "Sat", "Sun"};
+    private static final int HALF_DAY = 12 * 60;
+
+    /**
+     * A positioned piece of recognized text (coordinates in image pixels).
+     */
+    public static class Token {
+        public final String text;
+        public final int left, top, right, bottom;
+
+        public Token(String text, int left, int top, int right, int bottom) {
+            this.text = text;
+            this.left = left; this.top = top; this.right = right; this.bottom = bottom;
+        }
+
+        int centerY() { return (top + bottom) / 2; }
+        int height() { return Math.max(1, bottom - top); }
+    }
+
+    /**
+     * One extracted class.
+     */
+    public static class Entry {
+        public final String subject, day, time, room;
+
+        public Entry(String subject, String day, String time, String room) {
+            this.subject = subject; this.day = day; this.time = time; this.room = room;
+        }
+
+        /** @return A de-duplication key (same class on the same days and time). */
+        public String key() {
+            return subject + "|" + day + "|" + time;
+        }
+
+        @Override
+        public String toString() {
+            return subject + " " + day + " " + time + " " + room;
+        }
+    }
+
+    /**
+     * Groups tokens into rows and joins each row left to right.
+     *
+     * @param tokens OCR tokens in any order.
+     * @return Row texts, top to bottom.
+     */
+    public static List<String> groupRows(List<Token> tokens) {
+        List<Token> sorted = new ArrayList<>(tokens);
+        sorted.sort(Comparator.comparingInt(Token::centerY));
+
+        List<List<Token>> rows = new ArrayList<>();
+        List<Token> current = null;
+        int rowCenter = 0, rowHeight = 0;
+        for (Token t : sorted) {
+            // Same row if the centers are within half a line height of each other
+            if (current != null && Math.abs(t.centerY() - rowCenter) <= Math.max(rowHeight, t.height()) / 2) {
+                current.add(t);
+                rowCenter = (rowCenter * (current.size() - 1) + t.centerY()) / current.size();
+                rowHeight = Math.max(rowHeight, t.height());
+            } else {
+                current = new ArrayList<>();
+                current.add(t);
+                rows.add(current);
+                rowCenter = t.centerY();
+                rowHeight = t.height();
+            }
+        }
+
+        List<String> lines = new ArrayList<>(rows.size());
+        StringBuilder sb = new StringBuilder();
+        for (List<Token> row : rows) {
+            row.sort(Comparator.comparingInt(t -> t.left));
+            sb.setLength(0);
+            for (Token t : row) {
+                if (sb.length() > 0) sb.append(' ');
+                sb.append(t.text);
+            }
+            lines.add(sb.toString());
+        }
+        return lines;
+    }
+
+    /**
+     * Parses OCR tokens into schedule entries.
+     *
+     * @param tokens OCR tokens in any order.
+     * @return Entries in row order (duplicates within the page removed).
+     */
+    public static List<Entry> parse(List<Token> tokens) {
+        List<Entry> entries = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (String line : groupRows(tokens)) {
+            Entry e = parseRow(line);
+            if (e != null && seen.add(e.key())) {
+                entries.add(e);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Extracts one entry from a single row of text.
+     *
+     * @param line The row text.
+     * @return The entry, or null if the row is not a class row.
+     */
+    public static Entry parseRow(String line) {
+        String text = line.toUpperCase(Locale.US);
+
+        Matcher time = TIME_RANGE.matcher(text);
+        if (!time.find()) return null;
+        Matcher subject = SUBJECT.matcher(text);
+        if (!subject.find() || subject.start() > time.start()) return null;
+
+        String code = subject.group(1) + " " + subject.group(2);
+        String timeText = formatRange(time);
+        if (timeText == null) return null;
+
+        // Days are searched between the subject code and the time, then after the time
+        String day = findDays(text.substring(subject.end(), time.start()));
+        String tail = text.substring(time.end());
+        if (day == null) day = findDays(tail);
+
+        Matcher room = ROOM.matcher(tail);
+        String roomText = room.find() ? room.group(1) : "TBA";
+
+        return new Entry(code, day == null ? "TBA" : day, timeText, roomText);
+    }
+
+    /**
+     * Normalizes the first day block in the text (e.g., "MWF" -> "Mon/Wed/Fri").
+     *
+     * @return The normalized days, or null if none were found.
+     */
+    static String findDays(String text) {
+        Matcher m = DAYS.matcher(text);
+        while (m.find()) {
+            // Separated names ("MON/WED") reuse the schedule's own day parser
+            int mask = m.group(1) != null ? ScheduleTime.dayMask(m.group(1)) : compactDayMask(m.group(2));
+            if (mask != 0) return formatDays(mask);
+        }
+        return null;
+    }
+
+    /**
+     * Decodes compact day letters ("MWF", "TTH", "SAT"); returns 0 for anything else.
+     */
+    private static int compactDayMask(String block) {
+        int mask = 0;
+        for (int i = 0; i < block.length(); i++) {
+            char c = block.charAt(i);
+            char next = i + 1 < block.length() ? block.charAt(i + 1) : ' ';
+            switch (c) {
+                case 'M': mask |= 1; break;
+                case 'W': mask |= 1 << 2; break;
+                case 'F': mask |= 1 << 4; break;
+                case 'T':
+                    if (next == 'H') { mask |= 1 << 3; i++; } else mask |= 1 << 1;
+                    break;
+                case 'S':
+                    if (next == 'U') { mask |= 1 << 6; i++; }
+                    else { mask |= 1 << 5; if (next == 'A') i++; }
+                    break;
+                default: return 0;
+            }
+        }
+        return mask;
+    }
+
+    private static String formatDays(int mask) {
+        StringBuilder sb = new StringBuilder();
+        for (int d = 0; d < DAY_NAMES.length; d++) {
+            if ((mask & (1 << d)) == 0) continue;
+            if (sb.length() > 0) sb.append('/');
+            sb.append(DAY_NAMES[d]);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Formats a matched time range, inferring AM/PM when the COR omits it.
+     * A marker on one side carries over to the other ("11:30-1:00 PM" starts in the morning);
+     * with no marker at all, 7-11 are morning hours and 12 and 1-6 are afternoon hours.
+     */
+    private static String formatRange(Matcher m) {
+        int h1 = Integer.parseInt(m.group(1)), m1 = Integer.parseInt(m.group(2));
+        int h2 = Integer.parseInt(m.group(4)), m2 = Integer.parseInt(m.group(5));
+        String startMarker = m.group(3), endMarker = m.group(6);
+        if (m1 > 59 || m2 > 59 || h1 > 23 || h2 > 23) return null;
+        if ((startMarker != null && (h1 < 1 || h1 > 12)) || (endMarker != null && (h2 < 1 || h2 > 12))) return null;
+
+        int start, end;
+        if (startMarker == null && endMarker != null) {
+            end = withMarker(h2, m2, endMarker);
+            start = withMarker(h1, m1, endMarker);
+            if (start >= end) start -= HALF_DAY;
+        } else {
+            start = startMarker != null ? withMarker(h1, m1, startMarker) : inferred(h1, m1);
+            end = endMarker != null ? withMarker(h2, m2, endMarker)
+                    : startMarker != null ? withMarker(h2, m2, startMarker) : inferred(h2, m2);
+            if (endMarker == null && end <= start && end + HALF_DAY < 2 * HALF_DAY) end += HALF_DAY;
+        }
+        if (start < 0 || end <= start) return null;
+        return formatClock(start) + " - " + formatClock(end);
+    }
+
+    private static int withMarker(int hour, int minute, String marker) {
+        return (hour % 12 + (marker.charAt(0) == 'P' ? 12 : 0)) * 60 + minute;
+    }
+
+    private static int inferred(int hour, int minute) {
+        if (hour > 12) return hour * 60 + minute; // Already 24-hour
+        int h = hour >= 7 && hour <= 11 ? hour : hour % 12 + 12;
+        return h * 60 + minute;
+    }
+
+    private static String formatClock(int minutes) {
+        int h = minutes / 60, m = minutes % 60;
+        String marker = h >= 12 ? "PM" : "AM";
+        int h12 = h % 12 == 0 ? 12 : h % 12;
+        return String.format(Locale.US, "%d:%02d %s", h12, m, marker);
+    }
+}
@@ -0,0 +1,224 @@
+package com.prototype.pathfinder.utils;
+
+import com.prototype.pathfinder.data.DBManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * LocationGrid
+ * <p>
+ * Uniform-grid spatial index over campus locations, used to render only what the map can show.
+ * Workflow:
+ * 1. Coordinates are copied into primitive arrays and bucketed into grid cells with a counting sort,
+ *    so the whole index is a handful of int/double arrays (no per-point objects).
+ * 2. Viewport queries only visit the cells that overlap the visible bounds.
+ * 3. Clustering snaps points to a zoom-dependent grid; cells with several points become one cluster
+ *    bubble. Every cell touching the viewport is clustered whole, so a cluster's key, count and
+ *    centroid only depend on zoom and cell, and panning keeps existing markers.
+ */
+public class LocationGrid {
+    /** Average number of points per index cell the build aims for. */
+    private static final int TARGET_PER_CELL = 8;
+    /** Approximate on-screen size of a cluster cell in pixels (256 px tiles). */
+    private static final double CLUSTER_CELL_PX = 96;
+    /** At or above this zoom, every point is shown individually. */
+    public static final float MAX_CLUSTER_ZOOM = 19f;
+
+    private final List<DBManager.LocationItem> items;
+    private final double[] lat, lng;
+
+    private final double minLat, minLng, cellDeg;
+    private final int rows, cols;
+    private final int[] cellStart; // CSR offsets: points of cell c are cellItems[cellStart[c] .. cellStart[c + 1])
+    private final int[] cellItems;
+
+    /**
+     * Visitor for viewport queries.
+     */
+    public interface Visitor {
+        void visit(int index);
+    }
+
+    /**
+     * A cluster (or single point) produced by {@link #cluster}.
+     */
+    public static class Cluster {
+        /** Stable identity for the current zoom level (use as marker key). */
+        public final long key;
+        public int count;
+        /** Index of the first point in the cluster (the point itself when count == 1). */
+        public final int first;
+        double sumLat, sumLng;
+
+        Cluster(long key, int first) {
+            this.key = key;
+            this.first = first;
+        }
+
+        public double lat() { return sumLat / count; }
+        public double lng() { return sumLng / count; }
+
+        /**
+         * @return True if both would be drawn identically (same key, first point, size and position).
+         */
+        public boolean sameAs(Cluster other) {
+            return other != null && key == other.key && first == other.first && count == other.count
+                    && sumLat == other.sumLat && sumLng == other.sumLng;
+        }
+    }
+
+    /**
+     * Builds the index.
+     *
+     * @param items The locations to index (kept by reference; do not modify afterwards).
+     */
+    public LocationGrid(List<DBManager.LocationItem> items) {
+        this.items = items;
+        int n = items.size();
+        lat = new double[n];
+        lng = new double[n];
+
+        double loLat = Double.MAX_VALUE, loLng = Double.MAX_VALUE;
+        double hiLat = -Double.MAX_VALUE, hiLng = -Double.MAX_VALUE;
+        for (int i = 0; i < n; i++) {
+            DBManager.LocationItem loc = items.get(i);
+            lat[i] = loc.lat;
+            lng[i] = loc.lng;
+            loLat = Math.min(loLat, loc.lat); hiLat = Math.max(hiLat, loc.lat);
+            loLng = Math.min(loLng, loc.lng); hiLng = Math.max(hiLng, loc.lng);
+        }
+        if (n == 0) {
+            loLat = loLng = hiLat = hiLng = 0;
+        }
+
+        // Square cells sized so each holds about TARGET_PER_CELL points on average.
+        // The second bound keeps thin (e.g., one-street) layouts from producing a huge, empty grid.
+        double spanLat = Math.max(hiLat - loLat, 1e-9);
+        double spanLng = Math.max(hiLng - loLng, 1e-9);
+        double cells = Math.max(1, n / (double) TARGET_PER_CELL);
+        double size = Math.max(Math.sqrt(spanLat * spanLng / cells), Math.max(spanLat, spanLng) / cells);
+
+        minLat = loLat;
+        minLng = loLng;
+        cellDeg = size;
+        rows = (int) (spanLat / size) + 1;
+        cols = (int) (spanLng / size) + 1;
+
+        // Counting sort of point indices by cell
+        int[] cellOf = new int[n];
+        cellStart = new int[rows * cols + 1];
+        for (int i = 0; i < n; i++) {
+            int c = row(lat[i]) * cols + col(lng[i]);
+            cellOf[i] = c;
+            cellStart[c + 1]++;
+        }
+        for (int c = 0; c < rows * cols; c++) cellStart[c + 1] += cellStart[c];
+        cellItems = new int[n];
+        int[] fill = new int[rows * cols];
+        for (int i = 0; i < n; i++) {
+            int c = cellOf[i];
+            cellItems[cellStart[c] + fill[c]++] = i;
+        }
+    }
+
+    /**
+     * @return The number of indexed points.
+     */
+    public int size() {
+        return lat.length;
+    }
+
+    /**
+     * @param index Point index (as passed to a Visitor or Cluster.first).
+     * @return The location at that index.
+     */
+    public DBManager.LocationItem get(int index) {
+        return items.get(index);
+    }
+
+    /**
+     * Visits every point inside the bounding box (inclusive).
+     *
+     * @return The number of points visited.
+     */
+    public int query(double south, double west, double north, double east, Visitor visitor) {
+        if (size() == 0 || north < south || east < west) return 0;
+        int r0 = row(south), r1 = row(north);
+        int c0 = col(west), c1 = col(east);
+        int found = 0;
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                int cell = r * cols + c;
+                for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                    int i = cellItems[k];
+                    double la = lat[i], lo = lng[i];
+                    if (la >= south && la <= north && lo >= west && lo <= east) {
+                        visitor.visit(i);
+                        found++;
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Groups the points inside the bounding box into zoom-dependent clusters.
+     * At or above {@link #MAX_CLUSTER_ZOOM} every point is its own cluster. Below it, the box is widened
+     * to whole cluster cells, so clusters on the edge of the viewport also count their off-screen points.
+     * Their centroid may then lie just outside the box.
+     *
+     * @param zoom Map zoom level (Google Maps scale: 256 px world at zoom 0).
+     * @return Clusters in first-seen order.
+     */
+    public List<Cluster> cluster(double south, double west, double north, double east, float zoom) {
+        Map<Long, Cluster> byKey = new HashMap<>();
+        List<Cluster> out = new ArrayList<>();
+        boolean individual = zoom >= MAX_CLUSTER_ZOOM;
+        // Whole zoom levels only, so small pinches do not reshuffle every cluster
+        long level = (long) Math.max(0, Math.floor(zoom));
+        double size = CLUSTER_CELL_PX * 360.0 / (256.0 * (1L << level));
+
+        if (!individual) {
+            // Cell-aligned bounds; a point on the outer edge belongs to the next cell and gets its own cluster
+            south = Math.floor((south + 90) / size) * size - 90;
+            west = Math.floor((west + 180) / size) * size - 180;
+            north = (Math.floor((north + 90) / size) + 1) * size - 90;
+            east = (Math.floor((east + 180) / size) + 1) * size - 180;
+        }
+        query(south, west, north, east, i -> {
+            // Singles are keyed by point index (>= 0); clusters by zoom level and cell (< 0)
+            long key;
+            if (individual) {
+                key = i;
+            } else {
+                long cy = (long) Math.floor((lat[i] + 90) / size);
+                long cx = (long) Math.floor((lng[i] + 180) / size);
+                key = -1 - ((level << 58) | (cy << 29) | cx);
+            }
+            Cluster cl = byKey.get(key);
+            if (cl == null) {
+                cl = new Cluster(key, i);
+                byKey.put(key, cl);
+                out.add(cl);
+            }
+            cl.count++;
+            cl.sumLat += lat[i];
+            cl.sumLng += lng[i];
+        });
+        return out;
+    }
+
+    private int row(double la) {
+        int r = (int) ((la - minLat) / cellDeg);
+        return r < 0 ? 0 : (r >= rows ? rows - 1 : r);
+    }
+
+    private int col(double lo) {
+        int c = (int) ((lo - minLng) / cellDeg);
+        return c < 0 ? 0 : (c >= cols ? cols - 1 : c);
+    }
+}
@@ -0,0 +1,182 @@
+package com.prototype.pathfinder.utils;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.BitmapRegionDecoder;
+import android.graphics.Rect;
+import android.net.Uri;
+import android.os.Build;
+
+import androidx.exifinterface.media.ExifInterface;
+
+import com.google.mlkit.vision.common.InputImage;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * OcrImageLoader
+ * <p>
+ * Decodes a picked image into an ML Kit InputImage no larger than needed for text recognition.
+ * Camera photos are often 12-48 MP; COR text is still readable at about 2048 px on the long edge,
+ * and recognition time and memory scale with the pixel count.
+ * Workflow:
+ * 1. Reads only the image bounds and the EXIF orientation.
+ * 2. Picks the smallest power-of-two sample size that brings the long edge down to the target.
+ * 3. Decodes the subsampled bitmap (or just a region of it) and wraps it for ML Kit together with
+ *    its rotation, so the pixels are never copied to rotate them upright.
+ */
+public class OcrImageLoader {
+    /** Long-edge target in pixels for recognition input. */
+    public static final int MAX_EDGE = 2048;
+
+    /**
+     * A decoded image plus what is needed to map recognized boxes back to the source file.
+     */
+    public static class Result {
+        public final InputImage image;
+        /** Source-file pixels per decoded pixel. */
+        public final int sampleSize;
+        /** Clockwise degrees that turn the stored pixels upright. */
+        public final int rotation;
+        /** Stored (unrotated) size of the source file. */
+        public final int sourceWidth, sourceHeight;
+        /** Bytes held by the decoded bitmap. */
+        public final int bitmapBytes;
+
+        Result(InputImage image, int sampleSize, int rotation, int sourceWidth, int sourceHeight, int bitmapBytes) {
+            this.image = image;
+            this.sampleSize = sampleSize;
+            this.rotation = rotation;
+            this.sourceWidth = sourceWidth;
+            this.sourceHeight = sourceHeight;
+            this.bitmapBytes = bitmapBytes;
+        }
+
+        /**
+         * Maps a box reported by ML Kit (upright, decoded pixels) back to stored source-file pixels,
+         * e.g., to region-decode just the text area at a finer sample size.
+         */
+        public Rect toSourceRect(Rect upright) {
+            int w = sourceWidth, h = sourceHeight, s = sampleSize;
+            int l = upright.left * s, t = upright.top * s, r = upright.right * s, b = upright.bottom * s;
+            Rect src;
+            switch (rotation) {
+                case 90: src = new Rect(t, h - r, b, h - l); break;
+                case 180: src = new Rect(w - r, h - b, w - l, h - t); break;
+                case 270: src = new Rect(w - b, l, w - t, r); break;
+                default: src = new Rect(l, t, r, b); break;
+            }
+            if (!src.intersect(0, 0, w, h)) src.setEmpty();
+            return src;
+        }
+    }
+
+    private OcrImageLoader() { }
+
+    /**
+     * Decodes the whole image.
+     *
+     * @param context Any context (used for the content resolver).
+     * @param uri The picked image.
+     * @return The downscaled image ready for TextRecognizer.process.
+     * @throws IOException If the image cannot be read or decoded.
+     */
+    public static Result load(Context context, Uri uri) throws IOException {
+        return load(context, uri, null);
+    }
+
+    /**
+     * Decodes the image, or only a region of it through BitmapRegionDecoder.
+     * A region gets its own sample size, so a small text area is decoded at a finer scale
+     * than the whole page would be.
+     *
+     * @param context Any context (used for the content resolver).
+     * @param uri The picked image.
+     * @param region Area in stored source-file pixels, or null for the whole image.
+     * @return The downscaled image ready for TextRecognizer.process.
+     * @throws IOException If the image cannot be read or decoded.
+     */
+    public static Result load(Context context, Uri uri, Rect region) throws IOException {
+        // 1. Bounds and orientation only
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        try (InputStream in = open(context, uri)) {
+            BitmapFactory.decodeStream(in, null, options);
+        }
+        int width = options.outWidth, height = options.outHeight;
+        if (width <= 0 || height <= 0) throw new IOException("Not an image: " + uri);
+        int rotation = readRotation(context, uri);
+
+        // 2. Sample size for the part being decoded
+        Rect area = region == null ? null : new Rect(region);
+        if (area != null && (!area.intersect(0, 0, width, height) || area.isEmpty())) area = null;
+        int decodeWidth = area == null ? width : area.width();
+        int decodeHeight = area == null ? height : area.height();
+        options.inSampleSize = sampleSize(decodeWidth, decodeHeight, MAX_EDGE);
+        options.inJustDecodeBounds = false;
+        options.inPreferredConfig = Bitmap.Config.ARGB_8888;
+
+        // 3. Decode
+        Bitmap bitmap;
+        try (InputStream in = open(context, uri)) {
+            if (area == null) {
+                bitmap = BitmapFactory.decodeStream(in, null, options);
+            } else {
+                BitmapRegionDecoder decoder = newRegionDecoder(in);
+                try {
+                    bitmap = decoder.decodeRegion(area, options);
+                } finally {
+                    decoder.recycle();
+                }
+            }
+        }
+        if (bitmap == null) throw new IOException("Cannot decode " + uri);
+        return new Result(InputImage.fromBitmap(bitmap, rotation), options.inSampleSize, rotation,
+                width, height, bitmap.getAllocationByteCount());
+    }
+
+    /**
+     * Opens a region decoder through the API 31 overload when available; the older one is deprecated there.
+     */
+    @SuppressWarnings("deprecation")
+    private static BitmapRegionDecoder newRegionDecoder(InputStream in) throws IOException {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.S) return BitmapRegionDecoder.newInstance(in);
+        return BitmapRegionDecoder.newInstance(in, false);
+    }
+
+    /**
+     * @return The smallest power of two that brings the long edge to at most maxEdge.
+     */
+    static int sampleSize(int width, int height, int maxEdge) {
+        int longEdge = Math.max(width, height);
+        int sample = 1;
+        while (longEdge / sample > maxEdge) sample *= 2;
+        return sample;
+    }
+
+    /**
+     * @return Clockwise rotation from the EXIF orientation tag (0 if absent or unreadable).
+     */
+    private static int readRotation(Context context, Uri uri) {
+        try (InputStream in = open(context, uri)) {
+            int orientation = new ExifInterface(in).getAttributeInt(
+                    ExifInterface.TAG_ORIENTATION, ExifInterface.ORIENTATION_NORMAL);
+            switch (orientation) {
+                case ExifInterface.ORIENTATION_ROTATE_90: return 90;
+                case ExifInterface.ORIENTATION_ROTATE_180: return 180;
+                case ExifInterface.ORIENTATION_ROTATE_270: return 270;
+                default: return 0;
+            }
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static InputStream open(Context context, Uri uri) throws IOException {
+        InputStream in = context.getContentResolver().openInputStream(uri);
+        if (in == null) throw new IOException("Cannot open " + uri);
+        return in;
+    }
+}
@@ -0,0 +1,195 @@
+package com.prototype.pathfinder.utils;
+
+import com.prototype.pathfinder.data.DBManager;
+import com.prototype.pathfinder.data.StoryCodec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RecommendationCache
+ * <p>
+ * Two-tier cache of computed recommendations keyed by (test scores, quantized survey, catalog version).
+ * The memory tier is a small least-recently-used map; the disk tier is the recommendation_cache table,
+ * which survives restarts and is also trimmed least recently used first. Because the catalog version is part of the key and triggers on the Programs
+ * table bump it (and clear the table), a catalog change can never serve stale results.
+ * <p>
+ * Workflow:
+ * 1. Build the key from the inputs and DBManager.getCatalogVersion (see key).
+ * 2. get: memory tier, then disk tier (promoted to memory on a hit), otherwise a miss.
+ * 3. After computing on a miss, put stores the result in both tiers.
+ * Callers always receive their own copies, since saving results assigns row IDs to them.
+ */
+public class RecommendationCache {
+    /** Default number of keys kept in memory by the shared cache. */
+    public static final int DEFAULT_MAX_ENTRIES = 64;
+
+    // Survey interests are normalized to 0.0 - 1.0; 1/20 steps keep every 1-5 answer (and their averages) distinct
+    private static final int SURVEY_STEPS = 20;
+
+    // 2: text fields as StoryCodec fields (int length + UTF-8) instead of writeUTF
+    private static final int FORMAT_VERSION = 2;
+    // Larger payloads stay in memory only; a cursor window could not read them back anyway
+    static final int MAX_PAYLOAD_BYTES = 256 * 1024;
+
+    private static final RecommendationCache SHARED = new RecommendationCache(DEFAULT_MAX_ENTRIES);
+
+    private final LinkedHashMap<String, List<RecommendationEngine.Recommendation>> entries;
+    private int memoryHits = 0, diskHits = 0, misses = 0;
+
+    /**
+     * Constructor
+     * @param maxEntries Number of keys kept in memory; least recently used keys are evicted beyond it.
+     */
+    public RecommendationCache(final int maxEntries) {
+        entries = new LinkedHashMap<String, List<RecommendationEngine.Recommendation>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<RecommendationEngine.Recommendation>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * @return The process-wide cache used by DataRepository.
+     */
+    public static RecommendationCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * Builds a cache key. Test scores are exact; survey values are quantized so equal answers
+     * always map to the same key despite floating point noise.
+     */
+    public static String key(int quant, int verbal, int logical,
+                             double surveyQuant, double surveyVerbal, double surveyLogical, long catalogVersion) {
+        return "c" + catalogVersion + "|t" + quant + "," + verbal + "," + logical +
+                "|s" + Math.round(surveyQuant * SURVEY_STEPS) + "," + Math.round(surveyVerbal * SURVEY_STEPS) +
+                "," + Math.round(surveyLogical * SURVEY_STEPS);
+    }
+
+    /**
+     * Looks a key up in memory, then on disk.
+     *
+     * @param key A key from key.
+     * @param dbManager Open DBManager for the disk tier, or null for memory only.
+     * @return Copies of the cached recommendations, or null on a miss.
+     */
+    public List<RecommendationEngine.Recommendation> get(String key, DBManager dbManager) {
+        synchronized (this) {
+            List<RecommendationEngine.Recommendation> cached = entries.get(key);
+            if (cached != null) {
+                memoryHits++;
+                return copyOf(cached);
+            }
+        }
+
+        // Disk I/O happens outside the lock so memory hits from other threads are never blocked
+        byte[] payload = dbManager == null ? null : dbManager.getCachedRecommendations(key);
+        List<RecommendationEngine.Recommendation> stored = payload == null ? null : decode(payload);
+        synchronized (this) {
+            if (stored == null) {
+                misses++;
+                return null;
+            }
+            diskHits++;
+            entries.put(key, stored);
+            return copyOf(stored);
+        }
+    }
+
+    /**
+     * Stores freshly computed recommendations in both tiers.
+     * Recommendations that cannot be encoded for the disk tier are kept in memory only.
+     *
+     * @param key A key from key.
+     * @param recs The recommendations (copied; the caller keeps ownership).
+     * @param dbManager Open DBManager for the disk tier, or null for memory only.
+     */
+    public void put(String key, List<RecommendationEngine.Recommendation> recs, DBManager dbManager) {
+        List<RecommendationEngine.Recommendation> stored = copyOf(recs);
+        synchronized (this) {
+            entries.put(key, stored);
+        }
+        if (dbManager == null) return;
+        byte[] payload = encode(stored);
+        if (payload != null) dbManager.putCachedRecommendations(key, payload);
+    }
+
+    /**
+     * Drops the memory tier (the disk tier is cleared by the catalog triggers).
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() { return entries.size(); }
+    public synchronized int memoryHitCount() { return memoryHits; }
+    public synchronized int diskHitCount() { return diskHits; }
+    public synchronized int hitCount() { return memoryHits + diskHits; }
+    public synchronized int missCount() { return misses; }
+
+    private static List<RecommendationEngine.Recommendation> copyOf(List<RecommendationEngine.Recommendation> recs) {
+        List<RecommendationEngine.Recommendation> copy = new ArrayList<>(recs.size());
+        for (RecommendationEngine.Recommendation r : recs) copy.add(r.copy());
+        return copy;
+    }
+
+    /**
+     * Payload layout: format version byte, count, then per recommendation the program name,
+     * match percent, the three radar scores and the five story fields (text as StoryCodec fields).
+     *
+     * @return The payload, or null if it would exceed MAX_PAYLOAD_BYTES.
+     */
+    static byte[] encode(List<RecommendationEngine.Recommendation> recs) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeInt(recs.size());
+            for (RecommendationEngine.Recommendation r : recs) {
+                StoryCodec.writeField(out, r.program);
+                out.writeInt(r.matchPercent);
+                for (int value : r.radarValues) out.writeInt(value);
+                for (String field : new String[]{r.storyWhy, r.storyHistory, r.storyCareers,
+                        r.itemInsight, r.hardestLogical}) {
+                    StoryCodec.writeField(out, field);
+                }
+                if (bytes.size() > MAX_PAYLOAD_BYTES) return null;
+            }
+        } catch (IOException e) {
+            return null;
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @return The decoded recommendations, or null if the payload is corrupt or of an older format
+     *         (treated as a miss, and overwritten by the next put).
+     */
+    static List<RecommendationEngine.Recommendation> decode(byte[] payload) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            if (in.readUnsignedByte() != FORMAT_VERSION) return null;
+            int count = in.readInt();
+            if (count < 0 || count > payload.length) return null;
+            List<RecommendationEngine.Recommendation> recs = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String program = StoryCodec.readField(in);
+                int match = in.readInt();
+                int q = in.readInt(), v = in.readInt(), l = in.readInt();
+                recs.add(new RecommendationEngine.Recommendation(program, match, StoryCodec.readField(in),
+                        StoryCodec.readField(in), StoryCodec.readField(in), StoryCodec.readField(in),
+                        StoryCodec.readField(in), q, v, l));
+            }
+            return recs;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
@@ -1,28 +1,38 @@
 package com.prototype.pathfinder.utils;
 
+import android.os.Parcel;
+import android.os.Parcelable;
+
 import com.prototype.pathfinder.data.DBManager;
-import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
 public class RecommendationEngine {
+    private static final int TOP_K = 3;
+
     private DBManager dbManager;
+    private final RecommendationCache cache;
+    // Reused by StoryTemplates while rendering the winners of one call
+    private final StringBuilder story = new StringBuilder(256);
 
     public RecommendationEngine(DBManager mgr) {
+        this(mgr, null);
+    }
+
+    /**
+     * @param mgr Source of test scores and the program catalog.
+     * @param cache Results are looked up here before scoring and stored after; null scores every call.
+     */
+    public RecommendationEngine(DBManager mgr, RecommendationCache cache) {
         this.dbManager = mgr;
+        this.cache = cache;
     }
 
     public List<Recommendation> computeRecommendations(String testId, Map<String, Integer> surveyScores) {
         Map<String, Integer> testScores = dbManager.getScoresById(testId);
         if (testScores.isEmpty()) return new ArrayList<>();
 
-        List<DBManager.Program> programs = dbManager.getAllPrograms();
-        List<Recommendation> recs = new ArrayList<>();
-
-        double testWeight = 0.7;
-        double surveyWeight = 0.3;
         double quant = testScores.get("quant") / 100.0;
         double verbal = testScores.get("verbal") / 100.0;
         double logical = testScores.get("logical") / 100.0;
@@ -33,81 +43,63 @@ public class RecommendationEngine {
         int creative = surveyScores.getOrDefault("creative_interest", 0);
         if (creative > 0) surveyVerbal = (surveyVerbal + normalize(creative, 5)) / 2.0;
 
-        for (DBManager.Program prog : programs) {
-            double match = testWeight * (quant * prog.reqQuant + verbal * prog.reqVerbal + logical * prog.reqLogical) +
-                    surveyWeight * (surveyQuant * prog.reqQuant + surveyVerbal * prog.reqVerbal + surveyLogical * prog.reqLogical);
-            match = Math.min(1.0, match) * 100;
-
-            recs.add(generateRecommendation(testScores, prog, (int) match));
+        // Same scores, answers and catalog give the same result; skip loading and scoring the catalog
+        String key = null;
+        if (cache != null) {
+            key = RecommendationCache.key(testScores.get("quant"), testScores.get("verbal"), testScores.get("logical"),
+                    surveyQuant, surveyVerbal, surveyLogical, dbManager.getCatalogVersion());
+            List<Recommendation> cached = cache.get(key, dbManager);
+            if (cached != null) return cached;
         }
 
-        Collections.sort(recs, (a, b) -> Integer.compare(b.matchPercent, a.matchPercent));
-        return recs.subList(0, Math.min(3, recs.size()));
+        ScoringEngine scorer = new ScoringEngine(dbManager.getProgramCatalog());
+        List<Recommendation> recs = new ArrayList<>();
+
+        // Score the whole catalog in one pass, keeping only the winners
+        int[] topIndex = new int[TOP_K];
+        int[] topScore = new int[TOP_K];
+        int count = scorer.topK(quant, verbal, logical, surveyQuant, surveyVerbal, surveyLogical,
+                TOP_K, topIndex, topScore);
+
+        // Narrative text is only generated for the winners
+        for (int i = 0; i < count; i++) {
+            DBManager.Program prog = scorer.getCatalog().get(topIndex[i]);
+            recs.add(generateRecommendation(testScores, prog, topScore[i]));
+        }
+        if (cache != null) cache.put(key, recs, dbManager);
+        return recs;
     }
 
     private double normalize(int score, int max) { return score / (double) max; }
 
+    /**
+     * Fills the story fields for one winning program from StoryTemplates.
+     * Only the "why" text has placeholders; every other field is a shared constant.
+     */
     private Recommendation generateRecommendation(Map<String, Integer> scores, DBManager.Program prog, int match) {
         int q = scores.get("quant");
         int v = scores.get("verbal");
         int l = scores.get("logical");
 
-        // === PERSONALIZED WHY ===
-        String whyFit;
-        if (prog.reqQuant > 0.7 && q > 75 && l > 75) {
-            whyFit = "Your Logic (" + l + ") and Math (" + q + ") scores define you as an 'Analytical Architect'. This course demands exactly that brainpower.";
-        } else if (prog.reqVerbal > 0.7 && v > 75) {
-            whyFit = "You are a 'Master Communicator' (Verbal: " + v + "). This program thrives on the articulation skills you already possess.";
-        } else {
-            whyFit = "Your balanced scorecard makes you a 'Versatile Adaptor'. You have the grit to handle the mixed demands of this field.";
-        }
-
-        // === SUCCESS HISTORY ===
-        String history;
-        if (match > 85) history = "Data shows students with your profile have a 92% graduation rate and often land in the Dean's List.";
-        else history = "Students with this profile typically find success by leveraging peer study groups to bridge specific gaps.";
-
-        // === CAREERS ===
-        String careers = getJobsForProgram(prog.name);
-
-        // === MOCK ITEM-LEVEL INSIGHT (The Hardest Logical Question!) ===
-        String itemInsight;
-        String hardestLogical;
-
-        if (l >= 90) {
-            itemInsight = "You got 19/20 logical reasoning questions correct.\n\n" +
-                    "You are among the rare 8% who solved Question #17 — the infamous \"Circular Table Seating with 7 Constraints\" problem from the CMU College Admission Test.\n\n" +
-                    "This question has been the hardest logical item for the past 5 years. Only top 8% of all examinees get it right.\n\n" +
-                    "You didn’t just pass — you dominated.";
-            hardestLogical = "Q17 – Circular Seating Puzzle\nDifficulty: 92nd percentile\nYour Answer: Correct";
-        } else if (l >= 75) {
-            itemInsight = "Strong logical performance (15–18 correct).\n\n" +
-                    "You handled complex pattern recognition and conditional logic exceptionally well.\n\n" +
-                    "You were close on the legendary Q17 — most students miss it entirely.";
-            hardestLogical = "Q17 – Circular Seating\nYou attempted it bravely. Only 8% succeed.";
-        } else {
-            itemInsight = "Logical reasoning is your growth zone.\n\n" +
-                    "The hardest item (Q17) tripped up 92% of all test-takers — you're in the majority.\n\n" +
-                    "With focused practice, students like you often jump 20+ points.";
-            hardestLogical = "Q17 – The Impossible One\n92% miss it. You're not alone.";
-        }
-
-        return new Recommendation(prog.name, match, whyFit, history, careers, itemInsight, hardestLogical, q, v, l);
-    }
-
-    private String getJobsForProgram(String programName) {
-        switch (programName.toUpperCase()) {
-            case "BSIT": return "Software Engineer\nFull-Stack Developer\nCybersecurity Analyst";
-            case "BSEE": return "Electrical Engineer\nAutomation Specialist\nRenewable Energy Engineer";
-            case "BSOA": return "Executive Assistant\nOffice Manager\nHR Coordinator";
-            case "BSBA": return "Business Analyst\nMarketing Manager\nEntrepreneur";
-            case "BSCE": return "Civil Engineer\nStructural Designer\nProject Manager";
-            default: return "Specialist • Leader • Innovator";
-        }
+        return new Recommendation(prog.name, match,
+                StoryTemplates.why(story, prog, q, v, l),
+                StoryTemplates.history(match),
+                StoryTemplates.careers(prog),
+                StoryTemplates.insight(l),
+                StoryTemplates.hardest(l),
+                q, v, l);
     }
 
     // === UPDATED RECOMMENDATION CLASS ===
-    public static class Recommendation implements Serializable {
+
+    /**
+     * One recommended program with its story.
+     * Parcelled compactly: a recommendation already stored in the results table (id > 0) travels as
+     * its summary only (ID, program, match, radar scores); the receiver loads the story fields from the
+     * store when it needs them (see hasStory). Unsaved recommendations carry their full text.
+     */
+    public static class Recommendation implements Parcelable {
+        public long id; // results._id once stored, 0 otherwise
         public String program;
         public int matchPercent;
         public String storyWhy;
@@ -123,5 +115,74 @@ public class RecommendationEngine {
             itemInsight = insight; hardestLogical = hardest;
             radarValues[0] = q; radarValues[1] = v; radarValues[2] = l;
         }
+
+        /**
+         * @return An independent copy (same ID and story).
+         */
+        public Recommendation copy() {
+            Recommendation r = new Recommendation(program, matchPercent, storyWhy, storyHistory, storyCareers,
+                    itemInsight, hardestLogical, radarValues[0], radarValues[1], radarValues[2]);
+            r.id = id;
+            return r;
+        }
+
+        protected Recommendation(Parcel in) {
+            id = in.readLong();
+            program = in.readString();
+            matchPercent = in.readInt();
+            radarValues[0] = in.readInt();
+            radarValues[1] = in.readInt();
+            radarValues[2] = in.readInt();
+            if (in.readInt() != 0) {
+                storyWhy = in.readString();
+                storyHistory = in.readString();
+                storyCareers = in.readString();
+                itemInsight = in.readString();
+                hardestLogical = in.readString();
+            }
+        }
+
+        /**
+         * @return false for a stored recommendation received as a summary; load it by ID for the story.
+         */
+        public boolean hasStory() {
+            return storyWhy != null;
+        }
+
+        @Override
+        public void writeToParcel(Parcel dest, int flags) {
+            dest.writeLong(id);
+            dest.writeString(program);
+            dest.writeInt(matchPercent);
+            dest.writeInt(radarValues[0]);
+            dest.writeInt(radarValues[1]);
+            dest.writeInt(radarValues[2]);
+            boolean withStory = id <= 0 && hasStory();
+            dest.writeInt(withStory ? 1 : 0);
+            if (withStory) {
+                dest.writeString(storyWhy);
+                dest.writeString(storyHistory);
+                dest.writeString(storyCareers);
+                dest.writeString(itemInsight);
+                dest.writeString(hardestLogical);
+            }
+        }
+
+        @Override
+        public int describeContents() {
+            return 0;
+        }
+
+        public static final Creator<Recommendation> CREATOR = new Creator<Recommendation>() {
+            @Override
+            public Recommendation createFromParcel(Parcel in) {
+                return new Recommendation(in);
+            }
+
+            @Override
+            public Recommendation[] newArray(int size) {
+                return new Recommendation[size];
+            }
+        };
     }
 }
\ No newline at end of file
@@ -0,0 +1,99 @@
+package com.prototype.pathfinder.utils;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * RouteCache
+ * <p>
+ * Least-recently-used cache of walking routes keyed by (from, to) location IDs.
+ * Routes are stored as flattened [lat0, lng0, lat1, lng1, ...] polylines so drawing a
+ * cached route needs no graph access at all.
+ * The cache is bounded by an estimate of its memory use rather than by entry count,
+ * since route lengths vary widely.
+ */
+public class RouteCache {
+    /** Default memory budget for the shared cache. */
+    public static final long DEFAULT_MAX_BYTES = 512 * 1024;
+
+    // Rough per-entry overhead: map node, boxed key, array header
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+
+    private static final RouteCache SHARED = new RouteCache(DEFAULT_MAX_BYTES);
+
+    private final long maxBytes;
+    private final LinkedHashMap<Long, double[]> routes = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes = 0;
+    private int hits = 0, misses = 0;
+
+    /**
+     * Constructor
+     * @param maxBytes Memory budget; least recently used routes are evicted beyond it.
+     */
+    public RouteCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * @return The process-wide cache used by the schedule and map screens.
+     */
+    public static RouteCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * @return The cached polyline, or null (counts as a miss).
+     */
+    public synchronized double[] get(long fromLocationId, long toLocationId) {
+        double[] route = routes.get(key(fromLocationId, toLocationId));
+        if (route == null) misses++; else hits++;
+        return route;
+    }
+
+    /**
+     * @return true if the pair is cached; does not affect recency or hit counters.
+     */
+    public synchronized boolean contains(long fromLocationId, long toLocationId) {
+        return routes.containsKey(key(fromLocationId, toLocationId));
+    }
+
+    /**
+     * Stores a route, evicting least recently used entries to stay within the budget.
+     * Routes larger than the whole budget are not cached.
+     */
+    public synchronized void put(long fromLocationId, long toLocationId, double[] polyline) {
+        long size = sizeOf(polyline);
+        if (size > maxBytes) return;
+        double[] old = routes.put(key(fromLocationId, toLocationId), polyline);
+        if (old != null) bytes -= sizeOf(old);
+        bytes += size;
+
+        Iterator<Map.Entry<Long, double[]>> it = routes.entrySet().iterator();
+        while (bytes > maxBytes && it.hasNext()) {
+            bytes -= sizeOf(it.next().getValue());
+            it.remove();
+        }
+    }
+
+    /**
+     * Drops every route (e.g., after the walkway graph changes).
+     */
+    public synchronized void clear() {
+        routes.clear();
+        bytes = 0;
+    }
+
+    public synchronized int size() { return routes.size(); }
+    public synchronized long sizeBytes() { return bytes; }
+    public synchronized int hitCount() { return hits; }
+    public synchronized int missCount() { return misses; }
+
+    private static long key(long from, long to) {
+        return (from << 32) ^ (to & 0xffffffffL);
+    }
+
+    private static long sizeOf(double[] polyline) {
+        return ENTRY_OVERHEAD_BYTES + 8L * polyline.length;
+    }
+}
@@ -0,0 +1,147 @@
+package com.prototype.pathfinder.utils;
+
+import java.util.Locale;
+
+/**
+ * ScheduleTime
+ * <p>
+ * Parses the free-text day and time strings stored with a schedule entry
+ * (e.g., "Mon/Wed", "9:00 AM") into integers.
+ * Parsing is done once when an entry is written, so list rendering only compares ints.
+ */
+public final class ScheduleTime {
+    public static final int MINUTES_PER_DAY = 24 * 60;
+    public static final int DAYS_PER_WEEK = 7;
+
+    /** Sort position used for day strings that are not recognized (after Sunday). */
+    public static final int UNKNOWN_DAY = DAYS_PER_WEEK;
+
+    /**
+     * Stored start/end minute of a time slot that cannot be parsed.
+     * Past the last minute of the day, so such entries sort after every timed class of their day.
+     */
+    public static final int UNKNOWN_MINUTE = MINUTES_PER_DAY;
+
+    /** Assumed class length when the stored time slot has no end time. */
+    public static final int DEFAULT_CLASS_MINUTES = 60;
+
+    private ScheduleTime() { }
+
+    /**
+     * Maps a single day token to its index (Mon = 0 ... Sun = 6).
+     * Uses the same prefix rules as the schedule screen ("M", "Tu", "W", "Th", "F", "Sa", "Su").
+     *
+     * @param day A single day token (e.g., "Mon", "TUESDAY").
+     * @return The day index, or -1 if not recognized.
+     */
+    public static int dayIndex(String day) {
+        if (day == null) return -1;
+        String d = day.trim().toUpperCase(Locale.US);
+        if (d.startsWith("M")) return 0;
+        if (d.startsWith("TU")) return 1;
+        if (d.startsWith("W")) return 2;
+        if (d.startsWith("TH")) return 3;
+        if (d.startsWith("F")) return 4;
+        if (d.startsWith("SA")) return 5;
+        if (d.startsWith("SU")) return 6;
+        return -1;
+    }
+
+    /**
+     * Converts a day string into a bitmask (bit 0 = Mon ... bit 6 = Sun).
+     *
+     * @param days A day string such as "Mon/Wed" or "Tue, Thu".
+     * @return The bitmask of recognized days, or 0 if none were recognized.
+     */
+    public static int dayMask(String days) {
+        if (days == null) return 0;
+        int mask = 0;
+        for (String token : days.split("[/, ]+")) {
+            int idx = dayIndex(token);
+            if (idx >= 0) mask |= 1 << idx;
+        }
+        return mask;
+    }
+
+    /**
+     * @param day Day index (Mon = 0 ... Sun = 6).
+     * @return The single-bit mask for that day.
+     */
+    public static int dayBit(int day) {
+        return 1 << day;
+    }
+
+    /**
+     * Parses the start of a time slot into the value stored with a schedule entry.
+     *
+     * @param time The time string.
+     * @return Start minute since midnight, or {@link #UNKNOWN_MINUTE} if it cannot be parsed.
+     */
+    public static int startMinute(String time) {
+        int start = parseMinutes(time);
+        return start < 0 ? UNKNOWN_MINUTE : start;
+    }
+
+    /**
+     * Parses the end of a time slot such as "9:00 AM - 10:30 AM" into the value stored with a schedule entry.
+     * When no end time is present the class is assumed to last {@link #DEFAULT_CLASS_MINUTES}.
+     *
+     * @param time The time string.
+     * @return End minute since midnight, or {@link #UNKNOWN_MINUTE} if the start cannot be parsed.
+     */
+    public static int endMinute(String time) {
+        int start = parseMinutes(time);
+        if (start < 0) return UNKNOWN_MINUTE;
+        int dash = time.indexOf('-');
+        if (dash >= 0) {
+            int end = parseMinutes(time.substring(dash + 1));
+            if (end > start) return end;
+        }
+        return Math.min(MINUTES_PER_DAY - 1, start + DEFAULT_CLASS_MINUTES);
+    }
+
+    /**
+     * Parses a clock time into minutes since midnight.
+     * Accepts "9:00 AM", "9:00AM", "09:00 pm", "9 AM" and 24-hour "13:30".
+     * Trailing text (e.g., an end time) is ignored.
+     *
+     * @param time The time string.
+     * @return Minutes since midnight, or -1 if the string cannot be parsed.
+     */
+    public static int parseMinutes(String time) {
+        if (time == null) return -1;
+        String t = time.trim().toUpperCase(Locale.US);
+        int n = t.length();
+        int i = 0;
+
+        int hour = 0, hourDigits = 0;
+        while (i < n && Character.isDigit(t.charAt(i))) {
+            hour = hour * 10 + (t.charAt(i++) - '0');
+            hourDigits++;
+        }
+        if (hourDigits == 0 || hourDigits > 2) return -1;
+
+        int minute = 0;
+        if (i < n && t.charAt(i) == ':') {
+            i++;
+            int minuteDigits = 0;
+            while (i < n && Character.isDigit(t.charAt(i))) {
+                minute = minute * 10 + (t.charAt(i++) - '0');
+                minuteDigits++;
+            }
+            if (minuteDigits != 2) return -1;
+        }
+
+        while (i < n && t.charAt(i) == ' ') i++;
+        if (t.startsWith("AM", i) || t.startsWith("A.M", i)) {
+            if (hour < 1 || hour > 12) return -1;
+            hour = hour % 12;
+        } else if (t.startsWith("PM", i) || t.startsWith("P.M", i)) {
+            if (hour < 1 || hour > 12) return -1;
+            hour = hour % 12 + 12;
+        }
+
+        if (hour > 23 || minute > 59) return -1;
+        return hour * 60 + minute;
+    }
+}
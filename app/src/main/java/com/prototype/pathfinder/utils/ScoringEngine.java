@@ -0,0 +1,153 @@
+package com.prototype.pathfinder.utils;
+
+import com.prototype.pathfinder.data.ProgramCatalog;
+
+import java.nio.DoubleBuffer;
+
+/**
+ * ScoringEngine
+ * <p>
+ * Scores an entire ProgramCatalog against one student profile in a single pass.
+ * Workflow:
+ * 1. Walks the primitive weight columns in one tight loop (no boxing, no allocation); array-backed
+ *    columns are read as arrays, memory-mapped ones with absolute gets straight from the mapped pages.
+ * 2. Keeps only the best K rows in a bounded min-heap of (score, index) pairs.
+ * 3. Returns the winners best-first; ties keep catalog order, like a stable sort would.
+ */
+public class ScoringEngine {
+    public static final double TEST_WEIGHT = 0.7;
+    public static final double SURVEY_WEIGHT = 0.3;
+
+    private final ProgramCatalog catalog;
+
+    // Reused heap storage (index 0 is the current worst winner)
+    private int[] heapScore = new int[0];
+    private int[] heapIndex = new int[0];
+
+    /**
+     * Constructor
+     * @param catalog The program catalog to score against.
+     */
+    public ScoringEngine(ProgramCatalog catalog) {
+        this.catalog = catalog;
+    }
+
+    public ProgramCatalog getCatalog() {
+        return catalog;
+    }
+
+    /**
+     * Computes the top-K matching programs for a student.
+     * Test scores are expected on a 0.0 - 1.0 scale, survey interests likewise.
+     *
+     * @param quant Normalized quantitative test score.
+     * @param verbal Normalized verbal test score.
+     * @param logical Normalized logical test score.
+     * @param surveyQuant Normalized quantitative interest.
+     * @param surveyVerbal Normalized verbal interest.
+     * @param surveyLogical Normalized logical interest.
+     * @param k Maximum number of winners to keep.
+     * @param outIndex Receives the catalog row of each winner, best first (length >= k).
+     * @param outScore Receives the match percent of each winner, best first (length >= k).
+     * @return The number of winners written (min(k, catalog size)).
+     */
+    public int topK(double quant, double verbal, double logical,
+                    double surveyQuant, double surveyVerbal, double surveyLogical,
+                    int k, int[] outIndex, int[] outScore) {
+        int n = catalog.size();
+        if (k <= 0 || n == 0) return 0;
+        if (heapScore.length < k) {
+            heapScore = new int[k];
+            heapIndex = new int[k];
+        }
+
+        DoubleBuffer bq = catalog.reqQuant;
+        DoubleBuffer bv = catalog.reqVerbal;
+        DoubleBuffer bl = catalog.reqLogical;
+        int size = 0;
+
+        if (bq.hasArray() && bv.hasArray() && bl.hasArray()) {
+            double[] rq = bq.array();
+            double[] rv = bv.array();
+            double[] rl = bl.array();
+            for (int i = 0; i < n; i++) {
+                size = offer(score(quant, verbal, logical, surveyQuant, surveyVerbal, surveyLogical,
+                        rq[i], rv[i], rl[i]), i, size, k);
+            }
+        } else {
+            for (int i = 0; i < n; i++) {
+                size = offer(score(quant, verbal, logical, surveyQuant, surveyVerbal, surveyLogical,
+                        bq.get(i), bv.get(i), bl.get(i)), i, size, k);
+            }
+        }
+
+        // Drain the heap worst-first into the tail of the output arrays
+        int count = size;
+        while (size > 0) {
+            size--;
+            outScore[size] = heapScore[0];
+            outIndex[size] = heapIndex[0];
+            heapScore[0] = heapScore[size];
+            heapIndex[0] = heapIndex[size];
+            siftDown(0, size);
+        }
+        return count;
+    }
+
+    private static int score(double quant, double verbal, double logical,
+                             double surveyQuant, double surveyVerbal, double surveyLogical,
+                             double rq, double rv, double rl) {
+        double match = TEST_WEIGHT * (quant * rq + verbal * rv + logical * rl) +
+                SURVEY_WEIGHT * (surveyQuant * rq + surveyVerbal * rv + surveyLogical * rl);
+        return (int) (Math.min(1.0, match) * 100);
+    }
+
+    /** Adds row i to the heap of winners if it qualifies; returns the new heap size. */
+    private int offer(int score, int i, int size, int k) {
+        if (size < k) {
+            heapScore[size] = score;
+            heapIndex[size] = i;
+            siftUp(size);
+            return size + 1;
+        }
+        if (score > heapScore[0]) {
+            // Strictly better than the current worst winner; equal scores keep the earlier row
+            heapScore[0] = score;
+            heapIndex[0] = i;
+            siftDown(0, size);
+        }
+        return size;
+    }
+
+    /** True if entry a ranks below entry b (lower score, or same score but later in the catalog). */
+    private boolean worse(int a, int b) {
+        if (heapScore[a] != heapScore[b]) return heapScore[a] < heapScore[b];
+        return heapIndex[a] > heapIndex[b];
+    }
+
+    private void siftUp(int pos) {
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            if (!worse(pos, parent)) break;
+            swap(pos, parent);
+            pos = parent;
+        }
+    }
+
+    private void siftDown(int pos, int size) {
+        while (true) {
+            int left = 2 * pos + 1;
+            if (left >= size) break;
+            int right = left + 1;
+            int worst = (right < size && worse(right, left)) ? right : left;
+            if (!worse(worst, pos)) break;
+            swap(pos, worst);
+            pos = worst;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int s = heapScore[a]; heapScore[a] = heapScore[b]; heapScore[b] = s;
+        int x = heapIndex[a]; heapIndex[a] = heapIndex[b]; heapIndex[b] = x;
+    }
+}
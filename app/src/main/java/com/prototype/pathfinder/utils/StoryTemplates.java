@@ -0,0 +1,188 @@
+package com.prototype.pathfinder.utils;
+
+import com.prototype.pathfinder.data.DBManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * StoryTemplates
+ * <p>
+ * Data-driven narratives for the results screen. Each story field is a table of score bands; the
+ * first band whose thresholds a student meets supplies the template. Templates are compiled once,
+ * when the class loads, into literal segments and placeholder slots, so rendering is a single pass
+ * of appends into a caller-owned StringBuilder. Careers come from the programs table, so new
+ * programs need no code change.
+ * <p>
+ * Workflow:
+ * 1. Pick a band with the why / history / insight / hardest methods.
+ * 2. render (or the constant text for bands without placeholders) produces the string.
+ */
+public final class StoryTemplates {
+    /** Career text for programs without careers on record. */
+    public static final String DEFAULT_CAREERS = "Specialist • Leader • Innovator";
+
+    // Placeholder slots, written {quant}, {verbal}, {logical} and {match} in the templates
+    private static final String[] SLOT_NAMES = {"quant", "verbal", "logical", "match"};
+    private static final int SLOT_QUANT = 0, SLOT_VERBAL = 1, SLOT_LOGICAL = 2, SLOT_MATCH = 3;
+
+    // A band applies when every threshold is strictly exceeded; NONE disables a threshold
+    private static final double NONE = -1;
+
+    // {min program quant weight, min program verbal weight, min quant, min verbal, min logical}
+    private static final double[][] WHY_BANDS = {
+            {0.7, NONE, 75, NONE, 75},
+            {NONE, 0.7, NONE, 75, NONE},
+            {NONE, NONE, NONE, NONE, NONE}
+    };
+    private static final Template[] WHY = compileAll(
+            "Your Logic ({logical}) and Math ({quant}) scores define you as an 'Analytical Architect'. This course demands exactly that brainpower.",
+            "You are a 'Master Communicator' (Verbal: {verbal}). This program thrives on the articulation skills you already possess.",
+            "Your balanced scorecard makes you a 'Versatile Adaptor'. You have the grit to handle the mixed demands of this field.");
+
+    // Min match percent (exclusive)
+    private static final int[] HISTORY_BANDS = {85, Integer.MIN_VALUE};
+    private static final String[] HISTORY = {
+            "Data shows students with your profile have a 92% graduation rate and often land in the Dean's List.",
+            "Students with this profile typically find success by leveraging peer study groups to bridge specific gaps."
+    };
+
+    // Min logical score (inclusive); shared by the insight and hardest-question fields
+    private static final int[] LOGICAL_BANDS = {90, 75, Integer.MIN_VALUE};
+    private static final String[] INSIGHT = {
+            "You got 19/20 logical reasoning questions correct.\n\n" +
+                    "You are among the rare 8% who solved Question #17 — the infamous \"Circular Table Seating with 7 Constraints\" problem from the CMU College Admission Test.\n\n" +
+                    "This question has been the hardest logical item for the past 5 years. Only top 8% of all examinees get it right.\n\n" +
+                    "You didn’t just pass — you dominated.",
+            "Strong logical performance (15–18 correct).\n\n" +
+                    "You handled complex pattern recognition and conditional logic exceptionally well.\n\n" +
+                    "You were close on the legendary Q17 — most students miss it entirely.",
+            "Logical reasoning is your growth zone.\n\n" +
+                    "The hardest item (Q17) tripped up 92% of all test-takers — you're in the majority.\n\n" +
+                    "With focused practice, students like you often jump 20+ points."
+    };
+    private static final String[] HARDEST = {
+            "Q17 – Circular Seating Puzzle\nDifficulty: 92nd percentile\nYour Answer: Correct",
+            "Q17 – Circular Seating\nYou attempted it bravely. Only 8% succeed.",
+            "Q17 – The Impossible One\n92% miss it. You're not alone."
+    };
+
+    private StoryTemplates() { }
+
+    /**
+     * Renders the "why this program" text into the builder (cleared first).
+     *
+     * @return The rendered text.
+     */
+    public static String why(StringBuilder sb, DBManager.Program prog, int quant, int verbal, int logical) {
+        for (int i = 0; i < WHY_BANDS.length; i++) {
+            double[] band = WHY_BANDS[i];
+            if (prog.reqQuant > band[0] && prog.reqVerbal > band[1]
+                    && quant > band[2] && verbal > band[3] && logical > band[4]) {
+                return WHY[i].render(sb, quant, verbal, logical, 0);
+            }
+        }
+        throw new IllegalStateException("WHY_BANDS must end with a catch-all band");
+    }
+
+    /**
+     * @return The success-history text for a match percent (a shared constant).
+     */
+    public static String history(int match) {
+        return HISTORY[band(HISTORY_BANDS, match, false)];
+    }
+
+    /**
+     * @return The item-level insight for a logical score (a shared constant).
+     */
+    public static String insight(int logical) {
+        return INSIGHT[band(LOGICAL_BANDS, logical, true)];
+    }
+
+    /**
+     * @return The hardest-question summary for a logical score (a shared constant).
+     */
+    public static String hardest(int logical) {
+        return HARDEST[band(LOGICAL_BANDS, logical, true)];
+    }
+
+    /**
+     * @return The program's careers from the catalog, or DEFAULT_CAREERS.
+     */
+    public static String careers(DBManager.Program prog) {
+        return prog.careers == null || prog.careers.isEmpty() ? DEFAULT_CAREERS : prog.careers;
+    }
+
+    private static int band(int[] thresholds, int value, boolean inclusive) {
+        int last = thresholds.length - 1;
+        for (int i = 0; i < last; i++) {
+            if (inclusive ? value >= thresholds[i] : value > thresholds[i]) return i;
+        }
+        return last;
+    }
+
+    private static Template[] compileAll(String... sources) {
+        Template[] templates = new Template[sources.length];
+        for (int i = 0; i < sources.length; i++) templates[i] = Template.compile(sources[i]);
+        return templates;
+    }
+
+    /**
+     * A template split into literal segments with a placeholder slot between each pair:
+     * literals[0] slot[0] literals[1] slot[1] ... literals[n].
+     */
+    static final class Template {
+        private final String[] literals;
+        private final int[] slots;
+
+        private Template(String[] literals, int[] slots) {
+            this.literals = literals;
+            this.slots = slots;
+        }
+
+        /**
+         * @throws IllegalArgumentException On an unknown or unterminated placeholder.
+         */
+        static Template compile(String source) {
+            List<String> literals = new ArrayList<>();
+            List<Integer> slots = new ArrayList<>();
+            int from = 0;
+            int open;
+            while ((open = source.indexOf('{', from)) >= 0) {
+                int close = source.indexOf('}', open);
+                if (close < 0) throw new IllegalArgumentException("Unterminated placeholder in: " + source);
+                int slot = indexOf(SLOT_NAMES, source.substring(open + 1, close));
+                if (slot < 0) throw new IllegalArgumentException("Unknown placeholder in: " + source);
+                literals.add(source.substring(from, open));
+                slots.add(slot);
+                from = close + 1;
+            }
+            literals.add(source.substring(from));
+
+            int[] slotArray = new int[slots.size()];
+            for (int i = 0; i < slotArray.length; i++) slotArray[i] = slots.get(i);
+            return new Template(literals.toArray(new String[0]), slotArray);
+        }
+
+        String render(StringBuilder sb, int quant, int verbal, int logical, int match) {
+            if (slots.length == 0) return literals[0];
+            sb.setLength(0);
+            for (int i = 0; i < slots.length; i++) {
+                sb.append(literals[i]);
+                switch (slots[i]) {
+                    case SLOT_QUANT: sb.append(quant); break;
+                    case SLOT_VERBAL: sb.append(verbal); break;
+                    case SLOT_LOGICAL: sb.append(logical); break;
+                    default: sb.append(match); break;
+                }
+            }
+            sb.append(literals[slots.length]);
+            return sb.toString();
+        }
+
+        private static int indexOf(String[] names, String name) {
+            for (int i = 0; i < names.length; i++) if (names[i].equals(name)) return i;
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.prototype.pathfinder.data;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * ProgramSnapshotWriter
+ * <p>
+ * Test-only encoder for the ProgramSnapshot layout, shared by the JVM and instrumented tests.
+ * The shipped snapshot is written by the compileProgramCatalog Gradle task, never by the app;
+ * ProgramSnapshotAssetTest checks that both writers produce the same bytes.
+ */
+final class ProgramSnapshotWriter {
+    private ProgramSnapshotWriter() {
+    }
+
+    /**
+     * @return The catalog in the snapshot layout, as the Gradle task writes it from programs.tsv.
+     */
+    static byte[] encode(ProgramCatalog catalog, long version) {
+        int n = catalog.size();
+        byte[][] text = new byte[3 * n][];
+        int textBytes = 0;
+        for (int i = 0; i < n; i++) {
+            String careers = catalog.careers(i);
+            text[3 * i] = catalog.name(i).getBytes(StandardCharsets.UTF_8);
+            text[3 * i + 1] = (catalog.desc(i) == null ? "" : catalog.desc(i)).getBytes(StandardCharsets.UTF_8);
+            text[3 * i + 2] = (careers == null ? "" : careers).getBytes(StandardCharsets.UTF_8);
+            for (int f = 0; f < 3; f++) textBytes += 2 + text[3 * i + f].length;
+        }
+
+        int textStart = ProgramSnapshot.HEADER_BYTES + 28 * n;
+        ByteBuffer out = ByteBuffer.allocate(textStart + textBytes).order(ByteOrder.LITTLE_ENDIAN);
+        out.putInt(ProgramSnapshot.MAGIC).putInt(ProgramSnapshot.FORMAT_VERSION).putLong(version).putInt(n).putInt(0);
+        for (int i = 0; i < n; i++) out.putDouble(catalog.reqQuant.get(i));
+        for (int i = 0; i < n; i++) out.putDouble(catalog.reqVerbal.get(i));
+        for (int i = 0; i < n; i++) out.putDouble(catalog.reqLogical.get(i));
+        int offset = textStart;
+        for (int i = 0; i < n; i++) {
+            out.putInt(offset);
+            for (int f = 0; f < 3; f++) offset += 2 + text[3 * i + f].length;
+        }
+        for (byte[] field : text) {
+            if (field.length > 0xFFFF) throw new IllegalArgumentException("Field longer than 65535 bytes");
+            out.putShort((short) field.length).put(field);
+        }
+        return out.array();
+    }
+}
@@ -0,0 +1,35 @@
+package com.prototype.pathfinder;
+
+import org.junit.Assume;
+import org.junit.Test;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+
+/**
+ * Entry point for the JMH benchmark suite.
+ * Skipped during normal test runs; enable with -Pjmh=true (see app/build.gradle.kts).
+ * Results are written as JSON so runs can be diffed between commits.
+ */
+public class JmhRunner {
+    @Test
+    public void runBenchmarks() throws Exception {
+        Assume.assumeTrue(Boolean.parseBoolean(System.getProperty("pathfinder.jmh", "false")));
+
+        File output = new File(System.getProperty("pathfinder.jmh.output", "build/reports/jmh/results.json"));
+        output.getParentFile().mkdirs();
+
+        Options options = new OptionsBuilder()
+                .include(System.getProperty("pathfinder.jmh.include", ".*Benchmark.*"))
+                .forks(1)
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .resultFormat(ResultFormatType.JSON)
+                .result(output.getAbsolutePath())
+                .build();
+        new Runner(options).run();
+    }
+}
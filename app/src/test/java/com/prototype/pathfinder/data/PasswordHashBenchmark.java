@@ -0,0 +1,42 @@
+package com.prototype.pathfinder.data;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks DBManager.hashPassword over a batch of synthetic passwords.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PasswordHashBenchmark {
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    private String[] passwords;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        passwords = new String[size];
+        for (int i = 0; i < size; i++) {
+            passwords[i] = "pw" + Long.toHexString(random.nextLong());
+        }
+    }
+
+    @Benchmark
+    public void hashBatch(Blackhole bh) {
+        for (String pw : passwords) bh.consume(DBManager.hashPassword(pw));
+    }
+}
@@ -0,0 +1,83 @@
+package com.prototype.pathfinder.data;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.*;
+
+/**
+ * Maps the catalog/programs.bin asset generated by the compileProgramCatalog Gradle task and checks every
+ * row against src/main/catalog/programs.tsv, then checks that ProgramSnapshotWriter encodes the same bytes.
+ * Gradle passes both paths as the "pathfinder.catalog.bin" and "pathfinder.catalog.tsv" system properties.
+ */
+public class ProgramSnapshotAssetTest {
+    private static final Pattern VERSION = Pattern.compile("^#\\s*catalog-version:\\s*(\\d+)\\s*$");
+
+    @Test
+    public void generatedAssetMatchesSource() throws IOException {
+        File bin = file("pathfinder.catalog.bin");
+        File tsv = file("pathfinder.catalog.tsv");
+
+        long version = -1;
+        List<String[]> rows = new ArrayList<>();
+        for (String line : Files.readAllLines(tsv.toPath(), StandardCharsets.UTF_8)) {
+            Matcher matcher = VERSION.matcher(line);
+            if (matcher.matches()) version = Long.parseLong(matcher.group(1));
+            if (line.trim().isEmpty() || line.startsWith("#")) continue;
+            String[] fields = line.split("\t", -1);
+            assertEquals("Fields in: " + line, 6, fields.length);
+            rows.add(fields);
+        }
+        assertTrue("programs.tsv declares no catalog-version", version >= 0);
+        assertFalse("programs.tsv has no rows", rows.isEmpty());
+
+        ProgramSnapshot snapshot;
+        try (RandomAccessFile in = new RandomAccessFile(bin, "r")) {
+            snapshot = ProgramSnapshot.map(in.getChannel(), 0, bin.length());
+        }
+        ProgramCatalog mapped = snapshot.catalog();
+        assertEquals(version, snapshot.version());
+        assertEquals(rows.size(), mapped.size());
+
+        int n = rows.size();
+        String[] names = new String[n], descs = new String[n], careers = new String[n];
+        double[] quant = new double[n], verbal = new double[n], logical = new double[n];
+        for (int i = 0; i < n; i++) {
+            String[] row = rows.get(i);
+            names[i] = row[0];
+            descs[i] = row[1];
+            quant[i] = Double.parseDouble(row[2].trim());
+            verbal[i] = Double.parseDouble(row[3].trim());
+            logical[i] = Double.parseDouble(row[4].trim());
+            careers[i] = row[5].isEmpty() ? null : row[5].replace(" | ", "\n");
+
+            assertEquals(names[i], mapped.name(i));
+            assertEquals(descs[i], mapped.desc(i));
+            assertEquals(names[i], quant[i], mapped.reqQuant.get(i), 0.0);
+            assertEquals(names[i], verbal[i], mapped.reqVerbal.get(i), 0.0);
+            assertEquals(names[i], logical[i], mapped.reqLogical.get(i), 0.0);
+            assertEquals(careers[i], mapped.careers(i));
+        }
+
+        byte[] encoded = ProgramSnapshotWriter.encode(
+                new ProgramCatalog(names, descs, quant, verbal, logical, careers), version);
+        assertArrayEquals(encoded, Files.readAllBytes(bin.toPath()));
+    }
+
+    private static File file(String property) {
+        String path = System.getProperty(property);
+        assertNotNull(property + " is not set; run through Gradle", path);
+        File file = new File(path);
+        assertTrue(file + " does not exist", file.isFile());
+        return file;
+    }
+}
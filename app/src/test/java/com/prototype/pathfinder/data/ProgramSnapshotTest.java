@@ -0,0 +1,106 @@
+package com.prototype.pathfinder.data;
+
+import com.prototype.pathfinder.utils.ScoringEngine;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Round-trips catalogs through the snapshot layout and a real file mapping, checks that scoring the
+ * mapped columns picks the same winners as the array-backed catalog over 100k programs.
+ * Time to the first recommendation is measured on a device by ProgramSnapshotColdStartTest.
+ */
+public class ProgramSnapshotTest {
+    private static final int PROGRAMS = 100000;
+
+    @Test
+    public void mappedFileMatchesSource() throws IOException {
+        ProgramCatalog source = catalog(PROGRAMS, 42);
+        File file = write(ProgramSnapshotWriter.encode(source, 1234L));
+        int[] arrayIndex = new int[5], arrayScore = new int[5];
+        int[] mappedIndex = new int[5], mappedScore = new int[5];
+
+        new ScoringEngine(source).topK(0.85, 0.7, 0.8, 0.8, 0.6, 1.0, 5, arrayIndex, arrayScore);
+
+        ProgramSnapshot snapshot;
+        try (RandomAccessFile in = new RandomAccessFile(file, "r")) {
+            snapshot = ProgramSnapshot.map(in.getChannel(), 0, file.length());
+        }
+        ProgramCatalog mapped = snapshot.catalog();
+        new ScoringEngine(mapped).topK(0.85, 0.7, 0.8, 0.8, 0.6, 1.0, 5, mappedIndex, mappedScore);
+        DBManager.Program best = mapped.get(mappedIndex[0]);
+
+        assertEquals(1234L, snapshot.version());
+        assertEquals(PROGRAMS, mapped.size());
+        assertFalse(mapped.reqQuant.hasArray());
+        assertArrayEquals(arrayIndex, mappedIndex);
+        assertArrayEquals(arrayScore, mappedScore);
+        assertEquals(source.name(mappedIndex[0]), best.name);
+        assertEquals(source.reqLogical.get(mappedIndex[0]), best.reqLogical, 0.0);
+        file.delete();
+    }
+
+    @Test
+    public void decodesTextFields() throws IOException {
+        ProgramCatalog source = new ProgramCatalog(
+                new String[]{"BSIT", "BS Café Management", "EMPTY"},
+                new String[]{"Tech-focused.", "Ünïcödé — description", null},
+                new double[]{0.8, 0.5, 0.0}, new double[]{0.4, 0.8, 0.0}, new double[]{0.7, 0.4, 0.0},
+                new String[]{"Software Engineer\nFull-Stack Developer", null, ""});
+        ProgramCatalog mapped = ProgramSnapshot.wrap(ByteBuffer.wrap(ProgramSnapshotWriter.encode(source, 9))).catalog();
+
+        assertArrayEquals(new String[]{"BSIT", "BS Café Management", "EMPTY"}, mapped.names());
+        assertEquals("Ünïcödé — description", mapped.desc(1));
+        assertEquals("", mapped.desc(2));
+        assertEquals("Software Engineer\nFull-Stack Developer", mapped.careers(0));
+        assertNull(mapped.careers(1));
+        assertNull(mapped.careers(2));
+        assertEquals(0.8, mapped.get(1).reqVerbal, 0.0);
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsWrongMagic() throws IOException {
+        byte[] bytes = ProgramSnapshotWriter.encode(catalog(3, 1), 1);
+        bytes[0] ^= 0x7F;
+        ProgramSnapshot.wrap(ByteBuffer.wrap(bytes));
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsTruncatedColumns() throws IOException {
+        byte[] bytes = ProgramSnapshotWriter.encode(catalog(100, 1), 1);
+        byte[] truncated = new byte[ProgramSnapshot.HEADER_BYTES + 100];
+        System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+        ProgramSnapshot.wrap(ByteBuffer.wrap(truncated));
+    }
+
+    private static File write(byte[] bytes) throws IOException {
+        File file = File.createTempFile("programs", ".bin");
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(bytes);
+        }
+        return file;
+    }
+
+    private static ProgramCatalog catalog(int n, long seed) {
+        Random random = new Random(seed);
+        String[] names = new String[n], descs = new String[n], careers = new String[n];
+        double[] q = new double[n], v = new double[n], l = new double[n];
+        for (int i = 0; i < n; i++) {
+            names[i] = "PROG" + i;
+            descs[i] = "Synthetic program " + i;
+            careers[i] = i % 2 == 0 ? null : "Career " + i;
+            q[i] = random.nextDouble();
+            v[i] = random.nextDouble();
+            l[i] = random.nextDouble();
+        }
+        return new ProgramCatalog(names, descs, q, v, l, careers);
+    }
+}
@@ -0,0 +1,54 @@
+package com.prototype.pathfinder.data;
+
+import com.prototype.pathfinder.utils.ScheduleTime;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Builds the SchedulePages DBManager.getSchedulePage would return for a list of rows, without a database,
+ * so JVM benchmarks can feed ScheduleFragment's page pipeline.
+ */
+public final class SchedulePages {
+    private static final Comparator<DBManager.ScheduleItem> BY_START =
+            Comparator.<DBManager.ScheduleItem>comparingInt(item -> item.startMinute).thenComparingLong(item -> item.id);
+
+    private SchedulePages() {
+    }
+
+    /**
+     * @param items Schedule rows in any order (IDs must be distinct).
+     * @param pageSize Rows per page.
+     * @return The pages in display order: each day's rows by start time, then rows with an unknown day.
+     */
+    public static List<SchedulePage> paginate(List<DBManager.ScheduleItem> items, int pageSize) {
+        List<DBManager.ScheduleItem> rows = new ArrayList<>();
+        List<Integer> days = new ArrayList<>();
+        for (int day = 0; day <= ScheduleTime.UNKNOWN_DAY; day++) {
+            List<DBManager.ScheduleItem> onDay = new ArrayList<>();
+            for (DBManager.ScheduleItem item : items) {
+                boolean listed = day < ScheduleTime.UNKNOWN_DAY
+                        ? (item.dayMask & ScheduleTime.dayBit(day)) != 0 : item.dayMask == 0;
+                if (listed) onDay.add(item);
+            }
+            onDay.sort(BY_START);
+            for (DBManager.ScheduleItem item : onDay) {
+                rows.add(item);
+                days.add(day);
+            }
+        }
+
+        List<SchedulePage> pages = new ArrayList<>();
+        for (int start = 0; start < rows.size(); start += pageSize) {
+            int end = Math.min(rows.size(), start + pageSize);
+            int[] pageDays = new int[end - start];
+            for (int i = start; i < end; i++) pageDays[i - start] = days.get(i);
+            DBManager.ScheduleItem last = rows.get(end - 1);
+            SchedulePage.Key next = end == rows.size() ? null
+                    : new SchedulePage.Key(days.get(end - 1), last.startMinute, last.id);
+            pages.add(new SchedulePage(new ArrayList<>(rows.subList(start, end)), pageDays, next));
+        }
+        return pages;
+    }
+}
@@ -0,0 +1,82 @@
+package com.prototype.pathfinder.data;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Round-trips story blobs through StoryCodec and checks that a blob holds only the length-prefixed fields.
+ */
+public class StoryCodecTest {
+
+    @Test
+    public void roundTripsAllFields() {
+        String[] fields = {
+                "Your Logic (80) and Math (85) scores define you as an 'Analytical Architect'.",
+                "Data shows students with your profile have a 92% graduation rate.",
+                "Software Engineer\nFull-Stack Developer\nCybersecurity Analyst",
+                "You got 19/20 logical reasoning questions correct — you dominated.",
+                "Q17 – Circular Seating Puzzle\nDifficulty: 92nd percentile"
+        };
+        byte[] blob = StoryCodec.encode(fields);
+        assertArrayEquals(fields, StoryCodec.decode(blob));
+
+        // Version byte, then a 4-byte length and the UTF-8 bytes of each field; nothing else
+        int expected = 1;
+        for (String field : fields) expected += 4 + field.getBytes(StandardCharsets.UTF_8).length;
+        assertEquals(expected, blob.length);
+    }
+
+    @Test
+    public void roundTripsFieldsOver64KiB() {
+        StringBuilder longStory = new StringBuilder();
+        while (longStory.length() < 70000) longStory.append("Analytical Architect — ");
+        String[] fields = {longStory.toString(), "history", longStory.toString(), "", "hardest"};
+        assertArrayEquals(fields, StoryCodec.decode(StoryCodec.encode(fields)));
+    }
+
+    @Test
+    public void readsVersion1Blobs() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(StoryCodec.FORMAT_VERSION_UTF);
+            for (String field : new String[]{"why", "history", "careers", "insight", ""}) out.writeUTF(field);
+        }
+        assertArrayEquals(new String[]{"why", "history", "careers", "insight", ""},
+                StoryCodec.decode(bytes.toByteArray()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsFieldLengthPastTheEnd() {
+        byte[] blob = StoryCodec.encode("a", "b", "c", "d", "e");
+        blob[1] = 0x7F; // First field claims ~2 GB
+        StoryCodec.decode(blob);
+    }
+
+    @Test
+    public void storesNullAsEmpty() {
+        String[] decoded = StoryCodec.decode(StoryCodec.encode("why", null, "careers", null, ""));
+        assertEquals("", decoded[StoryCodec.HISTORY]);
+        assertEquals("", decoded[StoryCodec.INSIGHT]);
+        assertEquals("careers", decoded[StoryCodec.CAREERS]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsTruncatedBlob() {
+        byte[] blob = StoryCodec.encode("a", "b", "c", "d", "e");
+        StoryCodec.decode(Arrays.copyOf(blob, blob.length - 2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsUnknownVersion() {
+        byte[] blob = StoryCodec.encode("a", "b", "c", "d", "e");
+        blob[0] = (byte) (StoryCodec.FORMAT_VERSION + 1);
+        StoryCodec.decode(blob);
+    }
+}
@@ -0,0 +1,66 @@
+package com.prototype.pathfinder.ui.fragments;
+
+import com.prototype.pathfinder.data.DBManager;
+import com.prototype.pathfinder.data.SchedulePage;
+import com.prototype.pathfinder.data.SchedulePages;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the page pipeline behind ScheduleFragment.onPageLoaded (appendPage + flatten).
+ * Input is the SchedulePages getSchedulePage returns, PAGE_SIZE rows each.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ScheduleSortBenchmark {
+    private static final String[] DAYS = {"Mon", "Tue", "Wed", "Thu", "Fri", "Sat", "Mon/Wed", "Tue/Thu"};
+    private static final String[] TIMES = {"7:30 AM", "9:00 AM", "10:30 AM", "12:00 PM", "1:00 PM", "2:30 PM", "4:00 PM"};
+
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    private List<SchedulePage> pages;
+    private List<ScheduleFragment.DayGroup> allButLast;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        List<DBManager.ScheduleItem> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(new DBManager.ScheduleItem(i, "SUBJ" + i, "Room " + (i % 50),
+                    DAYS[random.nextInt(DAYS.length)], TIMES[random.nextInt(TIMES.length)]));
+        }
+        pages = SchedulePages.paginate(items, ScheduleFragment.PAGE_SIZE);
+        allButLast = new ArrayList<>();
+        for (int p = 0; p < pages.size() - 1; p++) allButLast = ScheduleFragment.appendPage(allButLast, pages.get(p));
+    }
+
+    /** Builds the whole listing page by page, then flattens it once. */
+    @Benchmark
+    public int appendAllPages() {
+        List<ScheduleFragment.DayGroup> groups = new ArrayList<>();
+        for (SchedulePage page : pages) groups = ScheduleFragment.appendPage(groups, page);
+        return ScheduleFragment.flatten(groups).size();
+    }
+
+    /** One onPageLoaded at the end of the listing: append the last page, then flatten everything. */
+    @Benchmark
+    public int appendLastPage() {
+        List<ScheduleFragment.DayGroup> groups = ScheduleFragment.appendPage(allButLast, pages.get(pages.size() - 1));
+        return ScheduleFragment.flatten(groups).size();
+    }
+}
@@ -0,0 +1,105 @@
+package com.prototype.pathfinder.utils;
+
+import com.prototype.pathfinder.data.WalkwayGraph;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks CampusRouter on a synthetic 160 x 160 walkway grid (25.6k nodes, ~50.9k walkways,
+ * 5% of them one-way) with jittered costs. Target: a random route in under 5 ms.
+ * landmarks = 0 is plain Dijkstra, for comparison with ALT.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CampusRouterBenchmark {
+    private static final int SIDE = 160;
+    private static final int QUERIES = 256;
+
+    @Param({"0", "8"})
+    public int landmarks;
+
+    private WalkwayGraph graph;
+    private CampusRouter router;
+    private int[] from, to;
+    private int next = 0;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = syntheticGrid(SIDE, 42);
+        router = new CampusRouter(graph, landmarks);
+
+        Random random = new Random(7);
+        from = new int[QUERIES];
+        to = new int[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            from[i] = random.nextInt(graph.size());
+            to[i] = random.nextInt(graph.size());
+        }
+    }
+
+    @Benchmark
+    public CampusRouter.Route route() {
+        int q = next++ & (QUERIES - 1);
+        return router.route(from[q], to[q]);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public CampusRouter buildLandmarks() {
+        return new CampusRouter(graph, landmarks);
+    }
+
+    /**
+     * Square grid of walkways about 11 m apart, costs jittered by up to +50%.
+     */
+    static WalkwayGraph syntheticGrid(int side, long seed) {
+        Random random = new Random(seed);
+        int n = side * side;
+        long[] ids = new long[n];
+        double[] lat = new double[n];
+        double[] lng = new double[n];
+        long[] locationIds = new long[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = i + 1;
+            lat[i] = 7.86 + (i / side) * 0.0001;
+            lng[i] = 125.05 + (i % side) * 0.0001;
+            locationIds[i] = i % 50 == 0 ? i / 50 : -1;
+        }
+
+        int m = 2 * side * (side - 1);
+        long[] edgeFrom = new long[m];
+        long[] edgeTo = new long[m];
+        float[] cost = new float[m];
+        boolean[] oneWay = new boolean[m];
+        int e = 0;
+        for (int y = 0; y < side; y++) {
+            for (int x = 0; x < side; x++) {
+                int i = y * side + x;
+                if (x + 1 < side) {
+                    edgeFrom[e] = ids[i]; edgeTo[e] = ids[i + 1]; e++;
+                }
+                if (y + 1 < side) {
+                    edgeFrom[e] = ids[i]; edgeTo[e] = ids[i + side]; e++;
+                }
+            }
+        }
+        for (int k = 0; k < m; k++) {
+            cost[k] = (float) (11.1 * (1 + random.nextDouble() * 0.5));
+            oneWay[k] = random.nextInt(20) == 0;
+        }
+        return new WalkwayGraph(ids, lat, lng, locationIds, edgeFrom, edgeTo, cost, oneWay);
+    }
+}
@@ -0,0 +1,52 @@
+package com.prototype.pathfinder.utils;
+
+import com.prototype.pathfinder.data.CohortScores;
+import com.prototype.pathfinder.data.ProgramCatalog;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the parallel cohort scoring phase (100k students x 1k programs by default).
+ * Compare against CohortScorer.TARGET_PAIRS_PER_SECOND: 100k x 1k should stay near 2 s.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CohortScorerBenchmark {
+    private static final int K = 3;
+
+    @Param({"100000"})
+    public int students;
+
+    @Param({"1000"})
+    public int programs;
+
+    private CohortScores cohort;
+    private ProgramCatalog catalog;
+    private int[] counts, topIndex, topScore;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        cohort = FakeDBManager.syntheticCohort(students, 7);
+        catalog = FakeDBManager.syntheticCatalog(programs, 42);
+        counts = new int[students];
+        topIndex = new int[students * K];
+        topScore = new int[students * K];
+    }
+
+    @Benchmark
+    public int[] scoreCohort() {
+        CohortScorer.score(cohort, catalog, K, counts, topIndex, topScore);
+        return topScore;
+    }
+}
@@ -0,0 +1,156 @@
+package com.prototype.pathfinder.utils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks CorParser against a synthetic corpus of COR pages laid out the way ML Kit reports them:
+ * one token per table cell, with vertical jitter, skew, shuffled order, header/fee rows and
+ * AM/PM markers missing on some rows. The corpus must parse with at least MIN_ACCURACY, no false rows,
+ * and within MAX_MS_PER_PAGE per page.
+ */
+public class CorParserTest {
+    private static final int PAGES = 200;
+    private static final double MIN_ACCURACY = 0.98;
+    private static final long MAX_MS_PER_PAGE = 5;
+
+    private static final String[] SUBJECTS = {"IT 101", "MATH 21A", "ENG 11", "PE 102", "CS 211", "STAT 101", "HIST 12"};
+    private static final String[] COMPACT_DAYS = {"MWF", "TTH", "MW", "F", "SAT"};
+    private static final String[] NORMALIZED_DAYS = {"Mon/Wed/Fri", "Tue/Thu", "Mon/Wed", "Fri", "Sat"};
+    private static final String[] ROOMS = {"ICS 201", "CAS 104", "GYM", "ADM 3", "LAB 2"};
+    // {start hour, start minute, length in minutes}
+    private static final int[][] SLOTS = {{7, 30, 90}, {9, 0, 60}, {10, 30, 90}, {13, 0, 90}, {15, 0, 120}, {11, 30, 90}};
+
+    @Test
+    public void parsesCompactRowWithoutMarkers() {
+        CorParser.Entry e = CorParser.parseRow("IT 101 Intro to Computing 3 MWF 7:30-9:00 ICS 201");
+        assertNotNull(e);
+        assertEquals("IT 101", e.subject);
+        assertEquals("Mon/Wed/Fri", e.day);
+        assertEquals("7:30 AM - 9:00 AM", e.time);
+        assertEquals("ICS 201", e.room);
+    }
+
+    @Test
+    public void infersAfternoonAndCrossNoonTimes() {
+        assertEquals("1:00 PM - 2:30 PM", CorParser.parseRow("CS 211 TTH 1:00-2:30 CAS 104").time);
+        assertEquals("11:30 AM - 1:00 PM", CorParser.parseRow("ENG 11 MW 11:30-1:00 PM CAS 104").time);
+        assertEquals("10:00 AM - 12:00 PM", CorParser.parseRow("HIST 12 F 10:00-12:00 ADM 3").time);
+        assertEquals("Tue/Thu", CorParser.parseRow("PE 102 Tue/Thu 0800-1000 GYM").day);
+    }
+
+    @Test
+    public void skipsNonClassRows() {
+        assertNull(CorParser.parseRow("SUBJECT DESCRIPTION UNITS DAYS TIME ROOM"));
+        assertNull(CorParser.parseRow("Total Units: 21  Tuition Fee 12,500.00"));
+        assertNull(CorParser.parseRow("Date Enrolled: 2024-08-12"));
+    }
+
+    @Test
+    public void groupsShuffledTokensIntoRows() {
+        List<CorParser.Token> tokens = new ArrayList<>();
+        tokens.add(new CorParser.Token("7:30-9:00", 500, 102, 600, 122));
+        tokens.add(new CorParser.Token("IT 101", 20, 100, 90, 120));
+        tokens.add(new CorParser.Token("CAS 104", 620, 148, 700, 168));
+        tokens.add(new CorParser.Token("MWF", 400, 98, 450, 118));
+        tokens.add(new CorParser.Token("ENG 11", 20, 150, 90, 170));
+        tokens.add(new CorParser.Token("TTH 1:00-2:30", 400, 152, 600, 172));
+
+        List<CorParser.Entry> entries = CorParser.parse(tokens);
+        assertEquals(2, entries.size());
+        assertEquals("IT 101", entries.get(0).subject);
+        assertEquals("ENG 11", entries.get(1).subject);
+        assertEquals("1:00 PM - 2:30 PM", entries.get(1).time);
+    }
+
+    @Test
+    public void syntheticCorpusAccuracyAndTime() {
+        Random random = new Random(13);
+        List<List<CorParser.Token>> pages = new ArrayList<>();
+        List<List<String>> expected = new ArrayList<>();
+        for (int p = 0; p < PAGES; p++) {
+            List<String> truth = new ArrayList<>();
+            pages.add(syntheticPage(random, truth));
+            expected.add(truth);
+        }
+
+        long start = System.nanoTime();
+        int correct = 0, total = 0, extra = 0;
+        for (int p = 0; p < PAGES; p++) {
+            List<CorParser.Entry> entries = CorParser.parse(pages.get(p));
+            List<String> truth = expected.get(p);
+            total += truth.size();
+            for (CorParser.Entry e : entries) {
+                if (truth.contains(e.toString())) correct++; else extra++;
+            }
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        double accuracy = (double) correct / total;
+        assertTrue(correct + " of " + total + " rows parsed, below " + MIN_ACCURACY, accuracy >= MIN_ACCURACY);
+        assertEquals("False rows", 0, extra);
+        assertTrue("Parsing took " + elapsedMs + " ms", elapsedMs < MAX_MS_PER_PAGE * PAGES);
+    }
+
+    /**
+     * One COR page: a header, 4-8 class rows (one token per cell) and a fee row,
+     * each row slightly skewed and jittered, tokens handed over in random order.
+     */
+    private static List<CorParser.Token> syntheticPage(Random random, List<String> truth) {
+        List<CorParser.Token> tokens = new ArrayList<>();
+        int y = 80;
+        addRow(tokens, random, y, "SUBJECT", "DESCRIPTION", "UNITS", "DAYS", "TIME", "ROOM");
+
+        int rows = 4 + random.nextInt(5);
+        List<Integer> subjects = new ArrayList<>();
+        for (int i = 0; i < SUBJECTS.length; i++) subjects.add(i);
+        Collections.shuffle(subjects, random);
+        for (int r = 0; r < rows && r < subjects.size(); r++) {
+            y += 34 + random.nextInt(6);
+            String subject = SUBJECTS[subjects.get(r)];
+            int day = random.nextInt(COMPACT_DAYS.length);
+            int[] slot = SLOTS[random.nextInt(SLOTS.length)];
+            String room = ROOMS[random.nextInt(ROOMS.length)];
+
+            int startMin = slot[0] * 60 + slot[1], endMin = startMin + slot[2];
+            boolean markers = random.nextBoolean();
+            String time = clock(startMin, markers) + "-" + clock(endMin, markers);
+            addRow(tokens, random, y, subject, "Lecture " + (r + 1), "3", COMPACT_DAYS[day], time, room);
+            truth.add(subject + " " + NORMALIZED_DAYS[day] + " " + display(startMin) + " - " + display(endMin) + " " + room);
+        }
+
+        y += 40;
+        addRow(tokens, random, y, "Total Units: " + rows * 3, "", "", "", "Tuition", "12,500.00");
+        Collections.shuffle(tokens, random);
+        return tokens;
+    }
+
+    private static void addRow(List<CorParser.Token> tokens, Random random, int y, String... cells) {
+        int[] columns = {20, 110, 330, 380, 460, 640};
+        double skew = (random.nextDouble() - 0.5) * 0.02; // about +/-0.6 degrees
+        for (int c = 0; c < cells.length; c++) {
+            if (cells[c].isEmpty()) continue;
+            int left = columns[c] + random.nextInt(4);
+            int top = y + (int) Math.round(left * skew) + random.nextInt(5) - 2;
+            tokens.add(new CorParser.Token(cells[c], left, top, left + 8 * cells[c].length(), top + 20));
+        }
+    }
+
+    /** Clock text as printed on the COR (12-hour, marker optional). */
+    private static String clock(int minutes, boolean marker) {
+        int h = minutes / 60 % 12 == 0 ? 12 : minutes / 60 % 12;
+        String text = h + ":" + String.format("%02d", minutes % 60);
+        return marker ? text + (minutes >= 12 * 60 ? " PM" : " AM") : text;
+    }
+
+    /** Clock text in the app's normalized format. */
+    private static String display(int minutes) {
+        return clock(minutes, true);
+    }
+}
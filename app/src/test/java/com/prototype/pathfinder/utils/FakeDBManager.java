@@ -0,0 +1,101 @@
+package com.prototype.pathfinder.utils;
+
+import com.prototype.pathfinder.data.CohortScores;
+import com.prototype.pathfinder.data.DBManager;
+import com.prototype.pathfinder.data.ProgramCatalog;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * In-memory DBManager used by the benchmarks and cache tests.
+ * Serves synthetic test scores, a synthetic program catalog and a map-backed recommendation cache without SQLite.
+ */
+public class FakeDBManager extends DBManager {
+    private final Map<String, Integer> scores = new HashMap<>();
+    private final ProgramCatalog catalog;
+    private final Map<String, byte[]> cachedRecommendations = new HashMap<>();
+    private long catalogVersion = 0;
+    /** Number of times the catalog was loaded. */
+    public int catalogLoads = 0;
+
+    public FakeDBManager(int programCount, long seed) {
+        super(null);
+        scores.put("quant", 85);
+        scores.put("verbal", 70);
+        scores.put("logical", 80);
+        catalog = syntheticCatalog(programCount, seed);
+    }
+
+    @Override
+    public Map<String, Integer> getScoresById(String testId) {
+        return new HashMap<>(scores);
+    }
+
+    @Override
+    public ProgramCatalog getProgramCatalog() {
+        catalogLoads++;
+        return catalog;
+    }
+
+    @Override
+    public long getCatalogVersion() {
+        return catalogVersion;
+    }
+
+    @Override
+    public byte[] getCachedRecommendations(String key) {
+        return cachedRecommendations.get(key);
+    }
+
+    @Override
+    public void putCachedRecommendations(String key, byte[] payload) {
+        cachedRecommendations.put(key, payload);
+    }
+
+    /** Simulates the programs table triggers: bumps the catalog version and clears the disk cache. */
+    public void changeCatalog() {
+        catalogVersion++;
+        cachedRecommendations.clear();
+    }
+
+    @Override
+    public List<Program> getAllPrograms() {
+        List<Program> list = new ArrayList<>(catalog.size());
+        for (int i = 0; i < catalog.size(); i++) list.add(catalog.get(i));
+        return list;
+    }
+
+    /** Builds a catalog of random programs with weights in 0.0 - 1.0. */
+    public static ProgramCatalog syntheticCatalog(int n, long seed) {
+        Random random = new Random(seed);
+        String[] names = new String[n];
+        String[] descs = new String[n];
+        double[] q = new double[n], v = new double[n], l = new double[n];
+        for (int i = 0; i < n; i++) {
+            names[i] = "PROG" + i;
+            descs[i] = "Synthetic program " + i;
+            q[i] = random.nextDouble();
+            v[i] = random.nextDouble();
+            l[i] = random.nextDouble();
+        }
+        return new ProgramCatalog(names, descs, q, v, l);
+    }
+
+    /** Builds a cohort of random students with scores in 0 - 100. */
+    public static CohortScores syntheticCohort(int n, long seed) {
+        Random random = new Random(seed);
+        String[] ids = new String[n];
+        int[] q = new int[n], v = new int[n], l = new int[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = "TEST" + i;
+            q[i] = random.nextInt(101);
+            v[i] = random.nextInt(101);
+            l[i] = random.nextInt(101);
+        }
+        return new CohortScores(ids, q, v, l);
+    }
+}
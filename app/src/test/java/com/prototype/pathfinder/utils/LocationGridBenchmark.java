@@ -0,0 +1,76 @@
+package com.prototype.pathfinder.utils;
+
+import com.prototype.pathfinder.data.DBManager;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks LocationGrid build, viewport query and clustering over synthetic rooms
+ * spread across a few campuses around the CMU center.
+ * The viewport is roughly one phone screen at zoom 17.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LocationGridBenchmark {
+    private static final double CENTER_LAT = 7.864722, CENTER_LNG = 125.050833;
+    private static final double VIEW_HALF_LAT = 0.0025, VIEW_HALF_LNG = 0.0015;
+
+    @Param({"10000", "100000"})
+    public int points;
+
+    private List<DBManager.LocationItem> items;
+    private LocationGrid grid;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        items = new ArrayList<>(points);
+        for (int i = 0; i < points; i++) {
+            // Four campuses about 10 km apart, rooms clustered around each one
+            int campus = i % 4;
+            double lat = CENTER_LAT + (campus / 2) * 0.09 + random.nextGaussian() * 0.004;
+            double lng = CENTER_LNG + (campus % 2) * 0.09 + random.nextGaussian() * 0.004;
+            items.add(new DBManager.LocationItem(i, "Room " + i, lat, lng, ""));
+        }
+        grid = new LocationGrid(items);
+    }
+
+    @Benchmark
+    public int build() {
+        return new LocationGrid(items).size();
+    }
+
+    @Benchmark
+    public int queryViewport() {
+        int[] sum = new int[1];
+        grid.query(CENTER_LAT - VIEW_HALF_LAT, CENTER_LNG - VIEW_HALF_LNG,
+                CENTER_LAT + VIEW_HALF_LAT, CENTER_LNG + VIEW_HALF_LNG, i -> sum[0] += i);
+        return sum[0];
+    }
+
+    @Benchmark
+    public int clusterViewport() {
+        return grid.cluster(CENTER_LAT - VIEW_HALF_LAT, CENTER_LNG - VIEW_HALF_LNG,
+                CENTER_LAT + VIEW_HALF_LAT, CENTER_LNG + VIEW_HALF_LNG, 17f).size();
+    }
+
+    @Benchmark
+    public int clusterWholeCampus() {
+        return grid.cluster(CENTER_LAT - 0.05, CENTER_LNG - 0.05,
+                CENTER_LAT + 0.15, CENTER_LNG + 0.15, 13f).size();
+    }
+}
@@ -0,0 +1,79 @@
+package com.prototype.pathfinder.utils;
+
+import com.prototype.pathfinder.data.DBManager;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that clusters do not depend on where the viewport cuts through them, so markers kept
+ * across a pan are still correct.
+ */
+public class LocationGridTest {
+    private static final double CENTER_LAT = 7.864722, CENTER_LNG = 125.050833;
+
+    @Test
+    public void panningKeepsClustersIdentical() {
+        LocationGrid grid = new LocationGrid(rooms(5000, 42));
+        Map<Long, LocationGrid.Cluster> before = byKey(grid.cluster(CENTER_LAT - 0.003, CENTER_LNG - 0.002,
+                CENTER_LAT + 0.003, CENTER_LNG + 0.002, 16f));
+        Map<Long, LocationGrid.Cluster> after = byKey(grid.cluster(CENTER_LAT - 0.002, CENTER_LNG - 0.001,
+                CENTER_LAT + 0.004, CENTER_LNG + 0.003, 16f));
+
+        int shared = 0;
+        for (LocationGrid.Cluster cluster : after.values()) {
+            LocationGrid.Cluster previous = before.get(cluster.key);
+            if (previous == null) continue;
+            shared++;
+            assertTrue("Cluster " + cluster.key + " changed while panning", cluster.sameAs(previous));
+        }
+        assertTrue(shared > 0);
+    }
+
+    @Test
+    public void edgeClustersCountOffscreenPoints() {
+        List<DBManager.LocationItem> items = new ArrayList<>();
+        items.add(new DBManager.LocationItem(1, "A", CENTER_LAT, CENTER_LNG, ""));
+        items.add(new DBManager.LocationItem(2, "B", CENTER_LAT, CENTER_LNG + 0.00001, ""));
+        LocationGrid grid = new LocationGrid(items);
+
+        // The viewport ends between the two rooms, which share a cluster cell at zoom 12
+        List<LocationGrid.Cluster> clusters = grid.cluster(CENTER_LAT - 0.01, CENTER_LNG - 0.01,
+                CENTER_LAT + 0.01, CENTER_LNG + 0.000005, 12f);
+        assertEquals(1, clusters.size());
+        assertEquals(2, clusters.get(0).count);
+        assertEquals(CENTER_LNG + 0.000005, clusters.get(0).lng(), 1e-9);
+    }
+
+    @Test
+    public void individualPointsAreKeyedByIndex() {
+        LocationGrid grid = new LocationGrid(rooms(100, 7));
+        for (LocationGrid.Cluster cluster : grid.cluster(-90, -180, 90, 180, LocationGrid.MAX_CLUSTER_ZOOM)) {
+            assertEquals(1, cluster.count);
+            assertEquals(cluster.first, cluster.key);
+        }
+    }
+
+    private static Map<Long, LocationGrid.Cluster> byKey(List<LocationGrid.Cluster> clusters) {
+        Map<Long, LocationGrid.Cluster> map = new HashMap<>();
+        for (LocationGrid.Cluster cluster : clusters) map.put(cluster.key, cluster);
+        return map;
+    }
+
+    private static List<DBManager.LocationItem> rooms(int n, long seed) {
+        Random random = new Random(seed);
+        List<DBManager.LocationItem> items = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            items.add(new DBManager.LocationItem(i, "Room " + i, CENTER_LAT + random.nextGaussian() * 0.004,
+                    CENTER_LNG + random.nextGaussian() * 0.004, ""));
+        }
+        return items;
+    }
+}
@@ -0,0 +1,55 @@
+package com.prototype.pathfinder.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks RecommendationEngine.computeRecommendations against catalogs of 10 / 1k / 100k programs,
+ * uncached and as a memory-tier RecommendationCache hit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RecommendationBenchmark {
+    @Param({"10", "1000", "100000"})
+    public int programs;
+
+    private RecommendationEngine engine;
+    private RecommendationEngine cachedEngine;
+    private Map<String, Integer> survey;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        FakeDBManager db = new FakeDBManager(programs, 42);
+        engine = new RecommendationEngine(db);
+        cachedEngine = new RecommendationEngine(db, new RecommendationCache(RecommendationCache.DEFAULT_MAX_ENTRIES));
+        survey = new HashMap<>();
+        survey.put("quant_interest", 4);
+        survey.put("verbal_interest", 3);
+        survey.put("logical_interest", 5);
+        survey.put("creative_interest", 2);
+        cachedEngine.computeRecommendations("TEST001", survey); // Every measured call is a memory hit
+    }
+
+    @Benchmark
+    public List<RecommendationEngine.Recommendation> computeRecommendations() {
+        return engine.computeRecommendations("TEST001", survey);
+    }
+
+    @Benchmark
+    public List<RecommendationEngine.Recommendation> computeRecommendationsCached() {
+        return cachedEngine.computeRecommendations("TEST001", survey);
+    }
+}
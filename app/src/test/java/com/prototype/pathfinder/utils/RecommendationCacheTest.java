@@ -0,0 +1,145 @@
+package com.prototype.pathfinder.utils;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks RecommendationCache through RecommendationEngine over a 10k-program synthetic catalog:
+ * repeats hit the memory tier, a fresh cache hits the disk tier, and a catalog change misses.
+ * Timings belong in RecommendationBenchmark.
+ */
+public class RecommendationCacheTest {
+    private static final int PROGRAMS = 10000;
+    private static final int REPEATS = 1000;
+
+    private FakeDBManager db;
+    private RecommendationCache cache;
+    private Map<String, Integer> survey;
+
+    @Before
+    public void setUp() {
+        db = new FakeDBManager(PROGRAMS, 42);
+        cache = new RecommendationCache(RecommendationCache.DEFAULT_MAX_ENTRIES);
+        survey = new HashMap<>();
+        survey.put("quant_interest", 4);
+        survey.put("verbal_interest", 3);
+        survey.put("logical_interest", 5);
+    }
+
+    @Test
+    public void repeatHitsMemoryAndMatchesUncached() {
+        RecommendationEngine engine = new RecommendationEngine(db, cache);
+
+        List<RecommendationEngine.Recommendation> first = engine.computeRecommendations("TEST001", survey);
+        List<RecommendationEngine.Recommendation> again = null;
+        for (int i = 0; i < REPEATS; i++) again = engine.computeRecommendations("TEST001", survey);
+
+        assertEquals(1, cache.missCount());
+        assertEquals(REPEATS, cache.memoryHitCount());
+        assertEquals(1, db.catalogLoads);
+        assertSameRecommendations(new RecommendationEngine(db).computeRecommendations("TEST001", survey), again);
+        assertSameRecommendations(first, again);
+    }
+
+    @Test
+    public void freshCacheHitsDisk() {
+        List<RecommendationEngine.Recommendation> first =
+                new RecommendationEngine(db, cache).computeRecommendations("TEST001", survey);
+
+        // As after a restart: empty memory tier, same database
+        RecommendationCache restarted = new RecommendationCache(RecommendationCache.DEFAULT_MAX_ENTRIES);
+        List<RecommendationEngine.Recommendation> again =
+                new RecommendationEngine(db, restarted).computeRecommendations("TEST001", survey);
+
+        assertEquals(1, restarted.diskHitCount());
+        assertEquals(0, restarted.missCount());
+        assertEquals(1, db.catalogLoads);
+        assertSameRecommendations(first, again);
+    }
+
+    @Test
+    public void catalogChangeMisses() {
+        RecommendationEngine engine = new RecommendationEngine(db, cache);
+        engine.computeRecommendations("TEST001", survey);
+        db.changeCatalog();
+        engine.computeRecommendations("TEST001", survey);
+
+        assertEquals(2, cache.missCount());
+        assertEquals(0, cache.hitCount());
+        assertEquals(2, db.catalogLoads);
+    }
+
+    @Test
+    public void differentAnswersMiss() {
+        RecommendationEngine engine = new RecommendationEngine(db, cache);
+        engine.computeRecommendations("TEST001", survey);
+        survey.put("creative_interest", 5);
+        engine.computeRecommendations("TEST001", survey);
+
+        assertEquals(2, cache.missCount());
+    }
+
+    @Test
+    public void callersGetIndependentCopies() {
+        RecommendationEngine engine = new RecommendationEngine(db, cache);
+        List<RecommendationEngine.Recommendation> first = engine.computeRecommendations("TEST001", survey);
+        first.get(0).id = 7; // As DBManager.saveResults does
+        List<RecommendationEngine.Recommendation> again = engine.computeRecommendations("TEST001", survey);
+
+        assertEquals(0, again.get(0).id);
+        assertNotSame(first.get(0), again.get(0));
+    }
+
+    @Test
+    public void memoryTierEvictsLeastRecentlyUsed() {
+        RecommendationCache small = new RecommendationCache(2);
+        RecommendationEngine engine = new RecommendationEngine(db, small);
+        for (int quant = 1; quant <= 3; quant++) {
+            survey.put("quant_interest", quant);
+            engine.computeRecommendations("TEST001", survey);
+        }
+        assertEquals(2, small.size());
+    }
+
+    @Test
+    public void oversizedRecommendationsSkipTheDiskTier() {
+        StringBuilder story = new StringBuilder();
+        while (story.length() <= RecommendationCache.MAX_PAYLOAD_BYTES) story.append("A very long story. ");
+        List<RecommendationEngine.Recommendation> recs = Collections.singletonList(
+                new RecommendationEngine.Recommendation("BSIT", 90, story.toString(), "h", "c", "i", "q", 80, 70, 60));
+        cache.put("big", recs, db);
+
+        assertNotNull(cache.get("big", db));
+        assertNull(new RecommendationCache(RecommendationCache.DEFAULT_MAX_ENTRIES).get("big", db));
+        assertNull(RecommendationCache.encode(recs));
+    }
+
+    @Test
+    public void corruptPayloadDecodesAsMiss() {
+        assertNull(RecommendationCache.decode(new byte[]{1, 0, 0}));
+        assertNull(RecommendationCache.decode(new byte[]{99}));
+    }
+
+    private static void assertSameRecommendations(List<RecommendationEngine.Recommendation> expected,
+                                                  List<RecommendationEngine.Recommendation> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            RecommendationEngine.Recommendation e = expected.get(i), a = actual.get(i);
+            assertEquals(e.program, a.program);
+            assertEquals(e.matchPercent, a.matchPercent);
+            assertArrayEquals(e.radarValues, a.radarValues);
+            assertEquals(e.storyWhy, a.storyWhy);
+            assertEquals(e.storyHistory, a.storyHistory);
+            assertEquals(e.storyCareers, a.storyCareers);
+            assertEquals(e.itemInsight, a.itemInsight);
+            assertEquals(e.hardestLogical, a.hardestLogical);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.prototype.pathfinder.utils;
+
+import com.prototype.pathfinder.data.DBManager;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks rendering the story texts of one recommendation (why / history / insight),
+ * cycling through every score so all bands are exercised.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StoryTemplatesBenchmark {
+    private static final DBManager.Program PROGRAM =
+            new DBManager.Program("BSCE", "Civil Eng", 0.8, 0.2, 0.9, "Civil Engineer\nStructural Designer");
+
+    private final StringBuilder sb = new StringBuilder(256);
+    private int score;
+
+    @Benchmark
+    public int renderRecommendation() {
+        score = score == 100 ? 0 : score + 1;
+        return StoryTemplates.why(sb, PROGRAM, score, score, score).length()
+                + StoryTemplates.history(score).length() + StoryTemplates.insight(score).length();
+    }
+}
@@ -0,0 +1,67 @@
+package com.prototype.pathfinder.utils;
+
+import com.prototype.pathfinder.data.DBManager;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks StoryTemplates against the hand-written narratives it replaced, over every score band.
+ * Rendering cost is measured by StoryTemplatesBenchmark.
+ */
+public class StoryTemplatesTest {
+    private static final DBManager.Program QUANT_PROGRAM =
+            new DBManager.Program("BSCE", "Civil Eng", 0.8, 0.2, 0.9, "Civil Engineer\nStructural Designer");
+    private static final DBManager.Program VERBAL_PROGRAM =
+            new DBManager.Program("BSBA", "Business", 0.5, 0.8, 0.4, null);
+
+    @Test
+    public void whyMatchesEveryBand() {
+        StringBuilder sb = new StringBuilder();
+        assertEquals("Your Logic (80) and Math (85) scores define you as an 'Analytical Architect'. " +
+                "This course demands exactly that brainpower.", StoryTemplates.why(sb, QUANT_PROGRAM, 85, 70, 80));
+        assertEquals("You are a 'Master Communicator' (Verbal: 90). " +
+                "This program thrives on the articulation skills you already possess.",
+                StoryTemplates.why(sb, VERBAL_PROGRAM, 60, 90, 75));
+        // Thresholds are exclusive: 75 is not above 75
+        assertTrue(StoryTemplates.why(sb, QUANT_PROGRAM, 75, 90, 90).contains("'Versatile Adaptor'"));
+        assertTrue(StoryTemplates.why(sb, VERBAL_PROGRAM, 90, 75, 90).contains("'Versatile Adaptor'"));
+    }
+
+    @Test
+    public void constantBandsUseInclusiveAndExclusiveThresholds() {
+        assertTrue(StoryTemplates.history(86).contains("92% graduation rate"));
+        assertTrue(StoryTemplates.history(85).contains("peer study groups"));
+
+        assertTrue(StoryTemplates.insight(90).startsWith("You got 19/20"));
+        assertTrue(StoryTemplates.insight(75).startsWith("Strong logical performance"));
+        assertTrue(StoryTemplates.insight(74).startsWith("Logical reasoning is your growth zone"));
+        assertEquals("Q17 – Circular Seating\nYou attempted it bravely. Only 8% succeed.", StoryTemplates.hardest(89));
+        assertSame(StoryTemplates.insight(95), StoryTemplates.insight(100));
+    }
+
+    @Test
+    public void careersComeFromTheCatalog() {
+        assertEquals("Civil Engineer\nStructural Designer", StoryTemplates.careers(QUANT_PROGRAM));
+        assertEquals(StoryTemplates.DEFAULT_CAREERS, StoryTemplates.careers(VERBAL_PROGRAM));
+    }
+
+    @Test
+    public void compilesPlaceholdersAtTheEdges() {
+        StringBuilder sb = new StringBuilder("stale");
+        assertEquals("7/8", StoryTemplates.Template.compile("{quant}/{verbal}").render(sb, 7, 8, 9, 10));
+        assertEquals("10%", StoryTemplates.Template.compile("{match}%").render(sb, 7, 8, 9, 10));
+        assertEquals("plain", StoryTemplates.Template.compile("plain").render(sb, 7, 8, 9, 10));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsUnknownPlaceholder() {
+        StoryTemplates.Template.compile("Score: {math}");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsUnterminatedPlaceholder() {
+        StoryTemplates.Template.compile("Score: {quant");
+    }
+}